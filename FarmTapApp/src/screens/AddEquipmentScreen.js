@@ -58,11 +58,36 @@ const AddEquipmentScreen = ({ navigation }) => {
     rentalPricePerDay: '', isAvailable: true, location: '',
   });
   const [image, setImage] = useState(null);
+  const [suggestions, setSuggestions] = useState({ field: null, items: [] });
+
+  // Category and location get server-side typeahead so owners reuse existing spellings
+  const SUGGEST_FIELDS = { category: 'type', location: 'location' };
 
   const handleInputChange = (field, value) => {
     setEquipmentData(prev => ({ ...prev, [field]: value }));
+    if (SUGGEST_FIELDS[field]) {
+      if (!value.trim()) { setSuggestions({ field: null, items: [] }); return; }
+      equipmentAPI.suggest(SUGGEST_FIELDS[field], value)
+        .then(res => setSuggestions({ field, items: res.data.filter(s => s.text !== value) }))
+        .catch(() => setSuggestions({ field: null, items: [] }));
+    }
   };
 
+  const pickSuggestion = (field, text) => {
+    setEquipmentData(prev => ({ ...prev, [field]: text }));
+    setSuggestions({ field: null, items: [] });
+  };
+
+  const renderSuggestions = (field) => suggestions.field === field && suggestions.items.length > 0 && (
+    <View style={styles.suggestionRow}>
+      {suggestions.items.map(item => (
+        <TouchableOpacity key={item.text} style={styles.suggestionChip} onPress={() => pickSuggestion(field, item.text)}>
+          <Text style={styles.suggestionText}>{item.text}</Text>
+        </TouchableOpacity>
+      ))}
+    </View>
+  );
+
   const pickImage = async () => {
     const permissionResult = await ImagePicker.requestMediaLibraryPermissionsAsync();
     if (!permissionResult.granted) {
@@ -151,9 +176,11 @@ const AddEquipmentScreen = ({ navigation }) => {
           {/* [NEW] Using the beautiful FormInput component */}
           <FormInput icon="pricetag-outline" label="Equipment Name *" placeholder="e.g., John Deere 5050D Tractor" value={equipmentData.name} onChangeText={(text) => handleInputChange('name', text)} />
           <FormInput icon="apps-outline" label="Category *" placeholder="e.g., Tractor, Harvester" value={equipmentData.category} onChangeText={(text) => handleInputChange('category', text)} />
+          {renderSuggestions('category')}
           <FormInput icon="document-text-outline" label="Description *" placeholder="Include model, condition, and features..." value={equipmentData.description} onChangeText={(text) => handleInputChange('description', text)} multiline numberOfLines={4} />
           <FormInput icon="cash-outline" label="Price per Day (₹) *" placeholder="e.g., 5000" value={equipmentData.rentalPricePerDay} onChangeText={(text) => handleInputChange('rentalPricePerDay', text)} keyboardType="numeric" />
           <FormInput icon="location-outline" label="Location" placeholder="e.g., Pune, Maharashtra" value={equipmentData.location} onChangeText={(text) => handleInputChange('location', text)} />
+          {renderSuggestions('location')}
         </ScrollView>
       </KeyboardAvoidingView>
 
@@ -192,6 +219,13 @@ const styles = StyleSheet.create({
   input: { flex: 1, paddingVertical: 14, fontSize: 16, color: COLORS.text },
   textArea: { height: 100, textAlignVertical: 'top', paddingTop: 14 },
 
+  suggestionRow: { flexDirection: 'row', flexWrap: 'wrap', marginTop: -12, marginBottom: 20 },
+  suggestionChip: {
+    backgroundColor: COLORS.white, borderRadius: 16, borderWidth: 1, borderColor: COLORS.border,
+    paddingVertical: 6, paddingHorizontal: 12, marginRight: 8, marginBottom: 8,
+  },
+  suggestionText: { color: COLORS.text, fontSize: 14 },
+
   imagePicker: {
     height: 150, borderRadius: 12, borderWidth: 2, borderColor: COLORS.border,
     borderStyle: 'dashed', backgroundColor: COLORS.white, justifyContent: 'center',
@@ -17,11 +17,14 @@ const BookingsScreen = ({ navigation }) => {
     const [selectedTab, setSelectedTab] = useState('all');
     const [modalVisible, setModalVisible] = useState(false);
     const [selectedBooking, setSelectedBooking] = useState(null);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
 
     const fetchBookings = useCallback(async () => {
         try {
-            const response = await bookingAPI.getUserBookings();
-            setBookings(response.data);
+            const response = await bookingAPI.getInbox();
+            setBookings(response.data.items);
+            setNextCursor(response.data.nextCursor);
         } catch (error) {
             Alert.alert('Error', 'Failed to fetch your bookings.');
             console.error('Fetch bookings error:', error.response?.data || error.message);
@@ -43,6 +46,20 @@ const BookingsScreen = ({ navigation }) => {
         fetchBookings();
     };
 
+    const loadMore = async () => {
+        if (nextCursor == null || loadingMore) return;
+        setLoadingMore(true);
+        try {
+            const response = await bookingAPI.getInbox(nextCursor);
+            setBookings(prev => [...prev, ...response.data.items]);
+            setNextCursor(response.data.nextCursor);
+        } catch (error) {
+            console.error('Load more bookings error:', error.response?.data || error.message);
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const handleStatusUpdate = async (bookingId, newStatus) => {
         try {
             // Your backend expects uppercase status (e.g., CONFIRMED)
@@ -85,10 +102,10 @@ const BookingsScreen = ({ navigation }) => {
     };
 
     const handleViewDetails = () => {
-        if (selectedBooking && selectedBooking.equipment) {
+        if (selectedBooking && selectedBooking.equipmentId) {
             setModalVisible(false);
             navigation.navigate('EquipmentDetail', {
-                equipment: selectedBooking.equipment,
+                equipmentId: selectedBooking.equipmentId,
             });
         } else {
             Alert.alert("Error", "Equipment details are not available for this booking.");
@@ -147,7 +164,7 @@ const BookingsScreen = ({ navigation }) => {
             onPress={() => handleBookingPress(item)}
         >
             <View style={styles.bookingHeader}>
-                <Text style={styles.equipmentName}>{item.equipment?.name || 'Equipment'}</Text>
+                <Text style={styles.equipmentName}>{item.equipmentName || 'Equipment'}</Text>
                 <View style={[styles.statusBadge, { backgroundColor: getStatusColor(item.status) }]}>
                     <Ionicons
                         name={getStatusIcon(item.status)}
@@ -176,11 +193,11 @@ const BookingsScreen = ({ navigation }) => {
                     <Ionicons name="cash-outline" size={16} color="#666" />
                     <Text style={styles.detailText}>₹{item.totalPrice?.toFixed(2) || '0.00'}</Text>
                 </View>
-                {item.farmer && item.equipment?.owner && (
+                {item.farmerName && item.ownerName && (
                     <View style={styles.detailRow}>
                         <Ionicons name="people-outline" size={16} color="#666" />
                         <Text style={styles.detailText}>
-                            {user?.id === item.equipment.owner.id ? `Rented by: ${item.farmer.name}` : `Owner: ${item.equipment.owner.name}`}
+                            {user?.id === item.ownerId ? `Rented by: ${item.farmerName}` : `Owner: ${item.ownerName}`}
                         </Text>
                     </View>
                 )}
@@ -223,7 +240,7 @@ const BookingsScreen = ({ navigation }) => {
 
                     {selectedBooking && (
                         <View style={styles.modalBody}>
-                            <Text style={styles.modalEquipmentName}>{selectedBooking.equipment?.name}</Text>
+                            <Text style={styles.modalEquipmentName}>{selectedBooking.equipmentName}</Text>
                             <View style={styles.modalDetailRow}>
                                 <Text style={styles.modalLabel}>Status:</Text>
                                 <Text style={[styles.modalValue, { color: getStatusColor(selectedBooking.status) }]}>
@@ -248,7 +265,7 @@ const BookingsScreen = ({ navigation }) => {
                                 </TouchableOpacity>
 
                                 {/* Owner Actions */}
-                                {user?.id === selectedBooking.equipment?.owner?.id && selectedBooking.status?.toUpperCase() === 'PENDING' && (
+                                {user?.id === selectedBooking.ownerId && selectedBooking.status?.toUpperCase() === 'PENDING' && (
                                     <>
                                         <TouchableOpacity style={[styles.actionButton, styles.confirmButton]} onPress={() => handleStatusUpdate(selectedBooking.id, 'APPROVED')}>
                                             <Ionicons name="checkmark-circle-outline" size={16} color="#fff" />
@@ -262,7 +279,7 @@ const BookingsScreen = ({ navigation }) => {
                                 )}
 
                                 {/* Farmer Actions */}
-                                {user?.id === selectedBooking.farmer?.id && (selectedBooking.status?.toUpperCase() === 'PENDING' || selectedBooking.status?.toUpperCase() === 'APPROVED') && (
+                                {user?.id === selectedBooking.farmerId && (selectedBooking.status?.toUpperCase() === 'PENDING' || selectedBooking.status?.toUpperCase() === 'APPROVED') && (
                                     <TouchableOpacity style={[styles.actionButton, styles.cancelButton]} onPress={() => handleCancelBooking(selectedBooking.id)}>
                                         <Ionicons name="trash-bin-outline" size={16} color="#fff" />
                                         <Text style={styles.actionButtonText}>Cancel My Booking</Text>
@@ -291,6 +308,9 @@ const BookingsScreen = ({ navigation }) => {
                     keyExtractor={(item) => item.id.toString()}
                     contentContainerStyle={{ padding: 16, flexGrow: 1 }}
                     refreshControl={<RefreshControl refreshing={refreshing} onRefresh={onRefresh} colors={["#4CAF50"]} />}
+                    onEndReached={loadMore}
+                    onEndReachedThreshold={0.5}
+                    ListFooterComponent={loadingMore ? <ActivityIndicator color="#4CAF50" style={{ margin: 16 }} /> : null}
                     ListEmptyComponent={
                         <View style={styles.emptyContainer}>
                             <Ionicons name="file-tray-stacked-outline" size={64} color="#ccc" />
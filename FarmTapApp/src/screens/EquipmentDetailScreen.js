@@ -7,7 +7,7 @@ import {
 } from 'react-native';
 import { Ionicons } from '@expo/vector-icons';
 import DateTimePicker from '@react-native-community/datetimepicker';
-import api from '../services/api';
+import api, { bookingAPI } from '../services/api';
 import { AuthContext } from '../context/AuthContext';
 
 // Centralized and refined color palette
@@ -38,6 +38,7 @@ const EquipmentDetailScreen = ({ route, navigation }) => {
     });
     const [showDatePicker, setShowDatePicker] = useState(false);
     const [datePickerTarget, setDatePickerTarget] = useState('start');
+    const [quote, setQuote] = useState(null);
 
     useEffect(() => {
         if (!equipmentId) {
@@ -98,9 +99,27 @@ const EquipmentDetailScreen = ({ route, navigation }) => {
         return 1; // Default to 1 day to show a price
     }, [startDate, endDate]);
 
+    // Ask the server for the real price (seasonal, weekend, long-rental and member rules)
+    useEffect(() => {
+        if (!equipment) return;
+        let cancelled = false;
+        const start = startDate.toISOString().split('T')[0];
+        const end = endDate.toISOString().split('T')[0];
+        bookingAPI.quote(equipment.id, start, end)
+            .then(response => { if (!cancelled) setQuote(response.data); })
+            .catch(() => { if (!cancelled) setQuote(null); });
+        return () => { cancelled = true; };
+    }, [equipment, startDate, endDate]);
+
+    const bookingDays = quote?.days ?? totalBookingDays;
+
     const totalBookingPrice = useMemo(() => {
+        if (quote) {
+            return Number(quote.totalPrice).toFixed(2);
+        }
+        // Fallback estimate while the quote is loading or unavailable
         return (totalBookingDays * (equipment?.rentalPricePerDay || 0)).toFixed(2);
-    }, [totalBookingDays, equipment]);
+    }, [quote, totalBookingDays, equipment]);
 
     const handleCreateBooking = async () => {
         if (endDate <= startDate) {
@@ -116,12 +135,21 @@ const EquipmentDetailScreen = ({ route, navigation }) => {
 
         setBookingLoading(true);
         try {
-            await api.post('/bookings', bookingData);
-            Alert.alert(
-                "Booking Request Sent!",
-                "The owner will review your request. You can check the status in 'My Bookings'.",
-                [{ text: "OK", onPress: () => navigation.goBack() }]
-            );
+            // Joins the waitlist when the dates are taken, so there is no need to keep retrying
+            const { data } = await bookingAPI.joinWaitlist(bookingData);
+            if (data.bookingId) {
+                Alert.alert(
+                    "Booking Request Sent!",
+                    "The owner will review your request. You can check the status in 'My Bookings'.",
+                    [{ text: "OK", onPress: () => navigation.goBack() }]
+                );
+            } else {
+                Alert.alert(
+                    "Added to Waitlist",
+                    `These dates are taken. You are number ${data.position} in line and will be booked automatically if they free up.`,
+                    [{ text: "OK", onPress: () => navigation.goBack() }]
+                );
+            }
         } catch (error) {
             console.error("Booking creation failed:", error.response?.data || error.message);
             Alert.alert("Booking Failed", "This equipment might be unavailable for the selected dates. Please try again.");
@@ -189,7 +217,7 @@ const EquipmentDetailScreen = ({ route, navigation }) => {
 
                             <View style={styles.totalPriceContainer}>
                                 <View>
-                                    <Text style={styles.priceLabel}>Total ({totalBookingDays} day{totalBookingDays > 1 ? 's' : ''})</Text>
+                                    <Text style={styles.priceLabel}>Total ({bookingDays} day{bookingDays > 1 ? 's' : ''})</Text>
                                     <Text style={styles.priceValue}>₹{totalBookingPrice}</Text>
                                 </View>
                                 <Ionicons name="receipt-outline" size={32} color={COLORS.primary} />
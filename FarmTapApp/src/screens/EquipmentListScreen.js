@@ -36,6 +36,9 @@ const HEADER_MAX_HEIGHT = 180;
 const HEADER_MIN_HEIGHT = 85;
 const HEADER_SCROLL_DISTANCE = HEADER_MAX_HEIGHT - HEADER_MIN_HEIGHT;
 
+// Only what a list card renders; the detail screen fetches the rest
+const CARD_FIELDS = 'name,rentalPricePerDay,thumbnailUrl,description,isAvailable,location,ownerName';
+
 const EquipmentListScreen = () => {
     // --- NO LOGIC CHANGES ---
     const navigation = useNavigation();
@@ -44,6 +47,10 @@ const EquipmentListScreen = () => {
     const [refreshing, setRefreshing] = useState(false);
     const { user } = useContext(AuthContext);
     const scrollY = useRef(new Animated.Value(0)).current;
+    // The list shows the user's own state unless they switch to every state (region=all).
+    // A ref as well, so the focus listener's fetchEquipment sees the current choice.
+    const [allRegions, setAllRegions] = useState(false);
+    const allRegionsRef = useRef(false);
 
     useEffect(() => {
         const unsubscribe = navigation.addListener('focus', fetchEquipment);
@@ -53,7 +60,9 @@ const EquipmentListScreen = () => {
     const fetchEquipment = async () => {
         if (!refreshing) setLoading(true);
         try {
-            const response = await api.get('/equipment');
+            const params = { sort: 'popular', fields: CARD_FIELDS };
+            if (allRegionsRef.current) params.region = 'all';
+            const response = await api.get('/equipment', { params });
             setEquipment(response.data);
         } catch (error) {
             Alert.alert('Error', 'Failed to fetch equipment.');
@@ -64,6 +73,11 @@ const EquipmentListScreen = () => {
     const onRefresh = () => {
         setRefreshing(true); fetchEquipment();
     };
+    const toggleRegions = () => {
+        allRegionsRef.current = !allRegionsRef.current;
+        setAllRegions(allRegionsRef.current);
+        fetchEquipment();
+    };
     // --- END OF UNCHANGED LOGIC ---
 
     const DetailItem = ({ iconName, text }) => (
@@ -80,7 +94,7 @@ const EquipmentListScreen = () => {
             activeOpacity={0.8}
         >
             <Image
-                source={{ uri: item.imageUrl || 'https://via.placeholder.com/400x200.png?text=No+Image' }}
+                source={{ uri: item.thumbnailUrl || item.imageUrl || 'https://via.placeholder.com/400x200.png?text=No+Image' }}
                 style={styles.cardImage}
             />
             <View style={styles.statusBadgeContainer}>
@@ -134,13 +148,20 @@ const EquipmentListScreen = () => {
             <Animated.View style={[styles.header, { height: headerHeight }]}>
                 <View style={styles.smallHeader}>
                     <Text style={styles.smallHeaderTitle}>Explore</Text>
-                    <TouchableOpacity onPress={() => navigation.navigate('Profile')} style={styles.profileButton}>
-                        <Ionicons name="person-outline" size={24} color={COLORS.primary} />
-                    </TouchableOpacity>
+                    <View style={styles.headerButtons}>
+                        <TouchableOpacity onPress={toggleRegions} style={styles.profileButton}>
+                            <Ionicons name={allRegions ? 'globe' : 'globe-outline'} size={24} color={COLORS.primary} />
+                        </TouchableOpacity>
+                        <TouchableOpacity onPress={() => navigation.navigate('Profile')} style={styles.profileButton}>
+                            <Ionicons name="person-outline" size={24} color={COLORS.primary} />
+                        </TouchableOpacity>
+                    </View>
                 </View>
                 <Animated.View style={[styles.largeHeader, { opacity: largeTitleOpacity, transform: [{ translateY: largeTitleTranslateY }] }]}>
                     <Text style={styles.greetingText}>Hi, {user?.name || 'Farmer'}!</Text>
-                    <Text style={styles.subtitleText}>Find the best farm equipment for your needs.</Text>
+                    <Text style={styles.subtitleText}>
+                        {allRegions ? 'Showing equipment from every state.' : 'Find the best farm equipment near you.'}
+                    </Text>
                 </Animated.View>
             </Animated.View>
 
@@ -196,6 +217,7 @@ const styles = StyleSheet.create({
         height: HEADER_MIN_HEIGHT, paddingTop: 15,
     },
     smallHeaderTitle: { fontSize: 20, fontWeight: 'bold', color: COLORS.text },
+    headerButtons: { flexDirection: 'row', gap: 10 },
     profileButton: {
         backgroundColor: COLORS.primaryLight,
         padding: 8,
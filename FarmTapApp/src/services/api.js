@@ -72,14 +72,27 @@ export const equipmentAPI = {
     getByCategory: (category) => api.get(`/equipment/category/${category}`),
     updateAvailability: (data) =>
         api.put('/equipment/available', data),
+    // Typeahead: field is 'type', 'location', 'village' or 'district'
+    suggest: (field, prefix, limit = 5) =>
+        api.get('/equipment/suggest', { params: { field, prefix, limit } }),
 };
 
 export const bookingAPI = {
     getAll: () => api.get('/bookings'),
     getById: (id) => api.get(`/bookings/${id}`),
     getUserBookings: () => api.get('/bookings/user'),
+    // Paged "my bookings", newest first: pass the previous page's nextCursor as before
+    getInbox: (before, limit = 20) => api.get('/bookings/inbox', { params: { before, limit } }),
 
     create: (bookingData) => api.post('/bookings', bookingData),
+    // Books the dates if free (201, bookingId set), otherwise queues for them (202, position set)
+    joinWaitlist: (bookingData) => api.post('/bookings/waitlist', bookingData),
+    getWaitlist: () => api.get('/bookings/waitlist'),
+    leaveWaitlist: (id) => api.delete(`/bookings/waitlist/${id}`),
+
+    // Server-side price for a date range, including the owner's pricing rules
+    quote: (equipmentId, startDate, endDate) =>
+        api.get('/bookings/quote', { params: { equipmentId, startDate, endDate } }),
 
     updateStatus: (id, status) => api.put(`/bookings/${id}/status?status=${status}`),
 
@@ -92,7 +105,9 @@ export const bookingAPI = {
 
 // User API calls
 export const userAPI = {
-    getAllUsers: () => api.get('/users'),
+    // params: role, district, state, pincode, createdFrom, createdTo, after (cursor), limit, fields
+    getAllUsers: (params) => api.get('/users', { params }),
+    countUsers: () => api.get('/users/count'),
     getUserById: (id) => api.get(`/users/${id}`),
     createUser: (userData) => api.post('/users', userData),
     deleteUser: (id) => api.delete(`/users/${id}`),
@@ -0,0 +1,69 @@
+#!/usr/bin/env bash
+# Startup benchmark: time-to-first-request and resident memory for the default jar versus the
+# fast-start build (Spring AOT + faststart profile + AppCDS archive).
+#
+#   scripts/startup-benchmark.sh [runs]
+#
+# Needs a migrated database; point it elsewhere with SPRING_DATASOURCE_URL/USERNAME/PASSWORD.
+# BENCH_PORT (default 18081) and MVN (default sh ./mvnw) can be overridden.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+PORT=${BENCH_PORT:-18081}
+MVN=${MVN:-sh ./mvnw}
+WORK=target/startup-benchmark
+JAR=farmtap-0.0.1-SNAPSHOT.jar
+
+rm -rf "$WORK" && mkdir -p "$WORK"
+
+echo "Building default jar..."
+$MVN -B -q -DskipTests package
+java -Djarmode=tools -jar "target/$JAR" extract --destination "$WORK/default" > /dev/null
+
+echo "Building fast-start jar..."
+$MVN -B -q -Pfaststart -DskipTests package > "$WORK/aot.log"
+java -Djarmode=tools -jar "target/$JAR" extract --destination "$WORK/faststart" > /dev/null
+
+FASTSTART_OPTS="-Dspring.aot.enabled=true -Dspring.profiles.active=faststart"
+
+# Training run: refresh the context, exit, and dump the loaded classes into a CDS archive
+echo "Training the CDS archive..."
+java -XX:ArchiveClassesAtExit="$WORK/faststart/app.jsa" $FASTSTART_OPTS -Dspring.context.exit=onRefresh \
+    -jar "$WORK/faststart/$JAR" --server.port="$PORT" > "$WORK/training.log" 2>&1
+
+# Prints "<ms to first response> <rss kB>" for one cold start of the given java command line
+measure() {
+    local start pid elapsed rss
+    start=$(date +%s%N)
+    "$@" --server.port="$PORT" > "$WORK/run.log" 2>&1 &
+    pid=$!
+    until curl -s -o /dev/null "http://localhost:$PORT/api/equipment"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "Application exited during startup, see $WORK/run.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+    rss=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+    kill "$pid" && wait "$pid" 2> /dev/null || true
+    echo "$elapsed $rss"
+}
+
+report() {
+    local name=$1; shift
+    local samples=()
+    for _ in $(seq "$RUNS"); do
+        samples+=("$(measure "$@")")
+    done
+    printf '%s\n' "${samples[@]}" | sort -n | awk -v name="$name" '
+        { ms[NR] = $1; rss[NR] = $2; total += $2 }
+        END {
+            printf "%-10s first request: median %6d ms (min %d, max %d)   RSS: mean %6.1f MB\n",
+                name, ms[int((NR + 1) / 2)], ms[1], ms[NR], total / NR / 1024
+        }'
+}
+
+report default java -jar "$WORK/default/$JAR"
+report faststart java -XX:SharedArchiveFile="$WORK/faststart/app.jsa" $FASTSTART_OPTS -jar "$WORK/faststart/$JAR"
@@ -0,0 +1,35 @@
+package com.farmtap.audit;
+
+// Codes are written to disk: never renumber, only add new ones
+public enum AuditAction {
+    BOOKING_CREATED(1),
+    BOOKING_STATUS_CHANGED(2),
+    BOOKING_DELETED(3),
+    EQUIPMENT_CREATED(11),
+    EQUIPMENT_AVAILABILITY_CHANGED(12),
+    EQUIPMENT_IMAGE_CHANGED(13),
+    EQUIPMENT_DELETED(14);
+
+    private final byte code;
+
+    AuditAction(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    public boolean isBooking() {
+        return code < 10;
+    }
+
+    static AuditAction fromCode(byte code) {
+        for (AuditAction action : values()) {
+            if (action.code == code) {
+                return action;
+            }
+        }
+        return null;
+    }
+}
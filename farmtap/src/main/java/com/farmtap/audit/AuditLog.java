@@ -0,0 +1,335 @@
+package com.farmtap.audit;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.net.InetAddress;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of {@link AuditRecord}s in fixed-size, memory-mapped segment files named
+ * {@code audit-<first sequence>.log}. Appends are a copy into the mapped segment; durability
+ * comes from {@link #sync(long)}, which group-commits: one caller forces everything appended
+ * so far while concurrent callers wait for that same fsync instead of issuing their own.
+ *
+ * On startup the tail of the newest segment is scanned and the log resumes after the last
+ * record with a valid checksum, dropping anything torn by a crash.
+ *
+ * Each instance writes its own log under {@code <dir>/<instance>} and holds an exclusive lock on
+ * it while open; a second process pointed at the same directory fails to start rather than
+ * overwrite records. {@link #find} also reads, without locking, every sibling instance's log
+ * under {@code <dir>}, so with {@code dir} on storage all instances mount, any node replays the
+ * whole history.
+ */
+@Component
+public class AuditLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+    private static final String PREFIX = "audit-";
+    private static final String SUFFIX = ".log";
+    private static final String LOCK_FILE = "audit.lock";
+
+    private final Path root;  // shared by every instance
+    private final Path dir;   // this instance's own log
+    private final int segmentRecords;
+    private final ScheduledExecutorService flusher;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+
+    // Guarded by this
+    private Segment active;
+    private int position;      // next free slot in the active segment
+    private int dirtyFrom;     // first slot not yet forced
+    private long nextSequence;
+
+    // Guarded by syncMonitor
+    private final Object syncMonitor = new Object();
+    private boolean syncing;
+    private long durableSequence = -1;
+
+    private record Segment(long baseSequence, Path path, MappedByteBuffer buffer) {}
+
+    public AuditLog(AuditProperties properties) throws IOException {
+        this.root = Paths.get(properties.getDir()).toAbsolutePath().normalize();
+        this.dir = root.resolve(instanceName(properties)).normalize();
+        this.segmentRecords = properties.getSegmentRecords();
+        Files.createDirectories(dir);
+        this.lockChannel = FileChannel.open(dir.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.lock = tryLock(lockChannel);
+        if (lock == null) {
+            lockChannel.close();
+            throw new IllegalStateException("Audit log " + dir + " is in use by another process; " +
+                    "give each instance its own farmtap.audit.instance or farmtap.audit.dir");
+        }
+        try {
+            recover();
+        } catch (IOException | RuntimeException e) {
+            lockChannel.close();
+            throw e;
+        }
+
+        long interval = properties.getFlushInterval().toMillis();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "audit-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private static String instanceName(AuditProperties properties) throws IOException {
+        String instance = properties.getInstance();
+        if (instance == null || instance.isBlank()) {
+            instance = InetAddress.getLocalHost().getHostName();
+        }
+        return instance.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    // Null when another process, or another log in this JVM, holds the directory
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> segments = segmentFiles(dir);
+        if (segments.isEmpty()) {
+            active = openSegment(0);
+            return;
+        }
+        Path last = segments.get(segments.size() - 1);
+        active = openSegment(baseSequence(last));
+        position = countRecords(active.buffer());
+        dirtyFrom = position;
+        nextSequence = active.baseSequence() + position;
+        durableSequence = nextSequence - 1;
+        log.info("Audit log at {} resumed at sequence {}", dir, nextSequence);
+    }
+
+    // Returns the record's sequence number; it is durable once sync(sequence) returns
+    public synchronized long append(AuditRecord record) {
+        if (position == segmentRecords) {
+            roll();
+        }
+        record.writeTo(active.buffer(), position * AuditRecord.SIZE);
+        position++;
+        return nextSequence++;
+    }
+
+    private void roll() {
+        // The previous segment is forced whole so a flush never has to span two files
+        active.buffer().force();
+        try {
+            active = openSegment(nextSequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open a new audit segment", e);
+        }
+        position = 0;
+        dirtyFrom = 0;
+    }
+
+    public void sync(long sequence) {
+        while (true) {
+            synchronized (syncMonitor) {
+                if (durableSequence >= sequence) {
+                    return;
+                }
+                if (syncing) {
+                    try {
+                        syncMonitor.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted waiting for the audit log", e);
+                    }
+                    continue;
+                }
+                syncing = true;
+            }
+            long forced = durableSequence;
+            try {
+                forced = forceAppended();
+            } finally {
+                synchronized (syncMonitor) {
+                    syncing = false;
+                    durableSequence = Math.max(durableSequence, forced);
+                    syncMonitor.notifyAll();
+                }
+            }
+        }
+    }
+
+    // Forces the slots written since the last force; returns the last sequence now on disk
+    private long forceAppended() {
+        MappedByteBuffer buffer;
+        int from;
+        int to;
+        long last;
+        synchronized (this) {
+            buffer = active.buffer();
+            from = dirtyFrom;
+            to = position;
+            last = nextSequence - 1;
+            dirtyFrom = position;
+        }
+        if (to > from) {
+            buffer.force(from * AuditRecord.SIZE, (to - from) * AuditRecord.SIZE);
+        }
+        return last;
+    }
+
+    private void flushQuietly() {
+        try {
+            long last;
+            synchronized (this) {
+                last = nextSequence - 1;
+            }
+            sync(last);
+        } catch (RuntimeException e) {
+            log.warn("Audit log flush failed", e);
+        }
+    }
+
+    /**
+     * Scans every segment oldest first and returns the matching records: this instance's in log
+     * order, merged by timestamp with those other instances wrote. Sequence numbers are positions
+     * in the recording instance's own log, so they only order records from the same instance.
+     * A full scan reads 48 bytes per record straight from the page cache, which is fine for
+     * the occasional dispute lookup this serves.
+     */
+    public List<AuditRecord> find(Predicate<AuditRecord> filter) {
+        List<AuditRecord> matches = new ArrayList<>();
+        Segment current;
+        int written;
+        synchronized (this) {
+            current = active;
+            written = position;
+        }
+        try {
+            for (Path path : segmentFiles(dir)) {
+                long base = baseSequence(path);
+                if (base > current.baseSequence()) {
+                    break; // rolled after we started; not part of this snapshot
+                }
+                if (base == current.baseSequence()) {
+                    scan(current.buffer().duplicate().order(ByteOrder.LITTLE_ENDIAN), base, written, filter, matches);
+                } else {
+                    scanSegment(path, filter, matches);
+                }
+            }
+            int own = matches.size();
+            for (Path sibling : siblingDirs()) {
+                // Another instance may be appending; its unwritten slots and a half-written
+                // record fail the checksum and end the scan like a torn tail
+                for (Path path : segmentFiles(sibling)) {
+                    scanSegment(path, filter, matches);
+                }
+            }
+            if (matches.size() > own) {
+                matches.sort(Comparator.comparingLong(AuditRecord::timestamp)); // stable: keeps each log's order
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the audit log", e);
+        }
+        return matches;
+    }
+
+    private static void scanSegment(Path path, Predicate<AuditRecord> filter, List<AuditRecord> matches) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            scan(buffer, baseSequence(path), (int) (channel.size() / AuditRecord.SIZE), filter, matches);
+        }
+    }
+
+    private List<Path> siblingDirs() throws IOException {
+        try (Stream<Path> files = Files.list(root)) {
+            return files.filter(Files::isDirectory)
+                    .map(Path::normalize)
+                    .filter(p -> !p.equals(dir))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static void scan(ByteBuffer buffer, long base, int count,
+                             Predicate<AuditRecord> filter, List<AuditRecord> matches) {
+        for (int i = 0; i < count; i++) {
+            AuditRecord record = AuditRecord.readFrom(buffer, i * AuditRecord.SIZE, base + i);
+            if (record == null) {
+                break;
+            }
+            if (filter.test(record)) {
+                matches.add(record);
+            }
+        }
+    }
+
+    private int countRecords(MappedByteBuffer buffer) {
+        int count = 0;
+        while (count < segmentRecords && AuditRecord.readFrom(buffer, count * AuditRecord.SIZE, 0) != null) {
+            count++;
+        }
+        return count;
+    }
+
+    private Segment openSegment(long baseSequence) throws IOException {
+        Path path = dir.resolve(String.format("%s%020d%s", PREFIX, baseSequence, SUFFIX));
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Mapping past the end extends the file; the mapping outlives the channel
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    (long) segmentRecords * AuditRecord.SIZE);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return new Segment(baseSequence, path, buffer);
+        }
+    }
+
+    private static List<Path> segmentFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> {
+                        String name = p.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long baseSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    @PreDestroy
+    public void close() {
+        flusher.shutdown();
+        flushQuietly();
+        try {
+            lock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            log.warn("Could not release the audit log lock in {}", dir, e);
+        }
+    }
+}
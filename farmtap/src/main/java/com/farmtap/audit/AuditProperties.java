@@ -0,0 +1,29 @@
+package com.farmtap.audit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// farmtap.audit.* - the append-only booking/equipment audit log
+@Data
+@ConfigurationProperties(prefix = "farmtap.audit")
+public class AuditProperties {
+
+    // Shared by all instances (each writes its own subdirectory, and history reads them all);
+    // put it on storage every instance mounts so any node can replay the full history
+    private String dir = "./data/audit";
+
+    // This instance's subdirectory of dir; defaults to the host name. Every running instance
+    // needs its own, as the directory is locked while the log is open.
+    private String instance;
+
+    // Records per segment file; the default makes 48 MiB segments
+    private int segmentRecords = 1 << 20;
+
+    // Wait for fsync before a booking/equipment change returns. When off, records are
+    // forced by the background flush only and a crash can lose up to flushInterval of them.
+    private boolean syncOnCommit = true;
+
+    private Duration flushInterval = Duration.ofMillis(200);
+}
@@ -0,0 +1,80 @@
+package com.farmtap.audit;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * One state transition, stored as a fixed 48-byte little-endian record:
+ *
+ * <pre>
+ *  0  int   CRC32C of bytes 4..47
+ *  4  byte  action code
+ *  5  byte  state before (0 = none)
+ *  6  byte  state after  (0 = none)
+ *  7  byte  reserved
+ *  8  long  timestamp, epoch millis
+ * 16  long  entity id (booking or equipment)
+ * 24  long  actor user id (0 = system)
+ * 32  long  related id (equipment id for bookings, owner id for equipment)
+ * 40  long  amount in paise (booking total or daily rental price)
+ * </pre>
+ *
+ * The sequence number is not stored; it is the record's position in the log.
+ */
+public record AuditRecord(
+        long sequence,
+        long timestamp,
+        AuditAction action,
+        byte fromState,
+        byte toState,
+        long entityId,
+        long actorId,
+        long relatedId,
+        long amount) {
+
+    public static final int SIZE = 48;
+
+    public static AuditRecord of(AuditAction action, byte fromState, byte toState,
+                                 long entityId, long actorId, long relatedId, long amount) {
+        return new AuditRecord(-1, System.currentTimeMillis(), action, fromState, toState,
+                entityId, actorId, relatedId, amount);
+    }
+
+    void writeTo(ByteBuffer buffer, int offset) {
+        buffer.put(offset + 4, action.code());
+        buffer.put(offset + 5, fromState);
+        buffer.put(offset + 6, toState);
+        buffer.put(offset + 7, (byte) 0);
+        buffer.putLong(offset + 8, timestamp);
+        buffer.putLong(offset + 16, entityId);
+        buffer.putLong(offset + 24, actorId);
+        buffer.putLong(offset + 32, relatedId);
+        buffer.putLong(offset + 40, amount);
+        // Checksum goes in last so a torn write never looks valid
+        buffer.putInt(offset, checksum(buffer, offset));
+    }
+
+    // Null for a blank slot or a torn/corrupt record
+    static AuditRecord readFrom(ByteBuffer buffer, int offset, long sequence) {
+        AuditAction action = AuditAction.fromCode(buffer.get(offset + 4));
+        if (action == null || buffer.getInt(offset) != checksum(buffer, offset)) {
+            return null;
+        }
+        return new AuditRecord(
+                sequence,
+                buffer.getLong(offset + 8),
+                action,
+                buffer.get(offset + 5),
+                buffer.get(offset + 6),
+                buffer.getLong(offset + 16),
+                buffer.getLong(offset + 24),
+                buffer.getLong(offset + 32),
+                buffer.getLong(offset + 40));
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset + 4, SIZE - 4));
+        return (int) crc.getValue();
+    }
+}
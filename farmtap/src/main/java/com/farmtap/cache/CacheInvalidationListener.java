@@ -0,0 +1,16 @@
+package com.farmtap.cache;
+
+import java.util.Set;
+
+/**
+ * An in-process cache kept coherent by the {@link InvalidationBus}. Called on the bus thread
+ * (remote changes) or the committing thread (local changes), so implementations must be
+ * thread-safe and quick.
+ */
+public interface CacheInvalidationListener {
+
+    void evict(EntityType type, Set<Long> ids);
+
+    // Changes may have been missed; drop everything that could be stale
+    void flush();
+}
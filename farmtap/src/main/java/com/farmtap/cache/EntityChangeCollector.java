@@ -0,0 +1,110 @@
+package com.farmtap.cache;
+
+import com.farmtap.model.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hibernate post-insert/update/delete listener that gathers the ids of changed entities per
+ * transaction and hands them to the {@link InvalidationBus}: published just before commit
+ * (inside the transaction) and applied locally after a successful commit. Rolled-back changes
+ * are dropped.
+ *
+ * Bulk JPQL/native statements bypass Hibernate events and must not touch cached entities.
+ */
+@Component
+public class EntityChangeCollector implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final InvalidationBus bus;
+
+    // One pending change set per session for its current transaction
+    private final Map<EventSource, Map<EntityType, Set<Long>>> pending = new ConcurrentHashMap<>();
+
+    public EntityChangeCollector(EntityManagerFactory entityManagerFactory, InvalidationBus bus) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.bus = bus;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        changed(event.getSession(), event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        changed(event.getSession(), event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        changed(event.getSession(), event.getEntity());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void changed(EventSource session, Object entity) {
+        EntityType type;
+        Long id;
+        if (entity instanceof Equipment equipment) {
+            type = EntityType.EQUIPMENT;
+            id = equipment.getId();
+        } else if (entity instanceof Users user) {
+            type = EntityType.USERS;
+            id = user.getId();
+        } else if (entity instanceof Booking booking) {
+            type = EntityType.BOOKING;
+            id = booking.getId();
+        } else if (entity instanceof PricingRule rule) {
+            type = EntityType.OWNER_PRICING;
+            id = rule.getOwnerId();
+        } else if (entity instanceof CooperativeMember member) {
+            type = EntityType.OWNER_PRICING;
+            id = member.getOwnerId();
+        } else if (entity instanceof WaitlistEntry entry) {
+            type = EntityType.WAITLIST;
+            id = entry.getEquipmentId();
+        } else {
+            return;
+        }
+        if (id == null) {
+            return;
+        }
+        Map<EntityType, Set<Long>> changes = pending.computeIfAbsent(session, s -> {
+            Map<EntityType, Set<Long>> fresh = new EnumMap<>(EntityType.class);
+            s.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) tx ->
+                    tx.doWork(connection -> bus.publish(connection, fresh)));
+            s.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, tx) -> {
+                pending.remove(s);
+                if (success) {
+                    bus.applyLocal(fresh);
+                }
+            });
+            return fresh;
+        });
+        changes.computeIfAbsent(type, t -> new HashSet<>()).add(id);
+    }
+}
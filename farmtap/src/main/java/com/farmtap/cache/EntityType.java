@@ -0,0 +1,29 @@
+package com.farmtap.cache;
+
+import java.util.Arrays;
+
+// Kinds of change carried on the invalidation bus, with their one-letter wire codes
+public enum EntityType {
+    EQUIPMENT('E'),
+    USERS('U'),
+    BOOKING('B'),
+    OWNER_PRICING('P'), // keyed by owner id: a pricing rule or cooperative member changed
+    WAITLIST('W'); // keyed by equipment id: someone joined, left or was promoted from its waitlist
+
+    private final char code;
+
+    EntityType(char code) {
+        this.code = code;
+    }
+
+    public char code() {
+        return code;
+    }
+
+    public static EntityType fromCode(char code) {
+        return Arrays.stream(values())
+                .filter(type -> type.code == code)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown entity code '" + code + "'"));
+    }
+}
@@ -0,0 +1,249 @@
+package com.farmtap.cache;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the in-process caches of every FarmTap instance coherent using PostgreSQL
+ * LISTEN/NOTIFY on the primary database, so no extra infrastructure is needed.
+ *
+ * {@link EntityChangeCollector} hands each committing transaction's changed ids to
+ * {@link #publish}. That runs a {@code pg_notify} inside the transaction, so peers only hear
+ * about committed changes. The publishing instance applies its own changes right after commit.
+ *
+ * A listener thread holds one connection from the primary pool and applies each batch of
+ * received notifications as one round of evictions. Caches are flushed entirely when changes
+ * may have been missed:
+ * <ul>
+ *   <li>after the listener reconnects, since NOTIFYs sent while disconnected are not queued;</li>
+ *   <li>when a peer's sequence numbers show a gap that is not filled within the gap timeout.</li>
+ * </ul>
+ */
+@Component
+public class InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+
+    private final InvalidationProperties properties;
+    private final DataSource dataSource;
+    private final ObjectProvider<CacheInvalidationListener> listeners;
+
+    private final String node = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+
+    private volatile boolean active;
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    // Listener thread only
+    private final Map<String, SequenceTracker> peers = new HashMap<>();
+
+    // With read replicas configured, listen on the primary pool rather than through the routing proxy
+    public InvalidationBus(InvalidationProperties properties,
+                           DataSource dataSource,
+                           @Qualifier("primaryDataSource") ObjectProvider<DataSource> primaryDataSource,
+                           ObjectProvider<CacheInvalidationListener> listeners) {
+        this.properties = properties;
+        this.dataSource = primaryDataSource.getIfAvailable(() -> dataSource);
+        this.listeners = listeners;
+    }
+
+    @PostConstruct
+    void start() throws SQLException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!properties.getChannel().matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalStateException("farmtap.invalidation.channel must be a lower-case SQL identifier");
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            String product = connection.getMetaData().getDatabaseProductName();
+            if (!"PostgreSQL".equals(product)) {
+                log.info("Cache invalidation bus off: {} has no LISTEN/NOTIFY, evicting locally only", product);
+                return;
+            }
+        }
+        active = true;
+        running = true;
+        listenerThread = new Thread(this::listen, "invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+        log.info("Cache invalidation bus listening on '{}' as node {}", properties.getChannel(), node);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            listenerThread.join(properties.getPollTimeout().toMillis() * 2);
+        }
+    }
+
+    // Runs inside the committing transaction, on its connection
+    void publish(Connection connection, Map<EntityType, Set<Long>> changes) throws SQLException {
+        if (!active) {
+            return;
+        }
+        String payload = new InvalidationMessage(node, sequence.incrementAndGet(), changes).encode();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, properties.getChannel());
+            statement.setString(2, payload);
+            statement.execute();
+        }
+    }
+
+    // The publishing instance's own changes, after its commit
+    void applyLocal(Map<EntityType, Set<Long>> changes) {
+        apply(changes);
+    }
+
+    public long getReceived() {
+        return received.get();
+    }
+
+    public long getFlushes() {
+        return flushes.get();
+    }
+
+    private void listen() {
+        Connection connection = null;
+        boolean connectedBefore = false;
+        while (running) {
+            try {
+                if (connection == null) {
+                    connection = dataSource.getConnection();
+                    connection.setAutoCommit(true);
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("LISTEN " + properties.getChannel());
+                    }
+                    if (connectedBefore) {
+                        peers.clear();
+                        flushAll("listener reconnected");
+                    }
+                    connectedBefore = true;
+                }
+                PGNotification[] notifications = connection.unwrap(PGConnection.class)
+                        .getNotifications((int) properties.getPollTimeout().toMillis());
+                handle(notifications == null ? new PGNotification[0] : notifications);
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Invalidation listener lost its connection; reconnecting: {}", e.getMessage());
+                discard(connection);
+                connection = null;
+                try {
+                    Thread.sleep(properties.getReconnectBackoff().toMillis());
+                } catch (InterruptedException interrupted) {
+                    break;
+                }
+            }
+        }
+        closeQuietly(connection);
+    }
+
+    private void handle(PGNotification[] notifications) {
+        long now = System.nanoTime();
+        Map<EntityType, Set<Long>> batch = new EnumMap<>(EntityType.class);
+        String flushReason = null;
+        for (PGNotification notification : notifications) {
+            InvalidationMessage message;
+            try {
+                message = InvalidationMessage.decode(notification.getParameter());
+            } catch (RuntimeException e) {
+                log.warn("Ignoring malformed invalidation message: {}", notification.getParameter());
+                continue;
+            }
+            if (message.node().equals(node)) {
+                continue; // already applied after our own commit
+            }
+            received.incrementAndGet();
+            SequenceTracker tracker = peers.computeIfAbsent(message.node(),
+                    n -> new SequenceTracker(properties.getGapTimeout().toNanos()));
+            if (!tracker.accept(message.sequence(), now)) {
+                flushReason = "too many messages missing from node " + message.node();
+            } else if (message.flushAll()) {
+                flushReason = "node " + message.node() + " sent a flush";
+            } else {
+                message.changes().forEach((type, ids) ->
+                        batch.computeIfAbsent(type, t -> new HashSet<>()).addAll(ids));
+            }
+        }
+        for (Map.Entry<String, SequenceTracker> peer : peers.entrySet()) {
+            if (peer.getValue().hasExpiredGap(now)) {
+                flushReason = "lost messages from node " + peer.getKey();
+            }
+        }
+        if (flushReason != null) {
+            peers.clear();
+            flushAll(flushReason);
+        } else if (!batch.isEmpty()) {
+            apply(batch);
+        }
+    }
+
+    private void apply(Map<EntityType, Set<Long>> changes) {
+        listeners.orderedStream().forEach(listener -> changes.forEach((type, ids) -> {
+            try {
+                listener.evict(type, ids);
+            } catch (RuntimeException e) {
+                log.warn("Cache eviction failed in {}", listener.getClass().getSimpleName(), e);
+            }
+        }));
+    }
+
+    private void flushAll(String reason) {
+        log.info("Flushing in-process caches: {}", reason);
+        flushes.incrementAndGet();
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.flush();
+            } catch (RuntimeException e) {
+                log.warn("Cache flush failed in {}", listener.getClass().getSimpleName(), e);
+            }
+        });
+    }
+
+    // A terminated backend is not always flagged as broken by the pool, so evict it rather than
+    // hand it to the next borrower
+    private void discard(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                dataSource.unwrap(HikariDataSource.class).evictConnection(connection);
+                return;
+            }
+        } catch (SQLException ignored) {
+            // fall through to a plain close
+        }
+        closeQuietly(connection);
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // already broken
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.farmtap.cache;
+
+import java.util.*;
+
+/**
+ * One committed transaction's changes as sent through NOTIFY:
+ * {@code <node> <sequence> E:1,2;U:7} or {@code <node> <sequence> *} when the ids do not fit
+ * in a NOTIFY payload (8000 bytes) and receivers should flush instead.
+ */
+record InvalidationMessage(String node, long sequence, Map<EntityType, Set<Long>> changes) {
+
+    static final int MAX_PAYLOAD = 7900;
+    private static final String FLUSH = "*";
+
+    boolean flushAll() {
+        return changes == null;
+    }
+
+    String encode() {
+        String header = node + " " + sequence + " ";
+        if (changes == null) {
+            return header + FLUSH;
+        }
+        StringJoiner body = new StringJoiner(";");
+        changes.forEach((type, ids) -> {
+            StringJoiner list = new StringJoiner(",", type.code() + ":", "");
+            ids.forEach(id -> list.add(id.toString()));
+            body.add(list.toString());
+        });
+        String payload = header + body;
+        return payload.length() <= MAX_PAYLOAD ? payload : header + FLUSH;
+    }
+
+    static InvalidationMessage decode(String payload) {
+        String[] parts = payload.split(" ", 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed invalidation payload: " + payload);
+        }
+        long sequence = Long.parseLong(parts[1]);
+        if (parts[2].equals(FLUSH)) {
+            return new InvalidationMessage(parts[0], sequence, null);
+        }
+        Map<EntityType, Set<Long>> changes = new EnumMap<>(EntityType.class);
+        for (String entry : parts[2].split(";")) {
+            if (entry.isEmpty()) {
+                continue;
+            }
+            Set<Long> ids = changes.computeIfAbsent(EntityType.fromCode(entry.charAt(0)), t -> new HashSet<>());
+            for (String id : entry.substring(2).split(",")) {
+                if (!id.isEmpty()) {
+                    ids.add(Long.parseLong(id));
+                }
+            }
+        }
+        return new InvalidationMessage(parts[0], sequence, changes);
+    }
+}
@@ -0,0 +1,19 @@
+package com.farmtap.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("farmtap.invalidation")
+public class InvalidationProperties {
+
+    // Off means local evictions only; it is also off on databases other than PostgreSQL
+    private boolean enabled = true;
+    private String channel = "farmtap_invalidation";
+    private Duration pollTimeout = Duration.ofMillis(500);
+    private Duration reconnectBackoff = Duration.ofSeconds(2);
+    // How long an out-of-order sequence number may stay missing before it counts as lost
+    private Duration gapTimeout = Duration.ofSeconds(5);
+}
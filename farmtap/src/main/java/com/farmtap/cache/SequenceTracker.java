@@ -0,0 +1,54 @@
+package com.farmtap.cache;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Notices lost messages from one publishing node. Sequence numbers are taken just before
+ * commit, so concurrent transactions on that node can arrive out of order; a missing number is
+ * only treated as a gap once it has stayed missing for the grace period (or too many are
+ * outstanding at once).
+ */
+class SequenceTracker {
+
+    private static final int MAX_OUTSTANDING = 1024;
+
+    private final long graceNanos;
+    private long highest = -1;
+    // missing sequence -> when we first noticed it was missing
+    private final TreeMap<Long, Long> missing = new TreeMap<>();
+
+    SequenceTracker(long graceNanos) {
+        this.graceNanos = graceNanos;
+    }
+
+    // Returns false if the message shows a gap that cannot be waited out
+    boolean accept(long sequence, long now) {
+        if (highest < 0) {
+            highest = sequence; // first message seen from this node
+            return true;
+        }
+        if (sequence > highest) {
+            if (missing.size() + (sequence - highest - 1) > MAX_OUTSTANDING) {
+                return false;
+            }
+            for (long s = highest + 1; s < sequence; s++) {
+                missing.put(s, now);
+            }
+            highest = sequence;
+        } else {
+            missing.remove(sequence);
+        }
+        return true;
+    }
+
+    // True if some number has been missing for longer than the grace period
+    boolean hasExpiredGap(long now) {
+        for (Map.Entry<Long, Long> entry : missing.entrySet()) {
+            if (now - entry.getValue() > graceNanos) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -4,12 +4,18 @@ import com.farmtap.dto.RegisterRequest;
 import com.farmtap.model.Role;
 import com.farmtap.model.Users;
 import com.farmtap.repository.UserRepository;
+import com.farmtap.resilience.DatabaseGuard;
+import com.farmtap.resilience.DatabaseUnavailableException;
 import com.farmtap.security.JwtUtil;
-import com.farmtap.security.CustomUserDetailsService;
+import com.farmtap.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
@@ -23,10 +29,25 @@ public class AuthController {
     @Autowired private PasswordEncoder passwordEncoder;
     @Autowired private AuthenticationManager authManager;
     @Autowired private JwtUtil jwtUtil;
-    @Autowired private CustomUserDetailsService userDetailsService;
+    @Autowired private UserService userService;
+    @Autowired private DatabaseGuard databaseGuard;
+
+    private ResponseEntity<?> unavailableResponse() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(Map.of("error", "Sign-in is temporarily unavailable, please try again shortly"));
+    }
 
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody RegisterRequest request) {
+        try {
+            return databaseGuard.auth(() -> registerUser(request));
+        } catch (DatabaseUnavailableException e) {
+            return unavailableResponse();
+        }
+    }
+
+    private ResponseEntity<?> registerUser(RegisterRequest request) {
         if (userRepository.findByEmail(request.getEmail()).isPresent()) {
             return ResponseEntity.badRequest().body(Map.of("error", "Email already registered"));
         }
@@ -44,7 +65,7 @@ public class AuthController {
         user.setProfileImageUrl(request.getProfileImageUrl());
         user.setRole(Role.valueOf(request.getRole())); // make sure it's "Farmer" or "Owner"
 
-        userRepository.save(user);
+        userService.saveUser(user);
 
         return ResponseEntity.ok(Map.of("message", "User registered successfully"));
     }
@@ -54,14 +75,18 @@ public class AuthController {
         String email = loginData.get("email");
         String password = loginData.get("password");
 
+        Authentication authentication;
         try {
-            authManager.authenticate(new UsernamePasswordAuthenticationToken(email, password));
-            System.out.println(email);
+            authentication = authManager.authenticate(new UsernamePasswordAuthenticationToken(email, password));
         } catch (Exception ex) {
+            if (ex.getCause() instanceof DatabaseUnavailableException) {
+                return unavailableResponse();
+            }
             return ResponseEntity.status(401).body(Map.of("error", "Invalid email or password"));
         }
 
-        var userDetails = userDetailsService.loadUserByUsername(email);
+        // The provider already loaded the user; no second lookup
+        var userDetails = (UserDetails) authentication.getPrincipal();
         String token = jwtUtil.generateToken(userDetails);
 
         return ResponseEntity.ok(Map.of("token", token));
@@ -1,20 +1,26 @@
 package com.farmtap.controller;
 
 import com.farmtap.dto.BookingRequestDTO;
+import com.farmtap.dto.WaitlistEntryDTO;
 import com.farmtap.model.Booking;
 import com.farmtap.model.BookingStatus;
 import com.farmtap.model.Equipment;
 import com.farmtap.model.Users;
 import com.farmtap.repository.UserRepository;
+import com.farmtap.resilience.DatabaseGuard;
+import com.farmtap.resilience.DatabaseUnavailableException;
 import com.farmtap.service.BookingService;
 import com.farmtap.service.EquipmentService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
+import java.time.LocalDate;
 import java.util.*;
 
 @RestController
@@ -25,6 +31,7 @@ public class BookingController {
     private final BookingService bookingService;
     private final EquipmentService equipmentService;
     private final UserRepository userRepository;
+    private final DatabaseGuard databaseGuard;
 
     private ResponseEntity<Map<String, String>> errorResponse(String message) {
         Map<String, String> error = new HashMap<>();
@@ -32,31 +39,101 @@ public class BookingController {
         return ResponseEntity.badRequest().body(error);
     }
 
+    // Booking writes are shed rather than queued while the database is struggling; the app can retry
+    private ResponseEntity<Map<String, String>> unavailableResponse(DatabaseUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(Map.of("error", "Bookings are temporarily unavailable: " + e.getMessage()));
+    }
+
     @PostMapping
     public ResponseEntity<?> createBooking(@RequestBody BookingRequestDTO bookingRequest, Principal principal) {
         try {
-            Booking createdBooking = bookingService.createBooking(bookingRequest, principal);
+            Booking createdBooking = databaseGuard.bookingWrite(() -> bookingService.createBooking(bookingRequest, principal));
             return ResponseEntity.status(HttpStatus.CREATED).body(createdBooking);
+        } catch (DatabaseUnavailableException e) {
+            return unavailableResponse(e);
         } catch (Exception e) {
             return errorResponse("Failed to create booking: " + e.getMessage());
         }
     }
 
+    // Books the dates if they are free, otherwise joins the equipment's waitlist for them.
+    // Waiting requests become PENDING bookings on their own when a clashing booking goes away.
+    @PostMapping("/waitlist")
+    public ResponseEntity<?> joinWaitlist(@RequestBody BookingRequestDTO bookingRequest, Principal principal) {
+        try {
+            WaitlistEntryDTO entry = databaseGuard.bookingWrite(() -> bookingService.joinWaitlist(bookingRequest, principal));
+            return ResponseEntity.status(entry.getBookingId() != null ? HttpStatus.CREATED : HttpStatus.ACCEPTED).body(entry);
+        } catch (DatabaseUnavailableException e) {
+            return unavailableResponse(e);
+        } catch (Exception e) {
+            return errorResponse("Failed to join the waitlist: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/waitlist")
+    public ResponseEntity<?> getWaitlist(Principal principal) {
+        try {
+            return ResponseEntity.ok(bookingService.getWaitlist(principal));
+        } catch (Exception e) {
+            return errorResponse("Failed to fetch your waitlist: " + e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/waitlist/{id}")
+    public ResponseEntity<?> leaveWaitlist(@PathVariable Long id, Principal principal) {
+        try {
+            bookingService.leaveWaitlist(id, principal);
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            return errorResponse("Failed to leave the waitlist: " + e.getMessage());
+        }
+    }
+
+    // Lets the date picker price a booking without creating it
+    @GetMapping("/quote")
+    public ResponseEntity<?> getQuote(@RequestParam Long equipmentId,
+                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+                                      Principal principal) {
+        try {
+            return ResponseEntity.ok(bookingService.getQuote(equipmentId, startDate, endDate, principal));
+        } catch (Exception e) {
+            return errorResponse("Failed to price booking: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/user")
-    public ResponseEntity<?> getCurrentUserBookings(Principal principal) {
+    public ResponseEntity<?> getCurrentUserBookings(@RequestParam(defaultValue = "false") boolean includeArchived,
+                                                    Principal principal) {
         try {
-            List<Booking> bookings = bookingService.getBookingsForUser(principal);
+            List<Booking> bookings = bookingService.getBookingsForUser(principal, includeArchived);
             return ResponseEntity.ok(bookings);
         } catch (Exception e) {
             return errorResponse("Failed to fetch your bookings: " + e.getMessage());
         }
     }
 
+    // Paged "my bookings" from the caller's inbox, newest first; ?before= takes the previous nextCursor
+    @GetMapping("/inbox")
+    public ResponseEntity<?> getInbox(@RequestParam(required = false) Long before,
+                                      @RequestParam(defaultValue = "20") int limit,
+                                      Principal principal) {
+        try {
+            return ResponseEntity.ok(bookingService.getInbox(principal, before, limit));
+        } catch (Exception e) {
+            return errorResponse("Failed to fetch your bookings: " + e.getMessage());
+        }
+    }
+
     @PutMapping("/{id}/status")
     public ResponseEntity<?> updateStatus(@PathVariable Long id, @RequestParam BookingStatus status, Principal principal) {
         try {
-            Booking updatedBooking = bookingService.updateStatus(id, status, principal);
+            Booking updatedBooking = databaseGuard.bookingWrite(() -> bookingService.updateStatus(id, status, principal));
             return ResponseEntity.ok(updatedBooking);
+        } catch (DatabaseUnavailableException e) {
+            return unavailableResponse(e);
         } catch (Exception e) {
             return errorResponse("Failed to update booking status: " + e.getMessage());
         }
@@ -65,18 +142,33 @@ public class BookingController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteBooking(@PathVariable Long id, Principal principal) {
         try {
-            bookingService.deleteBooking(id, principal);
+            databaseGuard.bookingWrite(() -> {
+                bookingService.deleteBooking(id, principal);
+                return null;
+            });
             return ResponseEntity.noContent().build();
+        } catch (DatabaseUnavailableException e) {
+            return unavailableResponse(e);
         } catch (Exception e) {
             return errorResponse("Failed to delete booking: " + e.getMessage());
         }
     }
 
+    @GetMapping("/{id}/history")
+    public ResponseEntity<?> getBookingHistory(@PathVariable Long id, Principal principal) {
+        try {
+            return ResponseEntity.ok(bookingService.getHistory(id, principal));
+        } catch (Exception e) {
+            return errorResponse("Failed to fetch booking history: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/farmer/{farmerId}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> getFarmerBookings(@PathVariable Long farmerId) {
+    public ResponseEntity<?> getFarmerBookings(@PathVariable Long farmerId,
+                                               @RequestParam(defaultValue = "false") boolean includeArchived) {
         try {
-            List<Booking> bookings = bookingService.getFarmerBookings(farmerId);
+            List<Booking> bookings = bookingService.getFarmerBookings(farmerId, includeArchived);
             return ResponseEntity.ok(bookings);
         } catch (Exception e) {
             return errorResponse("Failed to fetch farmer bookings: " + e.getMessage());
@@ -85,9 +177,10 @@ public class BookingController {
 
     @GetMapping("/owner/{ownerId}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> getOwnerBookings(@PathVariable Long ownerId) {
+    public ResponseEntity<?> getOwnerBookings(@PathVariable Long ownerId,
+                                              @RequestParam(defaultValue = "false") boolean includeArchived) {
         try {
-            List<Booking> bookings = bookingService.getOwnerBookings(ownerId);
+            List<Booking> bookings = bookingService.getOwnerBookings(ownerId, includeArchived);
             return ResponseEntity.ok(bookings);
         } catch (Exception e) {
             return errorResponse("Failed to fetch owner bookings: " + e.getMessage());
@@ -96,9 +189,9 @@ public class BookingController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> getAllBookings() {
+    public ResponseEntity<?> getAllBookings(@RequestParam(defaultValue = "false") boolean includeArchived) {
         try {
-            return ResponseEntity.ok(bookingService.getAll().getBody());
+            return ResponseEntity.ok(bookingService.getAll(includeArchived).getBody());
         } catch (Exception e) {
             return errorResponse("Failed to fetch all bookings: " + e.getMessage());
         }
@@ -3,12 +3,22 @@ package com.farmtap.controller;
 import com.farmtap.dto.EquipmentDTO;
 import com.farmtap.model.Equipment;
 import com.farmtap.model.Users;
+import com.farmtap.region.RegionRouter;
 import com.farmtap.repository.UserRepository;
+import com.farmtap.resilience.DatabaseGuard;
+import com.farmtap.resilience.DatabaseUnavailableException;
 import com.farmtap.service.EquipmentService;
+import com.farmtap.service.EquipmentSnapshots;
+import com.farmtap.service.PopularityService;
+import com.farmtap.service.SuggestionService;
+import com.farmtap.storage.ImageService;
+import com.farmtap.storage.ImageStore;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.security.Principal;
 import java.util.HashMap;
@@ -24,6 +34,12 @@ public class EquipmentController {
 
     private final EquipmentService equipmentService;
     private final UserRepository userRepository;
+    private final ImageService imageService;
+    private final SuggestionService suggestionService;
+    private final PopularityService popularityService;
+    private final DatabaseGuard databaseGuard;
+    private final EquipmentSnapshots equipmentSnapshots;
+    private final RegionRouter regionRouter;
 
     private ResponseEntity<Map<String, String>> errorResponse(String message) {
         Map<String, String> error = new HashMap<>();
@@ -31,6 +47,19 @@ public class EquipmentController {
         return ResponseEntity.badRequest().body(error);
     }
 
+    private ResponseEntity<Map<String, String>> unavailableResponse(DatabaseUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(Map.of("error", "Equipment is temporarily unavailable: " + e.getMessage()));
+    }
+
+    private static ResponseEntity<?> stale(EquipmentSnapshots.Snapshot<?> snapshot, Object body) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.AGE, String.valueOf(snapshot.ageSeconds()))
+                .header(HttpHeaders.WARNING, "110 - \"Response is Stale\"")
+                .body(body);
+    }
+
     @PostMapping
     public ResponseEntity<?> addEquipment(@RequestBody Equipment equipment, Principal principal) {
         try {
@@ -45,33 +74,128 @@ public class EquipmentController {
         }
     }
 
+    @PostMapping("/{id}/image")
+    public ResponseEntity<?> uploadImage(@PathVariable Long id, @RequestParam("image") MultipartFile image, Principal principal) {
+        try {
+            Users owner = userRepository.findByEmail(principal.getName())
+                    .orElseThrow(() -> new RuntimeException("Owner not found"));
+            ImageStore.StoredImage stored = imageService.upload(image);
+            Equipment updated = equipmentService.updateImage(id, ImageController.absoluteUrl(stored.key()), owner.getId());
+            return ResponseEntity.ok(new EquipmentDTO(updated));
+        } catch (Exception e) {
+            return errorResponse("Error uploading equipment image: " + e.getMessage());
+        }
+    }
+
+    // Lists the caller's own region (state), or every region when it has nothing listed;
+    // region=all lists every region and region=<state> that state.
+    // sort=popular puts the most booked equipment in the caller's district (or ?district=) first.
+    // fields=name,rentalPricePerDay,thumbnailUrl,location reads only those columns for list cards.
+    // While the database is unavailable the last snapshot is served with Age and Warning headers.
     @GetMapping
-    public ResponseEntity<?> getAvailableEquipment() {
+    public ResponseEntity<?> getAvailableEquipment(@RequestParam(required = false) String sort,
+                                                   @RequestParam(required = false) String district,
+                                                   @RequestParam(required = false) List<String> fields,
+                                                   @RequestParam(required = false) String region,
+                                                   Principal principal) {
+        if (sort != null && !"popular".equalsIgnoreCase(sort)) {
+            return errorResponse("Unknown sort '" + sort + "'");
+        }
+        String rankDistrict = district;
         try {
-            List<EquipmentDTO> equipmentList = equipmentService.getAllAvailableEquipment()
+            if (sort != null && rankDistrict == null && principal != null) {
+                rankDistrict = databaseGuard.listing(() -> userRepository.findByEmail(principal.getName()))
+                        .map(Users::getDistrict).orElse(null);
+            }
+            if (fields != null) {
+                List<Map<String, Object>> rows = databaseGuard.listing(() -> equipmentService.getAvailableEquipmentFields(fields, region));
+                if (sort != null) {
+                    rows = popularityService.sortByPopularity(rows, row -> (Long) row.get("id"), rankDistrict);
+                }
+                return ResponseEntity.ok(rows);
+            }
+            List<Equipment> available = databaseGuard.listing(() -> equipmentService.getAvailableEquipment(region));
+            if (sort != null) {
+                available = popularityService.sortByPopularity(available, rankDistrict);
+            }
+            List<EquipmentDTO> equipmentList = available
                     .stream()
                     .map(EquipmentDTO::new)
                     .collect(Collectors.toList());
             return ResponseEntity.ok(equipmentList);
+        } catch (DatabaseUnavailableException e) {
+            String ranking = rankDistrict; // null if the caller's district couldn't be read either
+            return equipmentSnapshots.listing()
+                    .<ResponseEntity<?>>map(snapshot -> {
+                        // Same region rules as the live listing, with the caller's region from the cache
+                        List<EquipmentDTO> cached = regionRouter.listForCachedCaller(region,
+                                inRegion -> snapshot.value().stream().filter(dto -> inRegion.equals(dto.getRegion())).toList(),
+                                snapshot::value);
+                        if (sort != null) {
+                            cached = popularityService.sortByPopularity(cached, EquipmentDTO::getId, ranking);
+                        }
+                        Object body = fields == null ? cached
+                                : cached.stream().map(dto -> equipmentSnapshots.project(dto, fields)).toList();
+                        return stale(snapshot, body);
+                    })
+                    .orElseGet(() -> unavailableResponse(e));
         } catch (Exception e) {
             return errorResponse("Error fetching equipment: " + e.getMessage());
         }
     }
 
+    // Typeahead for the add-equipment form and search box: field = type, location, village or district
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(@RequestParam String field,
+                                     @RequestParam(defaultValue = "") String prefix,
+                                     @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(suggestionService.suggest(field, prefix, limit));
+        } catch (Exception e) {
+            return errorResponse("Error fetching suggestions: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<?> getEquipmentById(@PathVariable Long id) {
+    public ResponseEntity<?> getEquipmentById(@PathVariable Long id, @RequestParam(required = false) List<String> fields) {
         try {
-            return equipmentService.getEquipmentById(id)
-                    .map(equipment -> ResponseEntity.ok(new EquipmentDTO((Equipment) equipment)))
+            if (fields != null) {
+                return databaseGuard.listing(() -> equipmentService.getEquipmentFieldsById(id, fields))
+                        .<ResponseEntity<?>>map(ResponseEntity::ok)
+                        .orElse(ResponseEntity.notFound().build());
+            }
+            Optional<EquipmentDTO> equipment = databaseGuard.listing(() -> equipmentService.getEquipmentById(id))
+                    .map(EquipmentDTO::new);
+            equipment.ifPresent(equipmentSnapshots::remember);
+            return equipment.<ResponseEntity<?>>map(ResponseEntity::ok)
                     .orElse(ResponseEntity.notFound().build());
+        } catch (DatabaseUnavailableException e) {
+            return equipmentSnapshots.detail(id)
+                    .<ResponseEntity<?>>map(snapshot -> stale(snapshot,
+                            fields == null ? snapshot.value() : equipmentSnapshots.project(snapshot.value(), fields)))
+                    .orElseGet(() -> unavailableResponse(e));
         } catch (Exception e) {
             return errorResponse("Error fetching equipment details: " + e.getMessage());
         }
     }
 
+    @GetMapping("/{id}/history")
+    public ResponseEntity<?> getEquipmentHistory(@PathVariable Long id, Principal principal) {
+        try {
+            Users owner = userRepository.findByEmail(principal.getName())
+                    .orElseThrow(() -> new RuntimeException("Owner not found"));
+            return ResponseEntity.ok(equipmentService.getHistory(id, owner.getId()));
+        } catch (Exception e) {
+            return errorResponse("Failed to fetch equipment history: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/owner/{ownerId}")
-    public ResponseEntity<?> getEquipmentByOwner(@PathVariable Long ownerId) {
+    public ResponseEntity<?> getEquipmentByOwner(@PathVariable Long ownerId, @RequestParam(required = false) List<String> fields) {
         try {
+            if (fields != null) {
+                return ResponseEntity.ok(equipmentService.getOwnerEquipmentFields(ownerId, fields));
+            }
             List<EquipmentDTO> ownerEquipment = equipmentService.getOwnerEquipment(ownerId)
                     .stream()
                     .map(EquipmentDTO::new)
@@ -0,0 +1,202 @@
+package com.farmtap.controller;
+
+import com.farmtap.storage.ImageService;
+import com.farmtap.storage.ImageStore;
+import com.farmtap.storage.ImageType;
+import com.farmtap.storage.ImageUrls;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequiredArgsConstructor
+public class ImageController {
+
+    // Tomcat's sendfile hand-off: the connector copies the file to the socket in the kernel
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Keys are content hashes, so a URL's bytes never change
+    private static final String CACHE_FOREVER = "public, max-age=31536000, immutable";
+
+    private final ImageService imageService;
+    private final ImageStore imageStore;
+
+    private ResponseEntity<Map<String, String>> errorResponse(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    @PostMapping("/api/upload/image")
+    public ResponseEntity<?> uploadImage(@RequestParam("image") MultipartFile image) {
+        try {
+            ImageStore.StoredImage stored = imageService.upload(image);
+            String url = absoluteUrl(stored.key());
+            return ResponseEntity.ok(Map.of(
+                    "key", stored.key(),
+                    "url", url,
+                    "thumbnailUrl", ImageUrls.thumbnailFor(url)));
+        } catch (Exception e) {
+            return errorResponse("Failed to upload image: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/api/images/{key}")
+    public void getImage(@PathVariable String key, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(imageStore.find(key, false), key, request, response);
+    }
+
+    // Falls back to the original until the thumbnail has been rendered
+    @GetMapping("/api/images/{key}/thumb")
+    public void getThumbnail(@PathVariable String key, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<Path> thumbnail = imageStore.find(key, true);
+        if (thumbnail.isPresent()) {
+            serve(thumbnail, key + "-thumb", request, response);
+        } else {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=60");
+            serve(imageStore.find(key, false), key, request, response, false);
+        }
+    }
+
+    public static String absoluteUrl(String key) {
+        return ServletUriComponentsBuilder.fromCurrentContextPath().path(ImageUrls.path(key)).toUriString();
+    }
+
+    private void serve(Optional<Path> file, String etag, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(file, etag, request, response, true);
+    }
+
+    // Statuses are set directly rather than via sendError: the error dispatch would go through
+    // security again and turn a public 404/416 into a 403.
+    private void serve(Optional<Path> file, String etag, HttpServletRequest request, HttpServletResponse response,
+                       boolean immutable) throws IOException {
+        if (file.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Path path = file.get();
+        long length = Files.size(path);
+        String quotedEtag = "\"" + etag + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, quotedEtag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (immutable) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_FOREVER);
+        }
+        if (quotedEtag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setContentType(contentType(path));
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && ifRangeMatches(request, quotedEtag)) {
+            long[] parsed = parseRange(range, length);
+            if (parsed == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (parsed.length == 2) {
+                start = parsed[0];
+                end = parsed[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                position += channel.transferTo(position, end + 1 - position, out);
+            }
+        }
+    }
+
+    // Returns {start, end} for a satisfiable single range, an empty array to serve the whole
+    // file (malformed, backwards or multi-range requests), or null when the range starts past the end.
+    private static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.contains(",")) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String from = spec.substring(0, dash).trim();
+            String to = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (from.isEmpty()) {
+                long suffix = Long.parseLong(to);
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(from);
+                long last = to.isEmpty() ? Long.MAX_VALUE : Long.parseLong(to);
+                if (last < start) {
+                    return new long[0]; // syntactically invalid (RFC 7233 2.1): ignore the header
+                }
+                end = Math.min(last, length - 1);
+            }
+            if (start >= length) {
+                return null;
+            }
+            return new long[] {start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    private static boolean ifRangeMatches(HttpServletRequest request, String quotedEtag) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        return ifRange == null || ifRange.equals(quotedEtag);
+    }
+
+    private static String contentType(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            byte[] header = in.readNBytes(ImageType.HEADER_BYTES);
+            ImageType type = ImageType.sniff(header, header.length);
+            return type != null ? type.getMediaType() : "application/octet-stream";
+        }
+    }
+}
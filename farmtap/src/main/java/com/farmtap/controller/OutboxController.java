@@ -0,0 +1,37 @@
+package com.farmtap.controller;
+
+import com.farmtap.outbox.OutboxDispatcher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/system")
+@RequiredArgsConstructor
+public class OutboxController {
+
+    private final OutboxDispatcher outboxDispatcher;
+
+    private ResponseEntity<Map<String, String>> errorResponse(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    // Backlog and delivery lag of the booking event outbox
+    @GetMapping("/outbox")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getOutboxStats() {
+        try {
+            return ResponseEntity.ok(outboxDispatcher.stats());
+        } catch (Exception e) {
+            return errorResponse("Failed to fetch outbox stats: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.farmtap.controller;
+
+import com.farmtap.model.Users;
+import com.farmtap.repository.UserRepository;
+import com.farmtap.service.BookingStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/owner")
+@RequiredArgsConstructor
+public class OwnerDashboardController {
+
+    private final BookingStatsService bookingStatsService;
+    private final UserRepository userRepository;
+
+    private ResponseEntity<Map<String, String>> errorResponse(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    // Defaults to the last twelve months, including the current one
+    @GetMapping("/dashboard")
+    public ResponseEntity<?> getDashboard(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            Principal principal) {
+        try {
+            Users owner = userRepository.findByEmail(principal.getName())
+                    .orElseThrow(() -> new RuntimeException("Owner not found"));
+            LocalDate end = to != null ? to : YearMonth.now().atEndOfMonth();
+            LocalDate start = from != null ? from : YearMonth.from(end).minusMonths(11).atDay(1);
+            if (start.isAfter(end)) {
+                return errorResponse("'from' must not be after 'to'");
+            }
+            return ResponseEntity.ok(bookingStatsService.getOwnerDashboard(owner.getId(), start, end));
+        } catch (Exception e) {
+            return errorResponse("Failed to fetch dashboard: " + e.getMessage());
+        }
+    }
+}
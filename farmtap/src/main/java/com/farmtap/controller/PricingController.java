@@ -0,0 +1,92 @@
+package com.farmtap.controller;
+
+import com.farmtap.model.PricingRule;
+import com.farmtap.model.Users;
+import com.farmtap.repository.UserRepository;
+import com.farmtap.service.PricingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Map;
+
+// Owner-managed pricing rules and cooperative members
+@RestController
+@RequestMapping("/api/owner")
+@RequiredArgsConstructor
+public class PricingController {
+
+    private final PricingService pricingService;
+    private final UserRepository userRepository;
+
+    private ResponseEntity<Map<String, String>> errorResponse(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    private Users currentOwner(Principal principal) {
+        return userRepository.findByEmail(principal.getName())
+                .orElseThrow(() -> new RuntimeException("Owner not found"));
+    }
+
+    @GetMapping("/pricing-rules")
+    public ResponseEntity<?> getRules(Principal principal) {
+        try {
+            return ResponseEntity.ok(pricingService.getRules(currentOwner(principal).getId()));
+        } catch (Exception e) {
+            return errorResponse("Failed to fetch pricing rules: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/pricing-rules")
+    public ResponseEntity<?> addRule(@RequestBody PricingRule rule, Principal principal) {
+        try {
+            PricingRule saved = pricingService.addRule(currentOwner(principal).getId(), rule);
+            return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        } catch (Exception e) {
+            return errorResponse("Failed to add pricing rule: " + e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/pricing-rules/{id}")
+    public ResponseEntity<?> deleteRule(@PathVariable Long id, Principal principal) {
+        try {
+            pricingService.deleteRule(currentOwner(principal).getId(), id);
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            return errorResponse("Failed to delete pricing rule: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/cooperative-members")
+    public ResponseEntity<?> getMembers(Principal principal) {
+        try {
+            return ResponseEntity.ok(pricingService.getMembers(currentOwner(principal).getId()));
+        } catch (Exception e) {
+            return errorResponse("Failed to fetch cooperative members: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/cooperative-members")
+    public ResponseEntity<?> addMember(@RequestBody Map<String, String> body, Principal principal) {
+        try {
+            return ResponseEntity.ok(pricingService.addMember(currentOwner(principal).getId(), body.get("email")));
+        } catch (Exception e) {
+            return errorResponse("Failed to add cooperative member: " + e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/cooperative-members/{farmerId}")
+    public ResponseEntity<?> removeMember(@PathVariable Long farmerId, Principal principal) {
+        try {
+            pricingService.removeMember(currentOwner(principal).getId(), farmerId);
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            return errorResponse("Failed to remove cooperative member: " + e.getMessage());
+        }
+    }
+}
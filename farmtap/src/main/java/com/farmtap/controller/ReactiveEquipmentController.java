@@ -0,0 +1,41 @@
+package com.farmtap.controller;
+
+import com.farmtap.dto.EquipmentDTO;
+import com.farmtap.reactive.ReactiveEquipmentReads;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+// Non-blocking twin of the EquipmentController reads: lists stream as newline-delimited JSON,
+// one EquipmentDTO per line, and the request thread is released while the database works.
+@RestController
+@RequestMapping("/api/reactive/equipment")
+@RequiredArgsConstructor
+public class ReactiveEquipmentController {
+
+    private final ReactiveEquipmentReads equipmentReads;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EquipmentDTO> getAvailableEquipment() {
+        return equipmentReads.available();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<?>> getEquipmentById(@PathVariable Long id) {
+        return equipmentReads.byId(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(e -> Mono.just(ResponseEntity.badRequest()
+                        .body(Map.of("error", "Error fetching equipment details: " + e.getMessage()))));
+    }
+
+    @GetMapping(value = "/owner/{ownerId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EquipmentDTO> getEquipmentByOwner(@PathVariable Long ownerId) {
+        return equipmentReads.byOwner(ownerId);
+    }
+}
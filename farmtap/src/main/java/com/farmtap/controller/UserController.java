@@ -1,12 +1,19 @@
 package com.farmtap.controller;
 
+import com.farmtap.dto.UserFilter;
 import com.farmtap.dto.UserUpdateDTO;
+import com.farmtap.model.Role;
 import com.farmtap.model.Users;
 import com.farmtap.service.UserService;
+import com.farmtap.storage.ImageService;
+import com.farmtap.storage.ImageStore;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.security.Principal;
+import java.time.LocalDate;
 import java.util.*;
 
 @RestController
@@ -14,9 +21,11 @@ import java.util.*;
 public class UserController {
 
     private final UserService userService;
+    private final ImageService imageService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ImageService imageService) {
         this.userService = userService;
+        this.imageService = imageService;
     }
 
     private ResponseEntity<Map<String, String>> errorResponse(String message) {
@@ -25,18 +34,43 @@ public class UserController {
         return ResponseEntity.badRequest().body(error);
     }
 
+    // Admin list: newest first, pages of `limit` users; pass the returned nextCursor as ?after= for the next page.
+    // Rows carry the summary columns unless ?fields= picks others.
     @GetMapping
-    public ResponseEntity<?> getAllUsers() {
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) Role role,
+                                         @RequestParam(required = false) String district,
+                                         @RequestParam(required = false) String state,
+                                         @RequestParam(required = false) String pincode,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+                                         @RequestParam(required = false) Long after,
+                                         @RequestParam(defaultValue = "50") int limit,
+                                         @RequestParam(required = false) List<String> fields) {
         try {
-            return ResponseEntity.ok(userService.getAllUsers());
+            UserFilter filter = new UserFilter(role, district, state, pincode, createdFrom, createdTo);
+            return ResponseEntity.ok(userService.listUsers(filter, after, limit, fields));
         } catch (Exception e) {
             return errorResponse("Failed to fetch users: " + e.getMessage());
         }
     }
 
+    @GetMapping("/count")
+    public ResponseEntity<?> countUsers() {
+        try {
+            return ResponseEntity.ok(userService.countUsers());
+        } catch (Exception e) {
+            return errorResponse("Failed to count users: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Users> getUserById(@PathVariable Long id) {
+    public ResponseEntity<?> getUserById(@PathVariable Long id, @RequestParam(required = false) List<String> fields) {
         try {
+            if (fields != null) {
+                Map<String, Object> user = userService.getUserFieldsById(id, fields)
+                        .orElseThrow(() -> new RuntimeException("User with ID " + id + " not found"));
+                return ResponseEntity.ok(user);
+            }
             Users user = userService.getUserById(id)
                     .orElseThrow(() -> new RuntimeException("User with ID " + id + " not found"));
             return ResponseEntity.ok(user);
@@ -70,11 +104,14 @@ public class UserController {
     }
 
     @GetMapping("/profile")
-    public ResponseEntity<?> getUserProfile(Principal principal) {
+    public ResponseEntity<?> getUserProfile(Principal principal, @RequestParam(required = false) List<String> fields) {
         try {
             if (principal == null) {
                 return ResponseEntity.status(401).body(Collections.singletonMap("error", "Unauthorized"));
             }
+            if (fields != null) {
+                return ResponseEntity.ok(userService.getProfileFields(principal.getName(), fields));
+            }
             Users user = userService.getProfileByUsername(principal.getName());
             return ResponseEntity.ok(user);
         } catch (Exception e) {
@@ -82,6 +119,20 @@ public class UserController {
         }
     }
 
+    @PostMapping("/profile/image")
+    public ResponseEntity<?> uploadProfileImage(Principal principal, @RequestParam("image") MultipartFile image) {
+        try {
+            if (principal == null) {
+                return ResponseEntity.status(401).body(Collections.singletonMap("error", "Unauthorized"));
+            }
+            ImageStore.StoredImage stored = imageService.upload(image);
+            Users updatedUser = userService.updateProfileImage(principal.getName(), ImageController.absoluteUrl(stored.key()));
+            return ResponseEntity.ok(updatedUser);
+        } catch (Exception e) {
+            return errorResponse("Failed to upload profile image: " + e.getMessage());
+        }
+    }
+
     @PutMapping("/profile")
     public ResponseEntity<?> updateUserProfile(Principal principal, @RequestBody UserUpdateDTO userUpdateDTO) {
         try {
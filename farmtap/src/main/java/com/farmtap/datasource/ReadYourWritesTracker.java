@@ -0,0 +1,61 @@
+package com.farmtap.datasource;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each authenticated user last opened a read-write connection so their
+ * reads can be pinned to the primary until the replicas have had time to catch up.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWrite = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void recordWrite() {
+        String user = currentUser();
+        if (user == null || windowNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        lastWrite.put(user, now);
+        if (lastWrite.size() > PURGE_THRESHOLD) {
+            lastWrite.values().removeIf(at -> now - at > windowNanos);
+        }
+    }
+
+    public boolean mustReadFromPrimary() {
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long at = lastWrite.get(user);
+        if (at == null) {
+            return false;
+        }
+        if (System.nanoTime() - at > windowNanos) {
+            lastWrite.remove(user, at);
+            return false;
+        }
+        return true;
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return auth.getName();
+    }
+}
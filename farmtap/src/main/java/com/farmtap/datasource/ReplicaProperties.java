@@ -0,0 +1,25 @@
+package com.farmtap.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// farmtap.datasource.replicas.* - read replicas used for @Transactional(readOnly = true) work
+@Data
+@ConfigurationProperties(prefix = "farmtap.datasource.replicas")
+public class ReplicaProperties {
+
+    private List<String> urls = new ArrayList<>();
+
+    // Default to the primary's credentials when not set
+    private String username;
+    private String password;
+
+    private int maximumPoolSize = 10;
+
+    // After a user writes, their reads stay on the primary for this long
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
@@ -0,0 +1,21 @@
+package com.farmtap.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// One replayed audit record, as returned by the /history endpoints
+@Data
+@AllArgsConstructor
+public class AuditEntryDTO {
+    private long sequence;
+    private Instant at;
+    private String action;
+    private String from;
+    private String to;
+    private Long actorId;
+    private Long relatedId;
+    private BigDecimal amount;
+}
@@ -0,0 +1,15 @@
+package com.farmtap.dto;
+
+import com.farmtap.model.BookingInboxEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+// One page of the caller's bookings, newest first; pass nextCursor back as ?before= (null on the last page)
+@Data
+@AllArgsConstructor
+public class BookingInboxPageDTO {
+    private List<BookingInboxEntry> items;
+    private Long nextCursor;
+}
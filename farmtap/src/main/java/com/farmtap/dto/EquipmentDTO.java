@@ -1,20 +1,27 @@
 package com.farmtap.dto;
 
 import com.farmtap.model.Equipment;
+import com.farmtap.storage.ImageUrls;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
 
 @Data
+@NoArgsConstructor
 public class EquipmentDTO {
     private Long id;
     private String name;
     private String type;
     private String description;
-    private Double rentalPricePerDay;
+    private BigDecimal rentalPricePerDay;
     private Boolean isAvailable;
     private String location;
     private String imageUrl;
+    private String thumbnailUrl; // what list cards should load
     private Long ownerId;
     private String ownerName;
+    private String region; // the owner's normalised state; lets the stale listing be filtered by region
 
     public EquipmentDTO(Equipment equipment) {
         this.id = equipment.getId();
@@ -25,7 +32,9 @@ public class EquipmentDTO {
         this.isAvailable = equipment.getIsAvailable();
         this.location = equipment.getLocation();
         this.imageUrl = equipment.getImageUrl();
+        this.thumbnailUrl = ImageUrls.thumbnailFor(equipment.getImageUrl());
         this.ownerId = equipment.getOwner() != null ? equipment.getOwner().getId() : null;
         this.ownerName = equipment.getOwner() != null ? equipment.getOwner().getName() : null;
+        this.region = equipment.getRegion();
     }
 }
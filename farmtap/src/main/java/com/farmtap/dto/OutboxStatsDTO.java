@@ -0,0 +1,22 @@
+package com.farmtap.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Outbox backlog and parked rows (from the table) and this instance's delivery counters since startup
+@Data
+@AllArgsConstructor
+public class OutboxStatsDTO {
+    private long pending;
+    private long oldestPendingAgeMillis;
+    private long delivered;
+    private long failures;
+    private long parked;
+    // Parked rows in the table, from any instance, waiting for someone to look at them
+    private long parkedEvents;
+    private long lastLagMillis;
+    private long maxLagMillis;
+    private LocalDateTime lastDeliveredAt;
+}
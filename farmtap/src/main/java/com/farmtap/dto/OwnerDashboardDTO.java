@@ -0,0 +1,40 @@
+package com.farmtap.dto;
+
+import com.farmtap.model.StatsCounters;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Owner earnings / utilization dashboard, answered from the daily rollup tables.
+@Data
+@AllArgsConstructor
+public class OwnerDashboardDTO {
+
+    private Long ownerId;
+    private LocalDate from;
+    private LocalDate to;
+    private StatsCounters totals;
+    private Double approvalRate;
+    private List<MonthSummary> months;
+    private List<EquipmentSummary> equipment;
+
+    @Data
+    @AllArgsConstructor
+    public static class MonthSummary {
+        private String month; // yyyy-MM
+        private StatsCounters counters;
+        private Double approvalRate;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class EquipmentSummary {
+        private Long equipmentId;
+        private String name;
+        private StatsCounters counters;
+        private double utilization; // approved days / days in the window
+        private Double approvalRate;
+    }
+}
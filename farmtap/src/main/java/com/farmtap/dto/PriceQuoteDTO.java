@@ -0,0 +1,27 @@
+package com.farmtap.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Price for a prospective booking, as returned by GET /api/bookings/quote.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceQuoteDTO {
+    private Long equipmentId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private long days;
+    private BigDecimal rentalPricePerDay;
+    private BigDecimal baseTotal;          // days * rentalPricePerDay
+    private BigDecimal dailyAdjustments;   // seasonal + weekend, already included below
+    private BigDecimal longRentalPercent;  // null when no long-rental rule applied
+    private BigDecimal memberPercent;      // null when the farmer is not a cooperative member
+    private BigDecimal totalPrice;
+}
@@ -0,0 +1,12 @@
+package com.farmtap.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// One typeahead completion and how many records use it
+@Data
+@AllArgsConstructor
+public class SuggestionDTO {
+    private String text;
+    private long count;
+}
@@ -0,0 +1,13 @@
+package com.farmtap.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class UserCountDTO {
+    private long total;
+    private Map<String, Long> byRole;
+}
@@ -0,0 +1,19 @@
+package com.farmtap.dto;
+
+import com.farmtap.model.Role;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+// Admin user list filters; null means "any". createdTo is inclusive.
+@Data
+@AllArgsConstructor
+public class UserFilter {
+    private Role role;
+    private String district;
+    private String state;
+    private String pincode;
+    private LocalDate createdFrom;
+    private LocalDate createdTo;
+}
@@ -0,0 +1,15 @@
+package com.farmtap.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+// One keyset page of users, newest first; pass nextCursor back as ?after= (null on the last page)
+@Data
+@AllArgsConstructor
+public class UserPageDTO {
+    private List<Map<String, Object>> items;
+    private Long nextCursor;
+}
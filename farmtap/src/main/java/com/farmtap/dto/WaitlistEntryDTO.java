@@ -0,0 +1,28 @@
+package com.farmtap.dto;
+
+import com.farmtap.model.WaitlistEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// A waitlist request: either still waiting at position, or booked straight away (bookingId set)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntryDTO {
+    private Long id;
+    private Long equipmentId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDateTime requestedAt;
+    private Integer position;
+    private Long bookingId;
+
+    public WaitlistEntryDTO(WaitlistEntry entry, int position) {
+        this(entry.getId(), entry.getEquipmentId(), entry.getStartDate(), entry.getEndDate(),
+                entry.getRequestedAt(), position, null);
+    }
+}
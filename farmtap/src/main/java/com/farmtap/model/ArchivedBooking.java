@@ -0,0 +1,47 @@
+package com.farmtap.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// A booking moved out of the hot table by BookingArchiveService; read-only from the app's side
+@Entity
+@Table(name = "booking_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedBooking {
+
+    @Id
+    private Long id; // the original booking id
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Column(precision = 12, scale = 2)
+    private BigDecimal totalPrice;
+
+    @Enumerated(EnumType.STRING)
+    private BookingStatus status;
+
+    private LocalDateTime createdAt;
+
+    @ManyToOne
+    @JoinColumn(name = "equipment_id")
+    private Equipment equipment;
+
+    @ManyToOne
+    @JoinColumn(name = "farmer_id")
+    private Users farmer;
+
+    private LocalDateTime archivedAt;
+
+    // Same JSON shape as a live booking, flagged as archived
+    public Booking toBooking() {
+        return new Booking(id, startDate, endDate, totalPrice, status, createdAt, equipment, farmer,
+                equipment != null ? equipment.getRegion() : null, true);
+    }
+}
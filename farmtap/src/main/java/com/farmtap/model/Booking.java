@@ -1,7 +1,9 @@
 package com.farmtap.model;
 
+import com.farmtap.region.Regions;
 import jakarta.persistence.*;
 import lombok.*;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -19,7 +21,8 @@ public class Booking {
     private LocalDate startDate;
     private LocalDate endDate;
 
-    private Double totalPrice;
+    @Column(precision = 12, scale = 2)
+    private BigDecimal totalPrice;
 
     @Enumerated(EnumType.STRING)
     private BookingStatus status = BookingStatus.PENDING;
@@ -33,4 +36,18 @@ public class Booking {
     @ManyToOne
     @JoinColumn(name = "farmer_id")
     private Users farmer;
+
+    // Always the equipment's region: the partition the booking lives in on PostgreSQL
+    private String region;
+
+    // Set on bookings read back from booking_archive
+    @Transient
+    private boolean archived;
+
+    @PrePersist
+    protected void assignRegion() {
+        if (region == null) {
+            region = equipment != null && equipment.getRegion() != null ? equipment.getRegion() : Regions.UNASSIGNED;
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package com.farmtap.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One booking as it appears in a participant's "my bookings" list (see BookingInboxService)
+@Entity
+@Table(name = "booking_inbox")
+@IdClass(BookingInboxEntry.Key.class)
+@Data
+@NoArgsConstructor
+public class BookingInboxEntry {
+
+    @Id
+    @JsonIgnore
+    private Long userId;
+
+    @Id
+    @JsonProperty("id")
+    private Long bookingId;
+
+    private Long equipmentId;
+    private String equipmentName;
+    private Long farmerId;
+    private String farmerName;
+    private Long ownerId;
+    private String ownerName;
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Column(precision = 12, scale = 2)
+    private BigDecimal totalPrice;
+
+    @Enumerated(EnumType.STRING)
+    private BookingStatus status;
+
+    private LocalDateTime createdAt;
+
+    public BookingInboxEntry(Long userId, Booking booking) {
+        Equipment equipment = booking.getEquipment();
+        Users farmer = booking.getFarmer();
+        Users owner = equipment.getOwner();
+        this.userId = userId;
+        this.bookingId = booking.getId();
+        this.equipmentId = equipment.getId();
+        this.equipmentName = equipment.getName();
+        this.farmerId = farmer == null ? null : farmer.getId();
+        this.farmerName = farmer == null ? null : farmer.getName();
+        this.ownerId = owner == null ? null : owner.getId();
+        this.ownerName = owner == null ? null : owner.getName();
+        this.startDate = booking.getStartDate();
+        this.endDate = booking.getEndDate();
+        this.totalPrice = booking.getTotalPrice();
+        this.status = booking.getStatus();
+        this.createdAt = booking.getCreatedAt();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Long bookingId;
+    }
+}
@@ -0,0 +1,21 @@
+package com.farmtap.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// A farmer who gets the owner's MEMBER pricing.
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CooperativeMember {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long ownerId;
+
+    private Long farmerId;
+}
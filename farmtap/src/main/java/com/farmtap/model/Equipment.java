@@ -1,7 +1,9 @@
 package com.farmtap.model;
 
+import com.farmtap.region.Regions;
 import jakarta.persistence.*;
 import lombok.*;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
@@ -21,7 +23,8 @@ public class Equipment {
 
     private String description;
 
-    private Double rentalPricePerDay;
+    @Column(precision = 12, scale = 2)
+    private BigDecimal rentalPricePerDay;
 
     private Boolean isAvailable = true;
 
@@ -34,4 +37,12 @@ public class Equipment {
     @ManyToOne
     @JoinColumn(name = "owner_id")
     private Users owner;
+
+    // The owner's region; moved along with the owner by EquipmentService.ownerMoved
+    private String region;
+
+    @PrePersist
+    protected void assignRegion() {
+        region = Regions.of(owner != null ? owner.getState() : null);
+    }
 }
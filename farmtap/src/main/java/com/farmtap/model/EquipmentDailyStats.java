@@ -0,0 +1,28 @@
+package com.farmtap.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Pre-aggregated bookings for one piece of equipment, bucketed by booking start date.
+@Entity
+@Table(name = "equipment_daily_stats")
+@Data
+@NoArgsConstructor
+public class EquipmentDailyStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long equipmentId;
+
+    private Long ownerId;
+
+    private LocalDate statDate;
+
+    @Embedded
+    private StatsCounters counters = new StatsCounters();
+}
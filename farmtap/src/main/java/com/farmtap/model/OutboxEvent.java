@@ -0,0 +1,44 @@
+package com.farmtap.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// A pending (processedAt and parkedAt both null), delivered or parked event. Rows that exhausted
+// their retries are parked with lastError kept for inspection; they are never purged.
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String aggregateType;
+
+    // Events are delivered in id order per aggregate
+    private Long aggregateId;
+
+    private String eventType;
+
+    @Column(length = 4000)
+    private String payload;
+
+    private LocalDateTime createdAt;
+
+    // Not delivered before this; pushed back after each failed attempt
+    private LocalDateTime availableAt;
+
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime processedAt;
+
+    private LocalDateTime parkedAt;
+}
@@ -0,0 +1,26 @@
+package com.farmtap.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Pre-aggregated bookings across all of an owner's equipment, bucketed by booking start date.
+@Entity
+@Table(name = "owner_daily_stats")
+@Data
+@NoArgsConstructor
+public class OwnerDailyStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long ownerId;
+
+    private LocalDate statDate;
+
+    @Embedded
+    private StatsCounters counters = new StatsCounters();
+}
@@ -0,0 +1,39 @@
+package com.farmtap.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// An owner's pricing rule. equipmentId == null applies it to all of the owner's equipment;
+// an equipment-specific rule replaces the owner-wide rules of the same type.
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PricingRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long ownerId;
+
+    private Long equipmentId;
+
+    @Enumerated(EnumType.STRING)
+    private PricingRuleType type;
+
+    // Signed: +20 is a 20% surcharge, -10 a 10% discount
+    @Column(precision = 7, scale = 2)
+    private BigDecimal adjustmentPercent;
+
+    private String seasonStart; // MM-dd, SEASONAL only
+    private String seasonEnd;   // MM-dd, SEASONAL only
+
+    private Integer minDays;    // LONG_RENTAL only
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,8 @@
+package com.farmtap.model;
+
+public enum PricingRuleType {
+    SEASONAL,       // per-day adjustment between seasonStart and seasonEnd (MM-dd, may wrap the year)
+    WEEKEND,        // per-day adjustment on Saturdays and Sundays
+    LONG_RENTAL,    // whole-booking adjustment once the rental reaches minDays
+    MEMBER          // whole-booking adjustment for the owner's cooperative members
+}
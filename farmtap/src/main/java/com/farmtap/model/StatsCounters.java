@@ -0,0 +1,68 @@
+package com.farmtap.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+// Additive booking counters shared by the per-owner and per-equipment daily rollups.
+// Also used as the delta applied to a rollup row when a booking changes.
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatsCounters {
+
+    private long bookingCount;
+    private long bookedDays;
+    @Column(precision = 14, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+    private long pendingCount;
+    private long approvedCount;
+    private long rejectedCount;
+    private long approvedDays;
+    @Column(precision = 14, scale = 2)
+    private BigDecimal approvedRevenue = BigDecimal.ZERO;
+
+    // What a single booking in the given status contributes to its rollup rows
+    public static StatsCounters of(Booking booking, BookingStatus status) {
+        return of(booking.getStartDate(), booking.getEndDate(), booking.getTotalPrice(), status);
+    }
+
+    public static StatsCounters of(LocalDate startDate, LocalDate endDate, BigDecimal totalPrice, BookingStatus status) {
+        long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        BigDecimal price = totalPrice != null ? totalPrice : BigDecimal.ZERO;
+        boolean approved = status == BookingStatus.APPROVED;
+        return new StatsCounters(
+                1,
+                days,
+                price,
+                status == BookingStatus.PENDING ? 1 : 0,
+                approved ? 1 : 0,
+                status == BookingStatus.REJECTED ? 1 : 0,
+                approved ? days : 0,
+                approved ? price : BigDecimal.ZERO);
+    }
+
+    public StatsCounters plus(StatsCounters other) {
+        return new StatsCounters(
+                bookingCount + other.bookingCount,
+                bookedDays + other.bookedDays,
+                revenue.add(other.revenue),
+                pendingCount + other.pendingCount,
+                approvedCount + other.approvedCount,
+                rejectedCount + other.rejectedCount,
+                approvedDays + other.approvedDays,
+                approvedRevenue.add(other.approvedRevenue));
+    }
+
+    public StatsCounters negate() {
+        return new StatsCounters(-bookingCount, -bookedDays, revenue.negate(), -pendingCount,
+                -approvedCount, -rejectedCount, -approvedDays, approvedRevenue.negate());
+    }
+}
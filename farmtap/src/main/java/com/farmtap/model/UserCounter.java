@@ -0,0 +1,18 @@
+package com.farmtap.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+// Registered users per role, kept up to date by UserService so counting never scans users
+@Entity
+@Table(name = "user_counter")
+@Data
+public class UserCounter {
+
+    @Id
+    private String role;
+
+    private long total;
+}
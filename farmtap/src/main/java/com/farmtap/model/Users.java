@@ -1,5 +1,7 @@
 package com.farmtap.model;
 
+import com.farmtap.storage.ImageUrls;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.springframework.security.core.GrantedAuthority;
@@ -20,6 +22,7 @@ public class Users implements UserDetails {
 
     private String name;
     private String email;
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY) // accepted on create, never echoed back
     private String password;
 
     @Enumerated(EnumType.STRING)
@@ -46,6 +49,10 @@ public class Users implements UserDetails {
         updatedAt = LocalDateTime.now();
     }
 
+    public String getProfileThumbnailUrl() {
+        return ImageUrls.thumbnailFor(profileImageUrl);
+    }
+
     // ====== Spring Security UserDetails Methods ======
 
     @Override
@@ -0,0 +1,30 @@
+package com.farmtap.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// A farmer waiting for equipment that is booked over these dates; served in requestedAt order
+@Entity
+@Table(name = "waitlist_entry")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long equipmentId;
+
+    private Long farmerId;
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    private LocalDateTime requestedAt;
+}
@@ -0,0 +1,42 @@
+package com.farmtap.outbox;
+
+import com.farmtap.model.Booking;
+import com.farmtap.model.BookingStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of a booking at the moment it changed. Handlers must not need to load the booking:
+ * by the time a DELETED event is delivered the row is gone.
+ */
+public record BookingEvent(
+        BookingEventType type,
+        Long bookingId,
+        Long equipmentId,
+        Long ownerId,
+        Long farmerId,
+        LocalDate startDate,
+        LocalDate endDate,
+        BigDecimal totalPrice,
+        BookingStatus status,
+        BookingStatus previousStatus, // STATUS_CHANGED only
+        LocalDateTime occurredAt) {
+
+    public static BookingEvent of(BookingEventType type, Booking booking, BookingStatus previousStatus) {
+        var equipment = booking.getEquipment();
+        return new BookingEvent(
+                type,
+                booking.getId(),
+                equipment != null ? equipment.getId() : null,
+                equipment != null && equipment.getOwner() != null ? equipment.getOwner().getId() : null,
+                booking.getFarmer() != null ? booking.getFarmer().getId() : null,
+                booking.getStartDate(),
+                booking.getEndDate(),
+                booking.getTotalPrice(),
+                booking.getStatus() != null ? booking.getStatus() : BookingStatus.PENDING,
+                previousStatus,
+                LocalDateTime.now());
+    }
+}
@@ -0,0 +1,15 @@
+package com.farmtap.outbox;
+
+/**
+ * Receives booking lifecycle events from {@link OutboxDispatcher}.
+ *
+ * Delivery is at-least-once and in order per booking. Each event is handled in its own
+ * transaction together with marking it delivered, so database work done here commits exactly
+ * once; anything outside the database (push notifications, remote calls) must tolerate
+ * redelivery. Throwing makes the dispatcher retry the event later and hold back the booking's
+ * later events until it succeeds.
+ */
+public interface BookingEventHandler {
+
+    void handle(BookingEvent event);
+}
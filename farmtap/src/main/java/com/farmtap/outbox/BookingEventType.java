@@ -0,0 +1,7 @@
+package com.farmtap.outbox;
+
+public enum BookingEventType {
+    CREATED,
+    STATUS_CHANGED,
+    DELETED
+}
@@ -0,0 +1,194 @@
+package com.farmtap.outbox;
+
+import com.farmtap.dto.OutboxStatsDTO;
+import com.farmtap.model.OutboxEvent;
+import com.farmtap.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox to the {@link BookingEventHandler}s.
+ *
+ * Due ids are read in batches, skipping events in retry backoff and the later events of their
+ * bookings; each event is then locked, handled and marked delivered in its own transaction.
+ * Walking the batch in id order and holding back a booking as soon as one of its events can't be
+ * delivered keeps delivery ordered per booking, also when several instances drain the same table
+ * (they block on the row lock and skip what the other delivered).
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<BookingEventHandler> handlers;
+    private final OutboxProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong parked = new AtomicLong();
+    private volatile long lastLagMillis;
+    private volatile long maxLagMillis;
+    private volatile LocalDateTime lastDeliveredAt;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            List<BookingEventHandler> handlers,
+                            OutboxProperties properties,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlers = handlers;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${farmtap.outbox.poll-interval:500ms}",
+            initialDelayString = "${farmtap.outbox.poll-interval:500ms}")
+    public void poll() {
+        // Keep going while full batches are delivered, then back off until the next poll
+        int delivered;
+        do {
+            delivered = drain();
+        } while (delivered >= properties.getBatchSize());
+    }
+
+    // Runs one batch; returns how many events were delivered
+    public int drain() {
+        List<Long> ids = outboxEventRepository.findDueIds(LocalDateTime.now(), Limit.of(properties.getBatchSize()));
+        Set<Long> heldBack = new HashSet<>();
+        int count = 0;
+        for (Long id : ids) {
+            Outcome outcome = deliver(id, heldBack);
+            if (outcome == Outcome.DELIVERED) {
+                count++;
+            } else if (outcome == Outcome.ABORTED) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    private enum Outcome { DELIVERED, FAILED, SKIPPED, ABORTED }
+
+    private Outcome deliver(Long id, Set<Long> heldBack) {
+        OutboxEvent[] current = new OutboxEvent[1];
+        try {
+            Outcome outcome = transactionTemplate.execute(status -> {
+                OutboxEvent event = outboxEventRepository.lockById(id).orElse(null);
+                // Delivered (and possibly purged) or parked by another instance while we waited for the lock
+                if (event == null || event.getProcessedAt() != null || event.getParkedAt() != null) {
+                    return Outcome.SKIPPED;
+                }
+                if (heldBack.contains(event.getAggregateId())
+                        || event.getAvailableAt().isAfter(LocalDateTime.now())) {
+                    heldBack.add(event.getAggregateId());
+                    return Outcome.SKIPPED;
+                }
+                current[0] = event;
+                BookingEvent payload = read(event);
+                for (BookingEventHandler handler : handlers) {
+                    handler.handle(payload);
+                }
+                LocalDateTime now = LocalDateTime.now();
+                event.setProcessedAt(now);
+                recordLag(event, now);
+                return Outcome.DELIVERED;
+            });
+            if (outcome == Outcome.DELIVERED) {
+                delivered.incrementAndGet();
+            }
+            return outcome;
+        } catch (RuntimeException e) {
+            if (current[0] == null) {
+                // Couldn't even lock the row; we don't know which booking it belongs to, so
+                // stop here rather than risk delivering that booking's later events first
+                log.warn("Could not lock outbox event {}, ending batch", id, e);
+                return Outcome.ABORTED;
+            }
+            failures.incrementAndGet();
+            heldBack.add(current[0].getAggregateId());
+            recordFailure(current[0], e);
+            return Outcome.FAILED;
+        }
+    }
+
+    private BookingEvent read(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), BookingEvent.class);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable payload for outbox event " + event.getId(), e);
+        }
+    }
+
+    private void recordFailure(OutboxEvent event, RuntimeException e) {
+        int attempts = event.getAttempts() + 1;
+        LocalDateTime now = LocalDateTime.now();
+        boolean park = attempts >= properties.getMaxAttempts();
+        String message = String.valueOf(e.getMessage());
+        if (message.length() > 1000) {
+            message = message.substring(0, 1000);
+        }
+        if (park) {
+            parked.incrementAndGet();
+            log.error("Parking outbox event {} ({} for booking {}) after {} attempts",
+                    event.getId(), event.getEventType(), event.getAggregateId(), attempts, e);
+        } else {
+            log.warn("Outbox event {} ({} for booking {}) failed, attempt {}: {}",
+                    event.getId(), event.getEventType(), event.getAggregateId(), attempts, message);
+        }
+        String error = message;
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.recordFailure(
+                event.getId(),
+                error,
+                now.plus(properties.getRetryBackoff().multipliedBy(attempts)),
+                park ? now : null));
+    }
+
+    private void recordLag(OutboxEvent event, LocalDateTime now) {
+        long lag = Duration.between(event.getCreatedAt(), now).toMillis();
+        lastLagMillis = lag;
+        if (lag > maxLagMillis) {
+            maxLagMillis = lag;
+        }
+        lastDeliveredAt = now;
+    }
+
+    @Scheduled(cron = "${farmtap.outbox.purge-cron:0 17 * * * *}")
+    public void purgeDelivered() {
+        LocalDateTime before = LocalDateTime.now().minus(properties.getRetention());
+        Integer purged = transactionTemplate.execute(status -> outboxEventRepository.deleteProcessedBefore(before));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} delivered outbox events", purged);
+        }
+    }
+
+    public OutboxStatsDTO stats() {
+        LocalDateTime oldest = outboxEventRepository.findOldestPendingCreatedAt();
+        return new OutboxStatsDTO(
+                outboxEventRepository.countByProcessedAtIsNullAndParkedAtIsNull(),
+                oldest != null ? Duration.between(oldest, LocalDateTime.now()).toMillis() : 0,
+                delivered.get(),
+                failures.get(),
+                parked.get(),
+                outboxEventRepository.countByParkedAtIsNotNull(),
+                lastLagMillis,
+                maxLagMillis,
+                lastDeliveredAt);
+    }
+}
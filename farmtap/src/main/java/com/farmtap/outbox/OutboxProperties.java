@@ -0,0 +1,26 @@
+package com.farmtap.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// farmtap.outbox.* - tuning for the booking event dispatcher
+@Data
+@ConfigurationProperties(prefix = "farmtap.outbox")
+public class OutboxProperties {
+
+    // How long the dispatcher sleeps when the outbox is drained
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    private int batchSize = 100;
+
+    // A failed event waits attempts * retryBackoff before it is tried again
+    private Duration retryBackoff = Duration.ofSeconds(5);
+
+    // After this many failures the event is parked (parkedAt set, lastError kept)
+    private int maxAttempts = 10;
+
+    // Delivered events are purged after this long
+    private Duration retention = Duration.ofDays(7);
+}
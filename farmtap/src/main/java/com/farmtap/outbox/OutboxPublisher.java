@@ -0,0 +1,39 @@
+package com.farmtap.outbox;
+
+import com.farmtap.model.OutboxEvent;
+import com.farmtap.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// The only thing the booking write path pays for: one insert in the caller's transaction
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    static final String BOOKING = "Booking";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(BookingEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize booking event", e);
+        }
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType(BOOKING)
+                .aggregateId(event.bookingId())
+                .eventType(event.type().name())
+                .payload(payload)
+                .createdAt(event.occurredAt())
+                .availableAt(event.occurredAt())
+                .build());
+    }
+}
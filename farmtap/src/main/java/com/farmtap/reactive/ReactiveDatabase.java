@@ -0,0 +1,34 @@
+package com.farmtap.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * The R2DBC pool behind the reactive reads. Deliberately not registered as a ConnectionFactory
+ * bean: Boot's DataSourceAutoConfiguration backs off when one exists, which would take the JPA
+ * side down with it.
+ */
+public class ReactiveDatabase implements DisposableBean {
+
+    private final ConnectionPool pool;
+    private final DatabaseClient client;
+
+    ReactiveDatabase(ConnectionPool pool) {
+        this.pool = pool;
+        this.client = DatabaseClient.create(pool);
+    }
+
+    public DatabaseClient client() {
+        return client;
+    }
+
+    public ConnectionPool pool() {
+        return pool;
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+}
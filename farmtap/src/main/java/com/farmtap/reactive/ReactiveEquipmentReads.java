@@ -0,0 +1,68 @@
+package com.farmtap.reactive;
+
+import com.farmtap.dto.EquipmentDTO;
+import com.farmtap.storage.ImageUrls;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Equipment browse queries over R2DBC, emitting EquipmentDTOs row by row. Rows are fetched
+ * fetch-size at a time as the subscriber asks for them, so a slow client holds back the query
+ * instead of the whole listing being materialized, and no thread waits on the database meanwhile.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReactiveEquipmentReads {
+
+    private static final String SELECT = "SELECT e.id, e.name, e.type, e.description, e.rental_price_per_day, " +
+            "e.is_available, e.location, e.image_url, e.owner_id, u.name AS owner_name, e.region " +
+            "FROM equipment e LEFT JOIN users u ON u.id = e.owner_id ";
+
+    private final ReactiveDatabase database;
+    private final ReactiveReadProperties properties;
+
+    public Flux<EquipmentDTO> available() {
+        return database.client().sql(SELECT + "WHERE e.is_available = TRUE ORDER BY e.id")
+                .filter(statement -> statement.fetchSize(properties.getFetchSize()))
+                .map(ReactiveEquipmentReads::toDto)
+                .all();
+    }
+
+    public Flux<EquipmentDTO> byOwner(Long ownerId) {
+        return database.client().sql(SELECT + "WHERE e.owner_id = :ownerId ORDER BY e.id")
+                .bind("ownerId", ownerId)
+                .filter(statement -> statement.fetchSize(properties.getFetchSize()))
+                .map(ReactiveEquipmentReads::toDto)
+                .all();
+    }
+
+    public Mono<EquipmentDTO> byId(Long id) {
+        return database.client().sql(SELECT + "WHERE e.id = :id")
+                .bind("id", id)
+                .map(ReactiveEquipmentReads::toDto)
+                .one();
+    }
+
+    // Same shape as new EquipmentDTO(equipment) on the JPA side
+    private static EquipmentDTO toDto(Readable row) {
+        EquipmentDTO dto = new EquipmentDTO();
+        dto.setId(row.get("id", Long.class));
+        dto.setName(row.get("name", String.class));
+        dto.setType(row.get("type", String.class));
+        dto.setDescription(row.get("description", String.class));
+        dto.setRentalPricePerDay(row.get("rental_price_per_day", BigDecimal.class));
+        dto.setIsAvailable(row.get("is_available", Boolean.class));
+        dto.setLocation(row.get("location", String.class));
+        dto.setImageUrl(row.get("image_url", String.class));
+        dto.setThumbnailUrl(ImageUrls.thumbnailFor(dto.getImageUrl()));
+        dto.setOwnerId(row.get("owner_id", Long.class));
+        dto.setOwnerName(row.get("owner_name", String.class));
+        dto.setRegion(row.get("region", String.class));
+        return dto;
+    }
+}
@@ -0,0 +1,82 @@
+package com.farmtap.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * R2DBC connection pool for the non-blocking equipment reads. It sits beside the JDBC pool
+ * rather than replacing it: JPA keeps every write and transaction, so Boot's R2DBC
+ * auto-configuration (and its reactive transaction manager) stays excluded in FarmtapApplication.
+ */
+@Configuration
+@EnableConfigurationProperties(ReactiveReadProperties.class)
+public class ReactiveReadConfig implements WebMvcConfigurer {
+
+    public static final String STREAM_EXECUTOR = "reactiveStreamExecutor";
+
+    private final ReactiveReadProperties properties;
+
+    public ReactiveReadConfig(ReactiveReadProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    public ReactiveDatabase reactiveDatabase(ReactiveReadProperties properties, DataSourceProperties dataSource) {
+        String url = properties.getUrl() != null ? properties.getUrl() : r2dbcUrl(dataSource.determineUrl());
+        String username = properties.getUsername() != null ? properties.getUsername() : dataSource.determineUsername();
+        String password = properties.getPassword() != null ? properties.getPassword() : dataSource.determinePassword();
+
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (username != null) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (password != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        return new ReactiveDatabase(new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name("farmtap-reactive")
+                .initialSize(0)
+                .maxSize(properties.getPoolSize())
+                .maxAcquireTime(properties.getMaxAcquireTime())
+                .build()));
+    }
+
+    // Spring MVC hands every element of a streamed Flux to its async executor. The thumbnail pool
+    // keeps Boot from defining applicationTaskExecutor, which would leave MVC on a thread per element.
+    @Bean(name = STREAM_EXECUTOR)
+    public ThreadPoolTaskExecutor reactiveStreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("mvc-stream-");
+        executor.setCorePoolSize(properties.getStreamThreads());
+        executor.setMaxPoolSize(properties.getStreamThreads());
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(reactiveStreamExecutor());
+    }
+
+    // jdbc:postgresql://host/db -> r2dbc:postgresql://host/db, jdbc:h2:mem:name;A=B -> r2dbc:h2:mem:///name?options=A=B
+    static String r2dbcUrl(String jdbcUrl) {
+        if (jdbcUrl.startsWith("jdbc:postgresql:")) {
+            return "r2dbc:" + jdbcUrl.substring("jdbc:".length());
+        }
+        if (jdbcUrl.startsWith("jdbc:h2:mem:")) {
+            String rest = jdbcUrl.substring("jdbc:h2:mem:".length());
+            int options = rest.indexOf(';');
+            return options < 0 ? "r2dbc:h2:mem:///" + rest
+                    : "r2dbc:h2:mem:///" + rest.substring(0, options) + "?options=" + rest.substring(options + 1);
+        }
+        throw new IllegalStateException("Cannot derive an R2DBC URL from " + jdbcUrl + "; set farmtap.reactive.url");
+    }
+}
@@ -0,0 +1,23 @@
+package com.farmtap.reactive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("farmtap.reactive")
+public class ReactiveReadProperties {
+
+    // R2DBC URL of the database to read from; unset derives it from spring.datasource.url
+    private String url;
+    // Defaults to spring.datasource.username / password
+    private String username;
+    private String password;
+    private int poolSize = 10;
+    private Duration maxAcquireTime = Duration.ofSeconds(3);
+    // Rows per round trip while streaming; the next batch is fetched only once the client keeps up
+    private int fetchSize = 100;
+    // Threads writing streamed rows to clients; they never wait on the database
+    private int streamThreads = 8;
+}
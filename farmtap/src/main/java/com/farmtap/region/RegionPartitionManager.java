@@ -0,0 +1,135 @@
+package com.farmtap.region;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps one booking partition per region once V12 has partitioned booking (PostgreSQL only).
+ * Bookings for a region without a partition of its own land in booking_default; at startup and
+ * nightly their rows are moved into a new partition, and empty partitions are created ahead of
+ * time for every region users have registered from. Does nothing where booking is a plain table.
+ */
+@Component
+public class RegionPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(RegionPartitionManager.class);
+
+    static final String DEFAULT_PARTITION = "booking_default";
+    // Serializes splits across instances; any constant unlikely to collide with other advisory locks
+    private static final long SPLIT_LOCK = 0x6661726d7461704cL;
+    private static final Pattern QUOTED = Pattern.compile("'((?:[^']|'')*)'");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public RegionPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${farmtap.region.partition-cron:0 15 3 * * *}")
+    public void maintain() {
+        try {
+            List<String> created = ensurePartitions();
+            if (!created.isEmpty()) {
+                log.info("Created booking partitions for regions {}", created);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Booking partition maintenance failed; new regions stay in {}", DEFAULT_PARTITION, e);
+        }
+    }
+
+    // Returns the regions that got a partition
+    public List<String> ensurePartitions() {
+        if (!isPartitioned()) {
+            return List.of();
+        }
+        Set<String> wanted = new TreeSet<>(jdbcTemplate.queryForList(
+                "SELECT DISTINCT region FROM " + DEFAULT_PARTITION, String.class));
+        wanted.addAll(jdbcTemplate.queryForList(
+                "SELECT DISTINCT COALESCE(NULLIF(LOWER(TRIM(state)), ''), '" + Regions.UNASSIGNED + "') FROM users",
+                String.class));
+        wanted.removeAll(partitionedRegions());
+
+        List<String> created = new ArrayList<>();
+        for (String region : wanted) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> split(region)))) {
+                created.add(region);
+            }
+        }
+        return created;
+    }
+
+    public boolean isPartitioned() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            return false;
+        }
+        return "p".equals(jdbcTemplate.queryForObject(
+                "SELECT relkind::text FROM pg_class WHERE oid = to_regclass('booking')", String.class));
+    }
+
+    // Regions with a partition of their own, read from the partition bounds rather than table names
+    Set<String> partitionedRegions() {
+        Set<String> regions = new HashSet<>();
+        for (String bound : jdbcTemplate.queryForList("SELECT pg_get_expr(c.relpartbound, c.oid) " +
+                "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = 'booking'::regclass", String.class)) {
+            Matcher values = QUOTED.matcher(bound);
+            while (values.find()) {
+                regions.add(values.group(1).replace("''", "'"));
+            }
+        }
+        return regions;
+    }
+
+    /**
+     * Moves the region's rows out of the default partition into a new table and attaches it, all in
+     * one transaction: ATTACH refuses a region the default partition still holds rows for, so the
+     * rows are moved first. Only the default partition is locked while this runs.
+     */
+    private boolean split(String region) {
+        jdbcTemplate.queryForObject("SELECT 1 FROM (SELECT pg_advisory_xact_lock(?)) l", Integer.class, SPLIT_LOCK);
+        if (partitionedRegions().contains(region)) {
+            return false; // another instance got there first
+        }
+        String table = partitionName(region);
+        jdbcTemplate.execute("CREATE TABLE " + table + " (LIKE booking INCLUDING DEFAULTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION +
+                " WHERE region = ? RETURNING *) INSERT INTO " + table + " SELECT * FROM moved", region);
+        jdbcTemplate.execute("ALTER TABLE booking ATTACH PARTITION " + table +
+                " FOR VALUES IN ('" + region.replace("'", "''") + "')");
+        log.debug("Attached {} for region '{}' with {} bookings from {}", table, region, moved, DEFAULT_PARTITION);
+        return true;
+    }
+
+    // booking_<region as an identifier>, suffixed if two regions normalise to the same name
+    private String partitionName(String region) {
+        String base = "booking_" + region.replaceAll("[^a-z0-9]+", "_");
+        if (base.length() > 50) {
+            base = base.substring(0, 50);
+        }
+        String name = base;
+        for (int i = 2; jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name); i++) {
+            name = base + "_" + i;
+        }
+        return name;
+    }
+}
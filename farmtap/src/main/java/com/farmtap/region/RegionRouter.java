@@ -0,0 +1,126 @@
+package com.farmtap.region;
+
+import com.farmtap.cache.CacheInvalidationListener;
+import com.farmtap.cache.EntityType;
+import com.farmtap.repository.UserRepository;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs region-keyed reads against one region (a single booking partition on PostgreSQL) and falls
+ * back to the cross-region query when there is no region to go by or the region has nothing.
+ * Most traffic is local, so the fallback is the exception: anonymous callers, unknown users and
+ * regions with no rows yet.
+ *
+ * The principal is a Spring Security user with only the email as its name, so the caller's region
+ * is looked up by email and cached until the user changes, on this instance or (through the
+ * {@link com.farmtap.cache.InvalidationBus}) any other.
+ */
+@Component
+public class RegionRouter implements CacheInvalidationListener {
+
+    private final UserRepository userRepository;
+
+    private final Map<String, CallerRegion> callers = new ConcurrentHashMap<>();
+    // Bumped on every eviction so a region read before a profile change is never cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public RegionRouter(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    // The authenticated user's region, by the email the JWT filter authenticated them with
+    public Optional<String> callerRegion() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return Optional.empty();
+        }
+        return regionOf(auth.getName());
+    }
+
+    // As callerRegion(), but from the cache alone: for fallbacks that run while the database is down
+    public Optional<String> cachedCallerRegion() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(callers.get(auth.getName())).map(CallerRegion::region);
+    }
+
+    public Optional<String> regionOf(String email) {
+        CallerRegion caller = callers.get(email);
+        if (caller == null) {
+            long seen = generation.get();
+            caller = userRepository.findByEmail(email)
+                    .map(user -> new CallerRegion(user.getId(), Regions.of(user.getState())))
+                    .orElse(null);
+            if (caller == null) {
+                return Optional.empty();
+            }
+            if (generation.get() == seen) {
+                callers.put(email, caller);
+            }
+        }
+        return Optional.of(caller.region());
+    }
+
+    /**
+     * requested is a ?region= parameter: null reads the caller's region with the cross-region
+     * fallback, "all" reads every region, and a state name reads just that region.
+     */
+    public <T> List<T> listForCaller(String requested, Function<String, List<T>> inRegion, Supplier<List<T>> allRegions) {
+        return listFor(requested, this::callerRegion, inRegion, allRegions);
+    }
+
+    // listForCaller without touching the database; a caller whose region isn't cached gets every region
+    public <T> List<T> listForCachedCaller(String requested, Function<String, List<T>> inRegion, Supplier<List<T>> allRegions) {
+        return listFor(requested, this::cachedCallerRegion, inRegion, allRegions);
+    }
+
+    private <T> List<T> listFor(String requested, Supplier<Optional<String>> caller,
+                                Function<String, List<T>> inRegion, Supplier<List<T>> allRegions) {
+        if (requested == null) {
+            return list(caller.get(), inRegion, allRegions);
+        }
+        return Regions.ALL.equalsIgnoreCase(requested) ? allRegions.get() : inRegion.apply(Regions.of(requested));
+    }
+
+    public <T> List<T> list(Optional<String> region, Function<String, List<T>> inRegion, Supplier<List<T>> allRegions) {
+        return region.map(inRegion)
+                .filter(rows -> !rows.isEmpty())
+                .orElseGet(allRegions);
+    }
+
+    public <T> Optional<T> find(Optional<String> region, Function<String, Optional<T>> inRegion,
+                                Supplier<Optional<T>> allRegions) {
+        return region.flatMap(inRegion).or(allRegions);
+    }
+
+    @Override
+    public void evict(EntityType type, Set<Long> ids) {
+        if (type == EntityType.USERS) {
+            generation.incrementAndGet();
+            callers.values().removeIf(caller -> ids.contains(caller.userId()));
+        }
+    }
+
+    @Override
+    public void flush() {
+        generation.incrementAndGet();
+        callers.clear();
+    }
+
+    private record CallerRegion(Long userId, String region) {
+    }
+}
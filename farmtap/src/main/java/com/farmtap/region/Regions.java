@@ -0,0 +1,26 @@
+package com.farmtap.region;
+
+import java.util.Locale;
+
+/**
+ * A region is the normalised state of an equipment owner ("Tamil Nadu" -> "tamil nadu"). Equipment
+ * carries its owner's region and a booking carries its equipment's, so a booking always lives in the
+ * region of the equipment it is for; on PostgreSQL booking is list-partitioned by it.
+ */
+public final class Regions {
+
+    public static final String UNASSIGNED = "unassigned";
+    // ?region=all asks for every region instead of the caller's own
+    public static final String ALL = "all";
+
+    private Regions() {
+    }
+
+    // Same rule as the V11 backfill: COALESCE(NULLIF(LOWER(TRIM(state)), ''), 'unassigned')
+    public static String of(String state) {
+        if (state == null || state.isBlank()) {
+            return UNASSIGNED;
+        }
+        return state.trim().toLowerCase(Locale.ROOT);
+    }
+}
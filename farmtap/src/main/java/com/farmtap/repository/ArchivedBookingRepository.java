@@ -0,0 +1,31 @@
+package com.farmtap.repository;
+
+import com.farmtap.model.ArchivedBooking;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+    List<ArchivedBooking> findByFarmerId(Long farmerId);
+    List<ArchivedBooking> findByEquipmentOwnerId(Long ownerId);
+
+    // Same UNION shape as BookingRepository.findBookingsForUser
+    @Query(value = "SELECT a.* FROM booking_archive a WHERE a.farmer_id = :userId " +
+            "UNION " +
+            "SELECT a.* FROM booking_archive a JOIN equipment e ON e.id = a.equipment_id WHERE e.owner_id = :userId",
+            nativeQuery = true)
+    List<ArchivedBooking> findBookingsForUser(@Param("userId") Long userId);
+
+    // Copies hot rows across; the caller deletes them from booking in the same transaction
+    @Modifying
+    @Query(value = "INSERT INTO booking_archive " +
+            "(id, start_date, end_date, total_price, status, created_at, equipment_id, farmer_id, archived_at) " +
+            "SELECT id, start_date, end_date, total_price, status, created_at, equipment_id, farmer_id, :archivedAt " +
+            "FROM booking WHERE id IN (:ids)",
+            nativeQuery = true)
+    int copyFromBooking(@Param("ids") List<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -0,0 +1,38 @@
+package com.farmtap.repository;
+
+import com.farmtap.model.BookingInboxEntry;
+import com.farmtap.model.BookingStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BookingInboxRepository extends JpaRepository<BookingInboxEntry, BookingInboxEntry.Key> {
+
+    // Backward range scan of the primary key (user_id, booking_id): newest bookings first
+    List<BookingInboxEntry> findByUserIdAndBookingIdLessThanOrderByBookingIdDesc(Long userId, Long before, Limit limit);
+
+    @Modifying
+    @Query("UPDATE BookingInboxEntry e SET e.status = :status WHERE e.bookingId = :bookingId")
+    int updateStatus(@Param("bookingId") Long bookingId, @Param("status") BookingStatus status);
+
+    @Modifying
+    @Query("DELETE FROM BookingInboxEntry e WHERE e.bookingId IN (:bookingIds)")
+    int deleteByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+
+    // Every row naming the user shares a booking with one of the user's own rows, so the renamed
+    // bookings are found through the user's inbox and the booking_id index rather than a scan
+    @Modifying
+    @Query("UPDATE BookingInboxEntry e SET e.farmerName = :name WHERE e.farmerId = :userId AND e.bookingId IN " +
+            "(SELECT m.bookingId FROM BookingInboxEntry m WHERE m.userId = :userId)")
+    int renameFarmer(@Param("userId") Long userId, @Param("name") String name);
+
+    @Modifying
+    @Query("UPDATE BookingInboxEntry e SET e.ownerName = :name WHERE e.ownerId = :userId AND e.bookingId IN " +
+            "(SELECT m.bookingId FROM BookingInboxEntry m WHERE m.userId = :userId)")
+    int renameOwner(@Param("userId") Long userId, @Param("name") String name);
+}
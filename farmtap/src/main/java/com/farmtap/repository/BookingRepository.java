@@ -2,16 +2,58 @@ package com.farmtap.repository;
 
 import com.farmtap.model.Booking;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
-import org.springframework.http.HttpStatus;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByFarmerId(Long farmerId);
     List<Booking> findByEquipmentOwnerId(Long ownerId);
-    @Query("SELECT b FROM Booking b WHERE b.farmer.id = :userId OR b.equipment.owner.id = :userId")
+
+    // Region-keyed variants read a single partition on PostgreSQL (RegionRouter)
+    Optional<Booking> findByIdAndRegion(Long id, String region);
+    List<Booking> findByEquipmentOwnerIdAndRegion(Long ownerId, String region);
+
+    // UNION instead of "farmer = ? OR owner = ?" so each half can use its own index
+    // (idx_booking_farmer_id, idx_equipment_owner_id + idx_booking_equipment_dates)
+    @Query(value = "SELECT b.* FROM booking b WHERE b.farmer_id = :userId " +
+            "UNION " +
+            "SELECT b.* FROM booking b JOIN equipment e ON e.id = b.equipment_id WHERE e.owner_id = :userId",
+            nativeQuery = true)
     List<Booking> findBookingsForUser(@Param("userId") Long userId);
 
+    // A pending or approved booking of the equipment overlapping [start, end] (idx_booking_equipment_dates),
+    // looked up in the equipment's region only
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.equipment.id = :equipmentId AND b.region = :region " +
+            "AND b.status <> com.farmtap.model.BookingStatus.REJECTED " +
+            "AND b.startDate <= :end AND b.endDate >= :start")
+    boolean existsActiveOverlap(@Param("equipmentId") Long equipmentId, @Param("region") String region,
+                                @Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Query("SELECT f.district AS district, e.id AS equipmentId, b.status AS status, b.createdAt AS createdAt " +
+            "FROM Booking b JOIN b.farmer f JOIN b.equipment e " +
+            "WHERE b.createdAt >= :since AND f.district IS NOT NULL")
+    List<BookingSignal> findSignalsSince(@Param("since") LocalDateTime since);
+
+    // Locks the batch so a status change can't land between the archive copy and the delete
+    @Query(value = "SELECT id FROM booking WHERE end_date < :cutoff ORDER BY id LIMIT :limit FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockEndedBefore(@Param("cutoff") LocalDate cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM booking WHERE id IN (:ids)", nativeQuery = true)
+    int deleteByIds(@Param("ids") List<Long> ids);
+
+    // The owner moved state: bookings of their equipment follow it (rows change partition on PostgreSQL)
+    @Modifying
+    @Query(value = "UPDATE booking SET region = :region " +
+            "WHERE equipment_id IN (SELECT id FROM equipment WHERE owner_id = :ownerId) AND region <> :region",
+            nativeQuery = true)
+    int moveOwnerBookings(@Param("ownerId") Long ownerId, @Param("region") String region);
+
 }
@@ -0,0 +1,13 @@
+package com.farmtap.repository;
+
+import com.farmtap.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+// Projection used to warm up the popularity ranker from recent bookings
+public interface BookingSignal {
+    String getDistrict();
+    Long getEquipmentId();
+    BookingStatus getStatus();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,12 @@
+package com.farmtap.repository;
+
+import com.farmtap.model.CooperativeMember;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CooperativeMemberRepository extends JpaRepository<CooperativeMember, Long> {
+    List<CooperativeMember> findByOwnerId(Long ownerId);
+    Optional<CooperativeMember> findByOwnerIdAndFarmerId(Long ownerId, Long farmerId);
+}
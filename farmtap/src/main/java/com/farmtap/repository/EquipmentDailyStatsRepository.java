@@ -0,0 +1,35 @@
+package com.farmtap.repository;
+
+import com.farmtap.model.EquipmentDailyStats;
+import com.farmtap.model.StatsCounters;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface EquipmentDailyStatsRepository extends JpaRepository<EquipmentDailyStats, Long> {
+
+    List<EquipmentDailyStats> findByOwnerIdAndStatDateBetween(Long ownerId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query(value = "INSERT INTO equipment_daily_stats (equipment_id, owner_id, stat_date) " +
+            "VALUES (:equipmentId, :ownerId, :day) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    void ensureRow(@Param("equipmentId") Long equipmentId, @Param("ownerId") Long ownerId, @Param("day") LocalDate day);
+
+    @Modifying
+    @Query("UPDATE EquipmentDailyStats s SET " +
+            "s.counters.bookingCount = s.counters.bookingCount + :#{#d.bookingCount}, " +
+            "s.counters.bookedDays = s.counters.bookedDays + :#{#d.bookedDays}, " +
+            "s.counters.revenue = s.counters.revenue + :#{#d.revenue}, " +
+            "s.counters.pendingCount = s.counters.pendingCount + :#{#d.pendingCount}, " +
+            "s.counters.approvedCount = s.counters.approvedCount + :#{#d.approvedCount}, " +
+            "s.counters.rejectedCount = s.counters.rejectedCount + :#{#d.rejectedCount}, " +
+            "s.counters.approvedDays = s.counters.approvedDays + :#{#d.approvedDays}, " +
+            "s.counters.approvedRevenue = s.counters.approvedRevenue + :#{#d.approvedRevenue} " +
+            "WHERE s.equipmentId = :equipmentId AND s.statDate = :day")
+    int add(@Param("equipmentId") Long equipmentId, @Param("day") LocalDate day, @Param("d") StatsCounters delta);
+}
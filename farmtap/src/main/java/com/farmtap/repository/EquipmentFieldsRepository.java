@@ -0,0 +1,14 @@
+package com.farmtap.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Sparse-fieldset reads for equipment (?fields=); only the requested columns are selected
+public interface EquipmentFieldsRepository {
+    List<Map<String, Object>> findAvailableFields(Collection<String> fields);
+    List<Map<String, Object>> findAvailableFieldsInRegion(String region, Collection<String> fields);
+    List<Map<String, Object>> findFieldsByOwnerId(Long ownerId, Collection<String> fields);
+    Optional<Map<String, Object>> findFieldsById(Long id, Collection<String> fields);
+}
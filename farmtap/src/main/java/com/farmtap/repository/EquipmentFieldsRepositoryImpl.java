@@ -0,0 +1,52 @@
+package com.farmtap.repository;
+
+import com.farmtap.model.Equipment;
+import com.farmtap.storage.ImageUrls;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Field names match EquipmentDTO so a sparse response is a subset of the full one
+class EquipmentFieldsRepositoryImpl implements EquipmentFieldsRepository {
+
+    private static final FieldProjection<Equipment> FIELDS = new FieldProjection<>(Equipment.class)
+            .column("name", root -> root.get("name"))
+            .column("type", root -> root.get("type"))
+            .column("description", root -> root.get("description"))
+            .column("rentalPricePerDay", root -> root.get("rentalPricePerDay"))
+            .column("isAvailable", root -> root.get("isAvailable"))
+            .column("location", root -> root.get("location"))
+            .column("imageUrl", root -> root.get("imageUrl"))
+            .column("ownerId", root -> root.get("owner").get("id"))
+            .column("ownerName", root -> FieldProjection.leftJoin(root, "owner").get("name"))
+            .derived("thumbnailUrl", "imageUrl", url -> ImageUrls.thumbnailFor((String) url));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findAvailableFields(Collection<String> fields) {
+        return FIELDS.select(entityManager, fields, (cb, root) -> cb.isTrue(root.get("isAvailable")));
+    }
+
+    @Override
+    public List<Map<String, Object>> findAvailableFieldsInRegion(String region, Collection<String> fields) {
+        return FIELDS.select(entityManager, fields, (cb, root) ->
+                cb.and(cb.equal(root.get("region"), region), cb.isTrue(root.get("isAvailable"))));
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByOwnerId(Long ownerId, Collection<String> fields) {
+        return FIELDS.select(entityManager, fields, (cb, root) -> cb.equal(root.get("owner").get("id"), ownerId));
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(Long id, Collection<String> fields) {
+        return FIELDS.select(entityManager, fields, (cb, root) -> cb.equal(root.get("id"), id))
+                .stream().findFirst();
+    }
+}
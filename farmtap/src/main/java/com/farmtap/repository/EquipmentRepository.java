@@ -2,9 +2,26 @@ package com.farmtap.repository;
 
 import com.farmtap.model.Equipment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
+import java.util.Optional;
 
-public interface EquipmentRepository extends JpaRepository<Equipment, Long> {
+public interface EquipmentRepository extends JpaRepository<Equipment, Long>, EquipmentFieldsRepository {
     List<Equipment> findByIsAvailableTrue();
+    // Browsing within one region (idx_equipment_region_available)
+    List<Equipment> findByRegionAndIsAvailableTrue(String region);
     List<Equipment> findByOwnerId(Long ownerId);
+
+    // Seed the typeahead tries (SuggestionService)
+    @Query("SELECT e.type AS term, COUNT(e) AS count FROM Equipment e WHERE e.type IS NOT NULL GROUP BY e.type")
+    List<TermCount> countByType();
+
+    @Query("SELECT e.location AS term, COUNT(e) AS count FROM Equipment e WHERE e.location IS NOT NULL GROUP BY e.location")
+    List<TermCount> countByLocation();
+
+    // Serializes waitlist promotion per equipment across instances (WaitlistService)
+    @Query(value = "SELECT id FROM equipment WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
 }
@@ -0,0 +1,119 @@
+package com.farmtap.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Whitelist of the fields a client may ask for with {@code ?fields=a,b,c}, and the tuple query
+ * that selects only those columns. Derived fields (e.g. a thumbnail URL) name the column they
+ * are computed from; that column is read but only returned if it was asked for too.
+ *
+ * {@code id} is always returned so lists stay keyable on the client.
+ */
+final class FieldProjection<T> {
+
+    private record Derived(String source, Function<Object, Object> compute) {}
+
+    private final Class<T> entity;
+    private final Map<String, Function<Root<T>, Path<?>>> columns = new LinkedHashMap<>();
+    private final Map<String, Derived> derived = new LinkedHashMap<>();
+
+    FieldProjection(Class<T> entity) {
+        this.entity = entity;
+        column("id", root -> root.get("id"));
+    }
+
+    FieldProjection<T> column(String name, Function<Root<T>, Path<?>> path) {
+        columns.put(name, path);
+        return this;
+    }
+
+    FieldProjection<T> derived(String name, String source, Function<Object, Object> compute) {
+        derived.put(name, new Derived(source, compute));
+        return this;
+    }
+
+    // Hibernate would turn root.get("owner").get("name") into an inner join, dropping owner-less rows
+    static <T> Join<T, ?> leftJoin(Root<T> root, String attribute) {
+        for (Join<T, ?> join : root.getJoins()) {
+            if (join.getAttribute().getName().equals(attribute)) {
+                return join;
+            }
+        }
+        return root.join(attribute, JoinType.LEFT);
+    }
+
+    // Parses and validates ?fields=; unknown names are rejected rather than silently dropped
+    List<String> parse(Collection<String> requested) {
+        Set<String> fields = new LinkedHashSet<>();
+        fields.add("id");
+        for (String field : requested) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!columns.containsKey(name) && !derived.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "'. Allowed: "
+                        + String.join(", ", allowed()));
+            }
+            fields.add(name);
+        }
+        return List.copyOf(fields);
+    }
+
+    List<String> allowed() {
+        List<String> allowed = new ArrayList<>(columns.keySet());
+        allowed.addAll(derived.keySet());
+        return allowed;
+    }
+
+    List<Map<String, Object>> select(EntityManager entityManager, Collection<String> requested,
+                                     BiFunction<CriteriaBuilder, Root<T>, Predicate> where) {
+        return select(entityManager, requested, where, true, 0);
+    }
+
+    // Ordered by id; limit 0 means no limit. Keyset callers put their "id < cursor" in where.
+    List<Map<String, Object>> select(EntityManager entityManager, Collection<String> requested,
+                                     BiFunction<CriteriaBuilder, Root<T>, Predicate> where,
+                                     boolean ascending, int limit) {
+        List<String> fields = parse(requested);
+        Set<String> read = new LinkedHashSet<>();
+        for (String field : fields) {
+            read.add(columns.containsKey(field) ? field : derived.get(field).source());
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entity);
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String column : read) {
+            selections.add(columns.get(column).apply(root).alias(column));
+        }
+        query.multiselect(selections);
+        if (where != null) {
+            query.where(where.apply(cb, root));
+        }
+        query.orderBy(ascending ? cb.asc(root.get("id")) : cb.desc(root.get("id")));
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (limit > 0) {
+            typed.setMaxResults(limit);
+        }
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : typed.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                Derived d = derived.get(field);
+                row.put(field, d == null ? tuple.get(field) : d.compute().apply(tuple.get(d.source())));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
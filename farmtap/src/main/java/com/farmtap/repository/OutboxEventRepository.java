@@ -0,0 +1,49 @@
+package com.farmtap.repository;
+
+import com.farmtap.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Pending events that are due, leaving out any whose booking has an older event still waiting
+    // out its retry backoff, so events in backoff never fill the batch and per-booking order holds
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.processedAt IS NULL AND e.parkedAt IS NULL " +
+            "AND e.availableAt <= :now AND NOT EXISTS (SELECT o.id FROM OutboxEvent o " +
+            "WHERE o.aggregateId = e.aggregateId AND o.id < e.id " +
+            "AND o.processedAt IS NULL AND o.parkedAt IS NULL AND o.availableAt > :now) " +
+            "ORDER BY e.id")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id = :id")
+    Optional<OutboxEvent> lockById(@Param("id") Long id);
+
+    long countByProcessedAtIsNullAndParkedAtIsNull();
+
+    long countByParkedAtIsNotNull();
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.processedAt IS NULL AND e.parkedAt IS NULL")
+    LocalDateTime findOldestPendingCreatedAt();
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error, " +
+            "e.availableAt = :availableAt, e.parkedAt = :parkedAt WHERE e.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("error") String error,
+                      @Param("availableAt") LocalDateTime availableAt,
+                      @Param("parkedAt") LocalDateTime parkedAt);
+
+    // Delivered rows only; parked rows have no processedAt and stay until someone deals with them
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
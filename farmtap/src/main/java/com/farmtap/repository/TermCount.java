@@ -0,0 +1,7 @@
+package com.farmtap.repository;
+
+// Projection for "value, how many rows have it" aggregates
+public interface TermCount {
+    String getTerm();
+    long getCount();
+}
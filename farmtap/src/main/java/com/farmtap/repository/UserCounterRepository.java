@@ -0,0 +1,19 @@
+package com.farmtap.repository;
+
+import com.farmtap.model.UserCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface UserCounterRepository extends JpaRepository<UserCounter, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO user_counter (role, total) VALUES (:role, 0) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    void ensureRow(@Param("role") String role);
+
+    @Modifying
+    @Query("UPDATE UserCounter c SET c.total = c.total + :delta WHERE c.role = :role")
+    void add(@Param("role") String role, @Param("delta") long delta);
+}
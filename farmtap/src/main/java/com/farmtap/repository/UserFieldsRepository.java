@@ -0,0 +1,18 @@
+package com.farmtap.repository;
+
+import com.farmtap.dto.UserFilter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Sparse-fieldset reads for users (?fields=); the password hash is never selectable
+public interface UserFieldsRepository {
+    // Newest first, ids below afterId (null for the first page); fields null means the summary columns
+    List<Map<String, Object>> findPage(UserFilter filter, Long afterId, int limit, Collection<String> fields);
+    Optional<Map<String, Object>> findFieldsById(Long id, Collection<String> fields);
+
+    // The caller's own profile may also include aadharNumber
+    Optional<Map<String, Object>> findProfileFieldsByEmail(String email, Collection<String> fields);
+}
@@ -0,0 +1,85 @@
+package com.farmtap.repository;
+
+import com.farmtap.dto.UserFilter;
+import com.farmtap.model.Users;
+import com.farmtap.storage.ImageUrls;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Predicate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+class UserFieldsRepositoryImpl implements UserFieldsRepository {
+
+    private static FieldProjection<Users> publicFields() {
+        return new FieldProjection<>(Users.class)
+                .column("name", root -> root.get("name"))
+                .column("email", root -> root.get("email"))
+                .column("role", root -> root.get("role"))
+                .column("phoneNumber", root -> root.get("phoneNumber"))
+                .column("villageName", root -> root.get("villageName"))
+                .column("district", root -> root.get("district"))
+                .column("state", root -> root.get("state"))
+                .column("pincode", root -> root.get("pincode"))
+                .column("profileImageUrl", root -> root.get("profileImageUrl"))
+                .column("createdAt", root -> root.get("createdAt"))
+                .column("updatedAt", root -> root.get("updatedAt"))
+                .derived("profileThumbnailUrl", "profileImageUrl", url -> ImageUrls.thumbnailFor((String) url));
+    }
+
+    // What an admin list row shows when no ?fields= is given
+    static final List<String> SUMMARY = List.of("name", "email", "role", "phoneNumber", "district", "state",
+            "pincode", "createdAt");
+
+    private static final FieldProjection<Users> FIELDS = publicFields();
+    private static final FieldProjection<Users> PROFILE_FIELDS = publicFields()
+            .column("aadharNumber", root -> root.get("aadharNumber"));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findPage(UserFilter filter, Long afterId, int limit, Collection<String> fields) {
+        return FIELDS.select(entityManager, fields != null ? fields : SUMMARY, (cb, root) -> {
+            List<Predicate> where = new ArrayList<>();
+            if (afterId != null) {
+                where.add(cb.lessThan(root.get("id"), afterId));
+            }
+            if (filter.getRole() != null) {
+                where.add(cb.equal(root.get("role"), filter.getRole()));
+            }
+            if (filter.getDistrict() != null) {
+                where.add(cb.equal(root.get("district"), filter.getDistrict()));
+            }
+            if (filter.getState() != null) {
+                where.add(cb.equal(root.get("state"), filter.getState()));
+            }
+            if (filter.getPincode() != null) {
+                where.add(cb.equal(root.get("pincode"), filter.getPincode()));
+            }
+            if (filter.getCreatedFrom() != null) {
+                where.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.getCreatedFrom().atStartOfDay()));
+            }
+            if (filter.getCreatedTo() != null) {
+                where.add(cb.lessThan(root.get("createdAt"), filter.getCreatedTo().plusDays(1).atStartOfDay()));
+            }
+            return cb.and(where.toArray(Predicate[]::new));
+        }, false, limit);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(Long id, Collection<String> fields) {
+        return FIELDS.select(entityManager, fields, (cb, root) -> cb.equal(root.get("id"), id))
+                .stream().findFirst();
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findProfileFieldsByEmail(String email, Collection<String> fields) {
+        return PROFILE_FIELDS.select(entityManager, fields, (cb, root) -> cb.equal(root.get("email"), email))
+                .stream().findFirst();
+    }
+}
@@ -2,9 +2,20 @@ package com.farmtap.repository;
 
 import com.farmtap.model.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<Users, Long> {
+public interface UserRepository extends JpaRepository<Users, Long>, UserFieldsRepository {
     Optional<Users> findByEmail(String email);
+
+    @Query("SELECT u.id FROM Users u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(String email);
+
+    @Query("SELECT u.villageName AS term, COUNT(u) AS count FROM Users u WHERE u.villageName IS NOT NULL GROUP BY u.villageName")
+    List<TermCount> countByVillageName();
+
+    @Query("SELECT u.district AS term, COUNT(u) AS count FROM Users u WHERE u.district IS NOT NULL GROUP BY u.district")
+    List<TermCount> countByDistrict();
 }
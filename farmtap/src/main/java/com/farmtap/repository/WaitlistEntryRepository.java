@@ -0,0 +1,11 @@
+package com.farmtap.repository;
+
+import com.farmtap.model.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+    List<WaitlistEntry> findByEquipmentIdOrderByRequestedAtAscIdAsc(Long equipmentId);
+    List<WaitlistEntry> findByFarmerIdOrderByRequestedAtAsc(Long farmerId);
+}
@@ -0,0 +1,41 @@
+package com.farmtap.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps how many threads of one kind of work (listing reads, booking writes, auth) can be
+ * inside the database at once, so a slow database ties up at most that many request threads
+ * per kind instead of all of them. Callers that cannot get a permit within maxWait are
+ * rejected straight away.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+
+    public Bulkhead(String name, int maxConcurrent, Duration maxWait) {
+        this.name = name;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    public void acquire() {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw new DatabaseUnavailableException("Too many concurrent " + name + " requests");
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
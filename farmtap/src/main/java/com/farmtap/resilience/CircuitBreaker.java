@@ -0,0 +1,120 @@
+package com.farmtap.resilience;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker. The outcomes of the last {@code window} calls are kept in a
+ * ring; once at least {@code minimumCalls} are recorded and the share of failed or slow ones
+ * reaches {@code failureRate}, the breaker opens and rejects calls for {@code openFor}. After
+ * that a single probe call is let through (half-open): success closes the breaker, failure
+ * opens it again.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    private final String name;
+    private final boolean[] outcomes; // true = failed
+    private final int minimumCalls;
+    private final double failureRate;
+    private final long slowCallNanos;
+    private final long openForNanos;
+    private final LongSupplier clock;
+
+    // Guarded by this
+    private State state = State.CLOSED;
+    private int recorded;
+    private int next;
+    private int failures;
+    private long openedAt;
+    private boolean probing;
+
+    public CircuitBreaker(String name, int window, int minimumCalls, double failureRate,
+                          Duration slowCall, Duration openFor, LongSupplier clock) {
+        this.name = name;
+        this.outcomes = new boolean[window];
+        this.minimumCalls = Math.min(minimumCalls, window);
+        this.failureRate = failureRate;
+        this.slowCallNanos = slowCall.toNanos();
+        this.openForNanos = openFor.toNanos();
+        this.clock = clock;
+    }
+
+    public CircuitBreaker(String name, int window, int minimumCalls, double failureRate,
+                          Duration slowCall, Duration openFor) {
+        this(name, window, minimumCalls, failureRate, slowCall, openFor, System::nanoTime);
+    }
+
+    // Throws if the call may not go ahead; otherwise the caller must report back with onResult
+    public synchronized void acquirePermission() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openForNanos) {
+                throw new DatabaseUnavailableException("Database circuit breaker '" + name + "' is open");
+            }
+            state = State.HALF_OPEN;
+            probing = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probing) {
+                throw new DatabaseUnavailableException("Database circuit breaker '" + name + "' is probing");
+            }
+            probing = true;
+        }
+    }
+
+    public synchronized void onResult(long elapsedNanos, boolean failed) {
+        boolean bad = failed || elapsedNanos > slowCallNanos;
+        if (state == State.HALF_OPEN) {
+            if (bad) {
+                open();
+            } else {
+                log.info("Circuit breaker '{}' closed", name);
+                state = State.CLOSED;
+                reset();
+            }
+            probing = false;
+            return;
+        }
+        if (state == State.OPEN) {
+            return; // a call that started before the breaker opened
+        }
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = bad;
+        if (bad) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+        if (recorded >= minimumCalls && failures >= failureRate * recorded) {
+            open();
+        }
+    }
+
+    private void open() {
+        log.warn("Circuit breaker '{}' opened ({} of the last {} calls failed or were slow)", name, failures, recorded);
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+        reset();
+    }
+
+    private void reset() {
+        recorded = 0;
+        next = 0;
+        failures = 0;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,101 @@
+package com.farmtap.resilience;
+
+import org.springframework.dao.*;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+
+/**
+ * Entry point for database work that must not take the whole API down when Postgres is slow:
+ * each call runs inside its kind's {@link Bulkhead} and through the shared {@link CircuitBreaker}.
+ * Wrap calls outside the service's transaction so a rejected call never holds a connection.
+ *
+ * Connection and statement failures count against the breaker and surface as
+ * {@link DatabaseUnavailableException}; business exceptions pass through unchanged and count
+ * as successful calls.
+ */
+@Component
+public class DatabaseGuard {
+
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    private final Bulkhead listing;
+    private final Bulkhead bookingWrites;
+    private final Bulkhead auth;
+    private final CircuitBreaker breaker;
+
+    public DatabaseGuard(ResilienceProperties properties) {
+        this.listing = bulkhead("listing", properties.getListing());
+        this.bookingWrites = bulkhead("booking write", properties.getBookingWrites());
+        this.auth = bulkhead("auth", properties.getAuth());
+        ResilienceProperties.Breaker b = properties.getBreaker();
+        this.breaker = new CircuitBreaker("database", b.getWindow(), b.getMinimumCalls(), b.getFailureRate(),
+                b.getSlowCall(), b.getOpenFor());
+    }
+
+    private static Bulkhead bulkhead(String name, ResilienceProperties.Limit limit) {
+        return new Bulkhead(name, limit.getMaxConcurrent(), limit.getMaxWait());
+    }
+
+    public <T, E extends Exception> T listing(Call<T, E> call) throws E {
+        return run(listing, call);
+    }
+
+    public <T, E extends Exception> T bookingWrite(Call<T, E> call) throws E {
+        return run(bookingWrites, call);
+    }
+
+    public <T, E extends Exception> T auth(Call<T, E> call) throws E {
+        return run(auth, call);
+    }
+
+    public CircuitBreaker.State getState() {
+        return breaker.getState();
+    }
+
+    private <T, E extends Exception> T run(Bulkhead bulkhead, Call<T, E> call) throws E {
+        bulkhead.acquire();
+        try {
+            breaker.acquirePermission();
+            long start = System.nanoTime();
+            boolean failed = false;
+            try {
+                return call.call();
+            } catch (Exception e) {
+                failed = isDatabaseFailure(e);
+                if (failed) {
+                    throw new DatabaseUnavailableException("Database call failed: " + e.getMessage(), e);
+                }
+                throw e;
+            } finally {
+                breaker.onResult(System.nanoTime() - start, failed);
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    // Only "the database is down or too slow" failures: constraint violations and lost optimistic
+    // locks say nothing about the database's health
+    static boolean isDatabaseFailure(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConcurrencyFailureException) {
+                return false;
+            }
+            if (t instanceof TransientDataAccessException
+                    || t instanceof RecoverableDataAccessException
+                    || t instanceof DataAccessResourceFailureException
+                    || t instanceof CannotCreateTransactionException
+                    || t instanceof SQLTransientException
+                    || t instanceof SQLRecoverableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,17 @@
+package com.farmtap.resilience;
+
+/**
+ * The database could not serve a call: its bulkhead was full, the circuit breaker was open,
+ * or the call itself failed at the connection or statement level. Controllers answer 503
+ * (or serve a stale snapshot) instead of the usual 400.
+ */
+public class DatabaseUnavailableException extends RuntimeException {
+
+    public DatabaseUnavailableException(String message) {
+        super(message);
+    }
+
+    public DatabaseUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,42 @@
+package com.farmtap.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("farmtap.resilience")
+public class ResilienceProperties {
+
+    private Limit listing = new Limit(8, Duration.ofMillis(100));
+    private Limit bookingWrites = new Limit(4, Duration.ofMillis(500));
+    private Limit auth = new Limit(4, Duration.ofMillis(200));
+    private Breaker breaker = new Breaker();
+
+    // How often the stale-fallback equipment snapshot is refreshed while the database is healthy
+    private Duration snapshotRefresh = Duration.ofSeconds(60);
+
+    @Data
+    public static class Limit {
+        private int maxConcurrent;
+        private Duration maxWait;
+
+        public Limit() {
+        }
+
+        public Limit(int maxConcurrent, Duration maxWait) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxWait = maxWait;
+        }
+    }
+
+    @Data
+    public static class Breaker {
+        private int window = 50;
+        private int minimumCalls = 10;
+        private double failureRate = 0.5;
+        private Duration slowCall = Duration.ofSeconds(2);
+        private Duration openFor = Duration.ofSeconds(15);
+    }
+}
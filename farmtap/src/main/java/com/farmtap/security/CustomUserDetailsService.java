@@ -2,6 +2,7 @@ package com.farmtap.security;
 
 import com.farmtap.model.Users;
 import com.farmtap.repository.UserRepository;
+import com.farmtap.resilience.DatabaseGuard;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
 
@@ -11,14 +12,17 @@ import java.util.Collections;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final DatabaseGuard databaseGuard;
 
-    public CustomUserDetailsService(UserRepository repo) {
+    public CustomUserDetailsService(UserRepository repo, DatabaseGuard databaseGuard) {
         this.userRepository = repo;
+        this.databaseGuard = databaseGuard;
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        Users user = userRepository.findByEmail(email)
+        // Runs in the auth bulkhead so logins and token checks keep their own share of connections
+        Users user = databaseGuard.auth(() -> userRepository.findByEmail(email))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
         return new org.springframework.security.core.userdetails.User(
@@ -0,0 +1,219 @@
+package com.farmtap.service;
+
+import com.farmtap.audit.AuditAction;
+import com.farmtap.audit.AuditLog;
+import com.farmtap.audit.AuditProperties;
+import com.farmtap.audit.AuditRecord;
+import com.farmtap.dto.AuditEntryDTO;
+import com.farmtap.model.Booking;
+import com.farmtap.model.BookingStatus;
+import com.farmtap.model.Equipment;
+import com.farmtap.model.Users;
+import com.farmtap.repository.ArchivedBookingRepository;
+import com.farmtap.repository.BookingRepository;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Records booking and equipment state transitions in the {@link AuditLog} and replays them.
+ *
+ * Records are appended after the surrounding transaction commits, so rolled-back changes are
+ * never audited and the database transaction never waits on the log. History replays every
+ * instance's log; who may see it is decided from the database, with the log consulted only for
+ * bookings and equipment that have since been deleted.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditService {
+
+    private final AuditLog auditLog;
+    private final AuditProperties auditProperties;
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final EquipmentRepository equipmentRepository;
+    private final UserRepository userRepository;
+
+    public void bookingCreated(Booking booking, Long actorId) {
+        record(AuditAction.BOOKING_CREATED, null, booking.getStatus(), booking, actorId);
+    }
+
+    public void bookingStatusChanged(Booking booking, BookingStatus previous, Long actorId) {
+        record(AuditAction.BOOKING_STATUS_CHANGED, previous, booking.getStatus(), booking, actorId);
+    }
+
+    public void bookingDeleted(Booking booking, Long actorId) {
+        record(AuditAction.BOOKING_DELETED, booking.getStatus(), null, booking, actorId);
+    }
+
+    public void equipmentCreated(Equipment equipment) {
+        record(AuditAction.EQUIPMENT_CREATED, null, equipment.getIsAvailable(), equipment);
+    }
+
+    public void equipmentAvailabilityChanged(Equipment equipment, Boolean previous) {
+        record(AuditAction.EQUIPMENT_AVAILABILITY_CHANGED, previous, equipment.getIsAvailable(), equipment);
+    }
+
+    public void equipmentImageChanged(Equipment equipment) {
+        Boolean available = equipment.getIsAvailable();
+        record(AuditAction.EQUIPMENT_IMAGE_CHANGED, available, available, equipment);
+    }
+
+    public void equipmentDeleted(Equipment equipment) {
+        record(AuditAction.EQUIPMENT_DELETED, equipment.getIsAvailable(), null, equipment);
+    }
+
+    private void record(AuditAction action, BookingStatus from, BookingStatus to, Booking booking, Long actorId) {
+        Long equipmentId = booking.getEquipment() != null ? booking.getEquipment().getId() : null;
+        append(AuditRecord.of(action, code(from), code(to), booking.getId(), idOrZero(actorId),
+                idOrZero(equipmentId), paise(booking.getTotalPrice())));
+    }
+
+    private void record(AuditAction action, Boolean from, Boolean to, Equipment equipment) {
+        Long ownerId = equipment.getOwner() != null ? equipment.getOwner().getId() : null;
+        append(AuditRecord.of(action, code(from), code(to), equipment.getId(), currentActorId(),
+                idOrZero(ownerId), paise(equipment.getRentalPricePerDay())));
+    }
+
+    private void append(AuditRecord record) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(record);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                write(record);
+            }
+        });
+    }
+
+    private void write(AuditRecord record) {
+        long sequence = auditLog.append(record);
+        if (auditProperties.isSyncOnCommit()) {
+            auditLog.sync(sequence);
+        }
+    }
+
+    // Farmers see their own bookings' history, owners the history of bookings on their equipment
+    @Transactional(readOnly = true)
+    public List<AuditEntryDTO> bookingHistory(Long bookingId, Long userId) throws IllegalAccessException {
+        List<AuditRecord> records = auditLog.find(r -> r.action().isBooking() && r.entityId() == bookingId);
+        if (records.isEmpty()) {
+            throw new IllegalArgumentException("No history for booking " + bookingId);
+        }
+        BookingParties parties = bookingParties(bookingId, records);
+        if (!userId.equals(parties.farmerId()) && !userId.equals(ownerOf(parties.equipmentId()))) {
+            throw new IllegalAccessException("You are not allowed to view this booking's history.");
+        }
+        return records.stream().map(AuditService::toEntry).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<AuditEntryDTO> equipmentHistory(Long equipmentId, Long userId) throws IllegalAccessException {
+        List<AuditRecord> records = auditLog.find(r -> !r.action().isBooking() && r.entityId() == equipmentId);
+        if (records.isEmpty()) {
+            throw new IllegalArgumentException("No history for equipment " + equipmentId);
+        }
+        if (!userId.equals(ownerOf(equipmentId))) {
+            throw new IllegalAccessException("Only the owner can view this equipment's history.");
+        }
+        return records.stream().map(AuditService::toEntry).toList();
+    }
+
+    private record BookingParties(Long farmerId, Long equipmentId) {}
+
+    // From the booking, archived or not; a deleted booking falls back to its creation record
+    private BookingParties bookingParties(long bookingId, List<AuditRecord> records) {
+        return bookingRepository.findById(bookingId)
+                .map(b -> new BookingParties(idOf(b.getFarmer()), idOf(b.getEquipment())))
+                .or(() -> archivedBookingRepository.findById(bookingId)
+                        .map(a -> new BookingParties(idOf(a.getFarmer()), idOf(a.getEquipment()))))
+                .orElseGet(() -> records.stream()
+                        .filter(r -> r.action() == AuditAction.BOOKING_CREATED)
+                        .findFirst()
+                        .map(r -> new BookingParties(r.actorId(), r.relatedId()))
+                        .orElseGet(() -> new BookingParties(null, records.get(0).relatedId())));
+    }
+
+    // Falls back to the log for equipment that has since been deleted
+    private Long ownerOf(Long equipmentId) {
+        if (equipmentId == null) {
+            return null;
+        }
+        return equipmentRepository.findById(equipmentId)
+                .map(e -> idOf(e.getOwner()))
+                .orElseGet(() -> auditLog.find(r -> r.action() == AuditAction.EQUIPMENT_CREATED && r.entityId() == equipmentId)
+                        .stream().findFirst().map(AuditRecord::relatedId).orElse(null));
+    }
+
+    private static Long idOf(Users user) {
+        return user != null ? user.getId() : null;
+    }
+
+    private static Long idOf(Equipment equipment) {
+        return equipment != null ? equipment.getId() : null;
+    }
+
+    private static AuditEntryDTO toEntry(AuditRecord r) {
+        return new AuditEntryDTO(
+                r.sequence(),
+                Instant.ofEpochMilli(r.timestamp()),
+                r.action().name(),
+                state(r.action(), r.fromState()),
+                state(r.action(), r.toState()),
+                r.actorId() != 0 ? r.actorId() : null,
+                r.relatedId() != 0 ? r.relatedId() : null,
+                BigDecimal.valueOf(r.amount(), 2));
+    }
+
+    // State bytes: 0 = none; bookings store status ordinal + 1, equipment 1/2 for unavailable/available
+    private static byte code(BookingStatus status) {
+        return status == null ? 0 : (byte) (status.ordinal() + 1);
+    }
+
+    private static byte code(Boolean available) {
+        return available == null ? 0 : (byte) (available ? 2 : 1);
+    }
+
+    private static String state(AuditAction action, byte code) {
+        if (code == 0) {
+            return null;
+        }
+        if (action.isBooking()) {
+            return BookingStatus.values()[code - 1].name();
+        }
+        return code == 2 ? "AVAILABLE" : "UNAVAILABLE";
+    }
+
+    private static long paise(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static long idOrZero(Long id) {
+        return id != null ? id : 0;
+    }
+
+    // Equipment endpoints don't all pass the caller through, so take it from the security context.
+    // The JWT filter's principal carries only the email, so the id is looked up by it.
+    private long currentActorId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return 0;
+        }
+        return userRepository.findIdByEmail(authentication.getName()).orElse(0L);
+    }
+}
@@ -0,0 +1,77 @@
+package com.farmtap.service;
+
+import com.farmtap.repository.ArchivedBookingRepository;
+import com.farmtap.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves bookings that ended more than {@code farmtap.archive.horizon} ago from booking into
+ * booking_archive, one batch per transaction so the hot table is never locked for long.
+ * Rollups and the audit log are unaffected: archiving is not a booking change. Archived bookings
+ * leave the booking inbox, like they leave GET /api/bookings/user.
+ */
+@Service
+public class BookingArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingArchiveService.class);
+
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final BookingInboxService inboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration horizon;
+    private final int batchSize;
+
+    public BookingArchiveService(BookingRepository bookingRepository,
+                                 ArchivedBookingRepository archivedBookingRepository,
+                                 BookingInboxService inboxService,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${farmtap.archive.horizon:180d}") Duration horizon,
+                                 @Value("${farmtap.archive.batch-size:500}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.inboxService = inboxService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.horizon = horizon;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${farmtap.archive.cron:0 30 2 * * *}")
+    public void archiveExpired() {
+        int archived = archiveEndedBefore(LocalDate.now().minusDays(horizon.toDays()));
+        if (archived > 0) {
+            log.info("Archived {} bookings that ended more than {} days ago", archived, horizon.toDays());
+        }
+    }
+
+    public int archiveEndedBefore(LocalDate cutoff) {
+        int total = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<Long> ids = bookingRepository.lockEndedBefore(cutoff, batchSize);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                archivedBookingRepository.copyFromBooking(ids, LocalDateTime.now());
+                bookingRepository.deleteByIds(ids);
+                inboxService.bookingsRemoved(ids);
+                return ids.size();
+            });
+            if (moved == null || moved == 0) {
+                return total;
+            }
+            total += moved;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.farmtap.service;
+
+import com.farmtap.dto.BookingInboxPageDTO;
+import com.farmtap.model.Booking;
+import com.farmtap.model.BookingInboxEntry;
+import com.farmtap.model.Users;
+import com.farmtap.repository.BookingInboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Per-user booking inbox, fanned out on write: each booking has a row for its farmer and one for
+ * the equipment owner (a single row when they are the same user). The write methods run in the
+ * caller's transaction so the inbox commits or rolls back together with the booking.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingInboxService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final BookingInboxRepository inboxRepository;
+
+    @Transactional(readOnly = true)
+    public BookingInboxPageDTO page(Long userId, Long before, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<BookingInboxEntry> items = inboxRepository.findByUserIdAndBookingIdLessThanOrderByBookingIdDesc(
+                userId, before == null ? Long.MAX_VALUE : before, Limit.of(limit));
+        Long next = items.size() == limit ? items.get(items.size() - 1).getBookingId() : null;
+        return new BookingInboxPageDTO(items, next);
+    }
+
+    @Transactional
+    public void bookingCreated(Booking booking) {
+        inboxRepository.saveAll(participants(booking).stream()
+                .map(userId -> new BookingInboxEntry(userId, booking))
+                .toList());
+    }
+
+    @Transactional
+    public void bookingStatusChanged(Booking booking) {
+        inboxRepository.updateStatus(booking.getId(), booking.getStatus());
+    }
+
+    @Transactional
+    public void bookingsRemoved(Collection<Long> bookingIds) {
+        if (!bookingIds.isEmpty()) {
+            inboxRepository.deleteByBookingIds(bookingIds);
+        }
+    }
+
+    @Transactional
+    public void userRenamed(Users user) {
+        inboxRepository.renameFarmer(user.getId(), user.getName());
+        inboxRepository.renameOwner(user.getId(), user.getName());
+    }
+
+    private static Set<Long> participants(Booking booking) {
+        Set<Long> users = new LinkedHashSet<>();
+        if (booking.getFarmer() != null) {
+            users.add(booking.getFarmer().getId());
+        }
+        Users owner = booking.getEquipment().getOwner();
+        if (owner != null) {
+            users.add(owner.getId());
+        }
+        users.removeIf(Objects::isNull);
+        return users;
+    }
+}
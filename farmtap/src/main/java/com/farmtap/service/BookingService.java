@@ -1,27 +1,53 @@
 package com.farmtap.service;
 
 import com.farmtap.dto.BookingRequestDTO; // <-- IMPORT THE NEW DTO
+import com.farmtap.dto.AuditEntryDTO;
+import com.farmtap.dto.BookingInboxPageDTO;
+import com.farmtap.dto.PriceQuoteDTO;
+import com.farmtap.dto.WaitlistEntryDTO;
 import com.farmtap.model.*;
+import com.farmtap.outbox.BookingEvent;
+import com.farmtap.outbox.BookingEventType;
+import com.farmtap.outbox.OutboxPublisher;
+import com.farmtap.region.RegionRouter;
+import com.farmtap.region.Regions;
+import com.farmtap.repository.ArchivedBookingRepository;
 import com.farmtap.repository.BookingRepository;
 import com.farmtap.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.ResourceClosedException; // Corrected import
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.security.Principal;
+import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class BookingService {
 
+    private static final Logger log = LoggerFactory.getLogger(BookingService.class);
+
     // No @Autowired needed on final fields with @RequiredArgsConstructor
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
     private final UserRepository userRepository;
     private final EquipmentService equipmentService;
+    private final OutboxPublisher outboxPublisher;
+    private final AuditService auditService;
+    private final PricingService pricingService;
+    private final BookingInboxService inboxService;
+    private final WaitlistService waitlistService;
+    private final RegionRouter regionRouter;
 
     private Users getUserFromPrincipal(Principal principal) throws IllegalAccessException {
         if (principal == null) {
@@ -31,57 +57,198 @@ public class BookingService {
                 .orElseThrow(() -> new IllegalAccessException("User not found for principal: " + principal.getName()));
     }
 
+    @Transactional
      public Booking createBooking(BookingRequestDTO bookingRequest, Principal principal) throws IllegalAccessException {
          Users user = getUserFromPrincipal(principal);
 
          Equipment equipment = equipmentService.getEquipment(bookingRequest.getEquipmentId());
 
-         Booking newBooking = new Booking();
+         return book(user, equipment, bookingRequest.getStartDate(), bookingRequest.getEndDate());
+    }
+
+    // Shared by createBooking and waitlist promotion
+    private Booking book(Users user, Equipment equipment, LocalDate startDate, LocalDate endDate) {
+        Booking newBooking = new Booking();
 
-        long days = ChronoUnit.DAYS.between(bookingRequest.getStartDate(), bookingRequest.getEndDate()) + 1;
+        long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
         if (days <= 0) {
             throw new IllegalArgumentException("End date must be after or the same as the start date.");
         }
 
-        // 5. Calculate total price
-        double rentalPrice = equipment.getRentalPricePerDay();
-        double total = days * rentalPrice;
+        // 5. Calculate total price from the owner's pricing rules
+        PriceQuoteDTO quote = pricingService.quote(equipment, startDate, endDate, user.getId());
 
         // 6. Populate the new booking entity with data from the DTO and server-side logic
         newBooking.setFarmer(user);
         newBooking.setEquipment(equipment);
-        newBooking.setStartDate(bookingRequest.getStartDate());
-        newBooking.setEndDate(bookingRequest.getEndDate());
-        newBooking.setTotalPrice(total);
+        newBooking.setStartDate(startDate);
+        newBooking.setEndDate(endDate);
+        newBooking.setTotalPrice(quote.getTotalPrice());
         newBooking.setStatus(BookingStatus.PENDING); // Status is always PENDING on creation
 
-        System.out.println(newBooking);
+        Booking saved = bookingRepository.save(newBooking);
+        log.debug("Created booking {}", saved.getId());
+        outboxPublisher.publish(BookingEvent.of(BookingEventType.CREATED, saved, null));
+        auditService.bookingCreated(saved, user.getId());
+        inboxService.bookingCreated(saved);
+        return saved;
+    }
+
+    // ---- Waitlist ----
 
-        return bookingRepository.save(newBooking);
+    /**
+     * Books the dates straight away when nothing pending or approved overlaps them; otherwise
+     * queues the farmer, to be promoted to a PENDING booking when a clashing booking is rejected
+     * or cancelled. Replaces polling the equipment and retrying POST /api/bookings.
+     */
+    @Transactional
+    public WaitlistEntryDTO joinWaitlist(BookingRequestDTO request, Principal principal) throws IllegalAccessException {
+        Users user = getUserFromPrincipal(principal);
+        LocalDate start = request.getStartDate();
+        LocalDate end = request.getEndDate();
+        if (start == null || end == null || end.isBefore(start)) {
+            throw new IllegalArgumentException("End date must be after or the same as the start date.");
+        }
+        if (start.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Start date must not be in the past.");
+        }
+        // Checked now, so the entry can't fail pricing later inside the owner's transaction
+        pricingService.checkRange(start, end);
+
+        NavigableSet<WaitlistEntry> queue = waitlistService.lockQueue(request.getEquipmentId());
+        Optional<WaitlistEntry> waiting = queue.stream()
+                .filter(e -> e.getFarmerId().equals(user.getId())
+                        && e.getStartDate().equals(start) && e.getEndDate().equals(end))
+                .findFirst();
+        if (waiting.isPresent()) {
+            return new WaitlistEntryDTO(waiting.get(), queue.headSet(waiting.get()).size() + 1);
+        }
+        Equipment equipment = equipmentService.getEquipment(request.getEquipmentId());
+        if (!bookingRepository.existsActiveOverlap(equipment.getId(), equipment.getRegion(), start, end)) {
+            Booking booking = book(user, equipment, start, end);
+            return new WaitlistEntryDTO(null, request.getEquipmentId(), start, end, booking.getCreatedAt(), null, booking.getId());
+        }
+        WaitlistEntry entry = waitlistService.enqueue(request.getEquipmentId(), user.getId(), start, end);
+        return new WaitlistEntryDTO(entry, queue.size() + 1);
+    }
+
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryDTO> getWaitlist(Principal principal) throws IllegalAccessException {
+        Users user = getUserFromPrincipal(principal);
+        return waitlistService.getFarmerEntries(user.getId()).stream()
+                .map(entry -> new WaitlistEntryDTO(entry, waitlistService.position(entry)))
+                .toList();
+    }
+
+    @Transactional
+    public void leaveWaitlist(Long entryId, Principal principal) throws IllegalAccessException {
+        Users user = getUserFromPrincipal(principal);
+        waitlistService.leave(entryId, user.getId());
+    }
+
+    // A slot opened up: walk the queue in request order and book every request that now fits.
+    // Requests whose start date has passed, or that pricing would refuse, are dropped on the way:
+    // this runs inside the owner's rejection or cancellation, which one bad entry must not undo.
+    private void promoteWaitlisted(Equipment equipment) {
+        if (!waitlistService.hasWaiting(equipment.getId())) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        for (WaitlistEntry entry : waitlistService.lockQueue(equipment.getId())) {
+            if (entry.getStartDate().isBefore(today)) {
+                waitlistService.remove(entry);
+            } else if (!bookable(entry)) {
+                waitlistService.remove(entry);
+            } else if (!bookingRepository.existsActiveOverlap(equipment.getId(), equipment.getRegion(),
+                    entry.getStartDate(), entry.getEndDate())) {
+                Optional<Users> farmer = userRepository.findById(entry.getFarmerId());
+                waitlistService.remove(entry);
+                farmer.ifPresent(f -> book(f, equipment, entry.getStartDate(), entry.getEndDate()));
+            }
+        }
+    }
+
+    private boolean bookable(WaitlistEntry entry) {
+        try {
+            pricingService.checkRange(entry.getStartDate(), entry.getEndDate());
+            return true;
+        } catch (IllegalArgumentException e) {
+            log.warn("Dropping waitlist entry {} for equipment {}: {}", entry.getId(), entry.getEquipmentId(), e.getMessage());
+            return false;
+        }
     }
 
     // --- The rest of your service is mostly fine, just removed duplicate methods ---
 
-    public List<Booking> getFarmerBookings(Long farmerId) {
-        return bookingRepository.findByFarmerId(farmerId);
+    @Transactional(readOnly = true)
+    public PriceQuoteDTO getQuote(Long equipmentId, LocalDate startDate, LocalDate endDate, Principal principal) throws IllegalAccessException {
+        Users user = getUserFromPrincipal(principal);
+        return pricingService.quote(equipmentId, startDate, endDate, user.getId());
+    }
+
+    // Replayed from the audit log, so it outlives deleted bookings
+    public List<AuditEntryDTO> getHistory(Long id, Principal principal) throws IllegalAccessException {
+        Users currentUser = getUserFromPrincipal(principal);
+        return auditService.bookingHistory(id, currentUser.getId());
+    }
+
+    // The list endpoints read only the hot table unless archived bookings are asked for
+
+    @Transactional(readOnly = true)
+    public List<Booking> getFarmerBookings(Long farmerId, boolean includeArchived) {
+        List<Booking> bookings = bookingRepository.findByFarmerId(farmerId);
+        return includeArchived ? withArchived(bookings, archivedBookingRepository.findByFarmerId(farmerId)) : bookings;
     }
 
-    public List<Booking> getOwnerBookings(Long ownerId) {
-        return bookingRepository.findByEquipmentOwnerId(ownerId);
+    @Transactional(readOnly = true)
+    public List<Booking> getOwnerBookings(Long ownerId, boolean includeArchived) {
+        // All of an owner's bookings are in the owner's region
+        Optional<String> region = userRepository.findById(ownerId).map(owner -> Regions.of(owner.getState()));
+        List<Booking> bookings = regionRouter.list(region,
+                inRegion -> bookingRepository.findByEquipmentOwnerIdAndRegion(ownerId, inRegion),
+                () -> bookingRepository.findByEquipmentOwnerId(ownerId));
+        return includeArchived ? withArchived(bookings, archivedBookingRepository.findByEquipmentOwnerId(ownerId)) : bookings;
     }
 
-    public ResponseEntity<List<Booking>> getAll() {
-        return ResponseEntity.ok(bookingRepository.findAll());
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<Booking>> getAll(boolean includeArchived) {
+        List<Booking> bookings = bookingRepository.findAll();
+        return ResponseEntity.ok(includeArchived ? withArchived(bookings, archivedBookingRepository.findAll()) : bookings);
     }
 
-    public List<Booking> getBookingsForUser(Principal principal) throws IllegalAccessException {
+    // BookingsScreen's list: one primary-key range of the caller's inbox instead of the fleet join
+    @Transactional(readOnly = true)
+    public BookingInboxPageDTO getInbox(Principal principal, Long before, int limit) throws IllegalAccessException {
         Users currentUser = getUserFromPrincipal(principal);
-        return bookingRepository.findBookingsForUser(currentUser.getId());
+        return inboxService.page(currentUser.getId(), before, limit);
     }
 
+    @Transactional(readOnly = true)
+    public List<Booking> getBookingsForUser(Principal principal, boolean includeArchived) throws IllegalAccessException {
+        Users currentUser = getUserFromPrincipal(principal);
+        List<Booking> bookings = bookingRepository.findBookingsForUser(currentUser.getId());
+        return includeArchived
+                ? withArchived(bookings, archivedBookingRepository.findBookingsForUser(currentUser.getId()))
+                : bookings;
+    }
+
+    // Owners deciding on bookings and farmers cancelling them are nearly always in the booking's region
+    private Optional<Booking> findBooking(Long id, Users currentUser) {
+        return regionRouter.find(Optional.of(Regions.of(currentUser.getState())),
+                region -> bookingRepository.findByIdAndRegion(id, region),
+                () -> bookingRepository.findById(id));
+    }
+
+    private static List<Booking> withArchived(List<Booking> hot, List<ArchivedBooking> archived) {
+        List<Booking> all = new ArrayList<>(hot);
+        archived.forEach(a -> all.add(a.toBooking()));
+        return all;
+    }
+
+    @Transactional
     public Booking updateStatus(Long id, BookingStatus status, Principal principal) throws IllegalAccessException {
         Users currentUser = getUserFromPrincipal(principal);
-        Booking booking = bookingRepository.findById(id)
+        Booking booking = findBooking(id, currentUser)
                 .orElseThrow(() -> new ResourceClosedException("Booking not found with id: " + id));
 
         // SECURITY: Only the owner of the equipment can update the status
@@ -89,13 +256,24 @@ public class BookingService {
             throw new IllegalAccessException("Only the equipment owner can update the booking status.");
         }
 
+        BookingStatus previous = booking.getStatus();
         booking.setStatus(status);
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        if (previous != status) {
+            outboxPublisher.publish(BookingEvent.of(BookingEventType.STATUS_CHANGED, saved, previous));
+            auditService.bookingStatusChanged(saved, previous, currentUser.getId());
+            inboxService.bookingStatusChanged(saved);
+            if (status == BookingStatus.REJECTED) {
+                promoteWaitlisted(saved.getEquipment());
+            }
+        }
+        return saved;
     }
 
+    @Transactional
     public void deleteBooking(Long id, Principal principal) throws IllegalAccessException {
         Users currentUser = getUserFromPrincipal(principal);
-        Booking booking = bookingRepository.findById(id)
+        Booking booking = findBooking(id, currentUser)
                 .orElseThrow(() -> new ResourceClosedException("Booking not found with id: " + id));
 
         // SECURITY: Only the farmer who made the booking or the equipment owner can delete it.
@@ -106,6 +284,12 @@ public class BookingService {
             throw new IllegalAccessException("You are not authorized to cancel this booking.");
         }
 
+        outboxPublisher.publish(BookingEvent.of(BookingEventType.DELETED, booking, null));
+        auditService.bookingDeleted(booking, currentUser.getId());
+        inboxService.bookingsRemoved(List.of(id));
         bookingRepository.delete(booking);
+        if (booking.getStatus() != BookingStatus.REJECTED) {
+            promoteWaitlisted(booking.getEquipment());
+        }
     }
 }
\ No newline at end of file
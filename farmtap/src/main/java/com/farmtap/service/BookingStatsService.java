@@ -0,0 +1,100 @@
+package com.farmtap.service;
+
+import com.farmtap.dto.OwnerDashboardDTO;
+import com.farmtap.model.*;
+import com.farmtap.outbox.BookingEvent;
+import com.farmtap.outbox.BookingEventHandler;
+import com.farmtap.repository.EquipmentDailyStatsRepository;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.OwnerDailyStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Keeps the per-owner and per-equipment daily rollups in step with bookings. Fed from the
+ * outbox, so the counters are updated in the same transaction that marks the event delivered
+ * and each event is counted exactly once. Rows are bucketed by the booking's start date.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingStatsService implements BookingEventHandler {
+
+    private final OwnerDailyStatsRepository ownerStatsRepository;
+    private final EquipmentDailyStatsRepository equipmentStatsRepository;
+    private final EquipmentRepository equipmentRepository;
+
+    @Override
+    public void handle(BookingEvent event) {
+        StatsCounters delta = switch (event.type()) {
+            case CREATED -> counters(event, event.status());
+            case STATUS_CHANGED -> counters(event, event.previousStatus()).negate()
+                    .plus(counters(event, event.status()));
+            case DELETED -> counters(event, event.status()).negate();
+        };
+        apply(event, delta);
+    }
+
+    private void apply(BookingEvent event, StatsCounters delta) {
+        if (event.ownerId() == null || event.equipmentId() == null) {
+            return;
+        }
+        LocalDate day = event.startDate();
+
+        // Insert-if-missing first so the increment below is a single atomic UPDATE
+        equipmentStatsRepository.ensureRow(event.equipmentId(), event.ownerId(), day);
+        equipmentStatsRepository.add(event.equipmentId(), day, delta);
+        ownerStatsRepository.ensureRow(event.ownerId(), day);
+        ownerStatsRepository.add(event.ownerId(), day, delta);
+    }
+
+    private static StatsCounters counters(BookingEvent event, BookingStatus status) {
+        return StatsCounters.of(event.startDate(), event.endDate(), event.totalPrice(),
+                status != null ? status : BookingStatus.PENDING);
+    }
+
+    @Transactional(readOnly = true)
+    public OwnerDashboardDTO getOwnerDashboard(Long ownerId, LocalDate from, LocalDate to) {
+        long windowDays = ChronoUnit.DAYS.between(from, to) + 1;
+
+        StatsCounters totals = new StatsCounters();
+        Map<YearMonth, StatsCounters> monthly = new TreeMap<>();
+        for (OwnerDailyStats row : ownerStatsRepository.findByOwnerIdAndStatDateBetweenOrderByStatDate(ownerId, from, to)) {
+            totals = totals.plus(row.getCounters());
+            monthly.merge(YearMonth.from(row.getStatDate()), row.getCounters(), StatsCounters::plus);
+        }
+
+        Map<Long, StatsCounters> perEquipment = new HashMap<>();
+        for (EquipmentDailyStats row : equipmentStatsRepository.findByOwnerIdAndStatDateBetween(ownerId, from, to)) {
+            perEquipment.merge(row.getEquipmentId(), row.getCounters(), StatsCounters::plus);
+        }
+
+        List<OwnerDashboardDTO.MonthSummary> months = new ArrayList<>();
+        monthly.forEach((month, counters) -> months.add(new OwnerDashboardDTO.MonthSummary(month.toString(), counters,
+                approvalRate(counters))));
+
+        List<OwnerDashboardDTO.EquipmentSummary> machines = new ArrayList<>();
+        for (Equipment equipment : equipmentRepository.findByOwnerId(ownerId)) {
+            StatsCounters counters = perEquipment.getOrDefault(equipment.getId(), new StatsCounters());
+            machines.add(new OwnerDashboardDTO.EquipmentSummary(
+                    equipment.getId(),
+                    equipment.getName(),
+                    counters,
+                    (double) counters.getApprovedDays() / windowDays,
+                    approvalRate(counters)));
+        }
+
+        return new OwnerDashboardDTO(ownerId, from, to, totals, approvalRate(totals), months, machines);
+    }
+
+    // Share of decided bookings that were approved; null until the owner has decided any
+    private static Double approvalRate(StatsCounters counters) {
+        long decided = counters.getApprovedCount() + counters.getRejectedCount();
+        return decided == 0 ? null : (double) counters.getApprovedCount() / decided;
+    }
+}
@@ -1,12 +1,21 @@
 package com.farmtap.service;
 
+import com.farmtap.dto.AuditEntryDTO;
 import com.farmtap.dto.EquipmentDTO;
 import com.farmtap.model.Equipment;
+import com.farmtap.model.Users;
+import com.farmtap.region.RegionRouter;
+import com.farmtap.region.Regions;
+import com.farmtap.repository.BookingRepository;
 import com.farmtap.repository.EquipmentRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -14,35 +23,113 @@ import java.util.Optional;
 public class EquipmentService {
 
     private final EquipmentRepository equipmentRepository;
+    private final PricingService pricingService;
+    private final AuditService auditService;
+    private final SuggestionService suggestionService;
+    private final BookingRepository bookingRepository;
+    private final RegionRouter regionRouter;
 
+    @Transactional
     public Equipment addEquipment(Equipment equipment) {
-        return equipmentRepository.save(equipment);
+        Equipment saved = equipmentRepository.save(equipment);
+        auditService.equipmentCreated(saved);
+        suggestionService.equipmentAdded(saved);
+        return saved;
     }
 
+    @Transactional(readOnly = true)
     public List<Equipment> getAllAvailableEquipment() {
         return equipmentRepository.findByIsAvailableTrue();
     }
 
+    // region as in ?region=: null for the caller's region (every region if it has nothing), "all", or a state
+    @Transactional(readOnly = true)
+    public List<Equipment> getAvailableEquipment(String region) {
+        return regionRouter.listForCaller(region,
+                equipmentRepository::findByRegionAndIsAvailableTrue,
+                equipmentRepository::findByIsAvailableTrue);
+    }
+
+    @Transactional(readOnly = true)
     public List<Equipment> getOwnerEquipment(Long ownerId) {
         return equipmentRepository.findByOwnerId(ownerId);
     }
 
+    // ?fields= variants: only the requested columns are read, keyed by EquipmentDTO field names
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAvailableEquipmentFields(Collection<String> fields, String region) {
+        return regionRouter.listForCaller(region,
+                inRegion -> equipmentRepository.findAvailableFieldsInRegion(inRegion, fields),
+                () -> equipmentRepository.findAvailableFields(fields));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getOwnerEquipmentFields(Long ownerId, Collection<String> fields) {
+        return equipmentRepository.findFieldsByOwnerId(ownerId, fields);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getEquipmentFieldsById(Long id, Collection<String> fields) {
+        return equipmentRepository.findFieldsById(id, fields);
+    }
+
+    @Transactional(readOnly = true)
     public Equipment getEquipment(Long equipmentId) {
         return equipmentRepository.findById(equipmentId).get();
     }
 
+    @Transactional
     public void deleteEquipment(Long id) {
+        equipmentRepository.findById(id).ifPresent(equipment -> {
+            auditService.equipmentDeleted(equipment);
+            suggestionService.equipmentRemoved(equipment);
+        });
         equipmentRepository.deleteById(id);
+        pricingService.evictEquipment(id);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Equipment> getEquipmentById(Long id) {
         return equipmentRepository.findById(id); // avoid using getById (lazy load)
     }
 
+    @Transactional
+    public Equipment updateImage(Long id, String imageUrl, Long ownerId) {
+        Equipment equipment = equipmentRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Equipment not found with id: " + id));
+        if (equipment.getOwner() == null || !equipment.getOwner().getId().equals(ownerId)) {
+            throw new IllegalArgumentException("Only the owner can change this equipment's image.");
+        }
+        equipment.setImageUrl(imageUrl);
+        Equipment saved = equipmentRepository.save(equipment);
+        auditService.equipmentImageChanged(saved);
+        return saved;
+    }
+
+    public List<AuditEntryDTO> getHistory(Long id, Long ownerId) throws IllegalAccessException {
+        return auditService.equipmentHistory(id, ownerId);
+    }
+
+    // The owner changed state. Equipment is updated entity by entity so the caches hear about it;
+    // its bookings follow in one statement (nothing caches bookings)
+    @Transactional
+    public void ownerMoved(Users owner) {
+        String region = Regions.of(owner.getState());
+        for (Equipment equipment : equipmentRepository.findByOwnerId(owner.getId())) {
+            equipment.setRegion(region);
+        }
+        bookingRepository.moveOwnerBookings(owner.getId(), region);
+    }
+
+    @Transactional
     public void updateEquipment(Equipment equipment) {
         Equipment oldEquipment = equipmentRepository.findById(equipment.getId()).orElseThrow();
+        Boolean previous = oldEquipment.getIsAvailable();
         oldEquipment.setIsAvailable(equipment.getIsAvailable());
         Equipment updated = equipmentRepository.save(oldEquipment);
+        if (!Objects.equals(previous, updated.getIsAvailable())) {
+            auditService.equipmentAvailabilityChanged(updated, previous);
+        }
         new EquipmentDTO(updated);
     }
 
@@ -0,0 +1,116 @@
+package com.farmtap.service;
+
+import com.farmtap.cache.CacheInvalidationListener;
+import com.farmtap.cache.EntityType;
+import com.farmtap.dto.EquipmentDTO;
+import com.farmtap.resilience.DatabaseGuard;
+import com.farmtap.resilience.DatabaseUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last known good copy of the equipment listing and of individual equipment details, served
+ * (marked stale) while the database is unavailable. The listing is re-read in the background
+ * through the listing bulkhead; details are remembered whenever a detail read succeeds.
+ */
+@Service
+@RequiredArgsConstructor
+public class EquipmentSnapshots implements CacheInvalidationListener {
+
+    public record Snapshot<T>(T value, Instant takenAt) {
+        public long ageSeconds() {
+            return Math.max(0, Duration.between(takenAt, Instant.now()).toSeconds());
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(EquipmentSnapshots.class);
+
+    private final EquipmentService equipmentService;
+    private final DatabaseGuard databaseGuard;
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot<List<EquipmentDTO>> listing;
+    private volatile Map<Long, Snapshot<EquipmentDTO>> details = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${farmtap.resilience.snapshot-refresh:60s}",
+            initialDelayString = "${farmtap.resilience.snapshot-refresh:60s}")
+    public void refresh() {
+        List<EquipmentDTO> available;
+        try {
+            available = databaseGuard.listing(() ->
+                    equipmentService.getAllAvailableEquipment().stream().map(EquipmentDTO::new).toList());
+        } catch (DatabaseUnavailableException e) {
+            log.debug("Keeping the equipment snapshot from {}: {}", listing == null ? null : listing.takenAt(), e.getMessage());
+            return;
+        }
+        Instant now = Instant.now();
+        Instant previous = listing == null ? Instant.MIN : listing.takenAt();
+
+        // Rebuilt from the listing each time, keeping only details read since the last refresh,
+        // so removed equipment does not linger
+        Map<Long, Snapshot<EquipmentDTO>> fresh = new ConcurrentHashMap<>();
+        details.forEach((id, snapshot) -> {
+            if (snapshot.takenAt().isAfter(previous)) {
+                fresh.put(id, snapshot);
+            }
+        });
+        for (EquipmentDTO dto : available) {
+            fresh.putIfAbsent(dto.getId(), new Snapshot<>(dto, now));
+        }
+        details = fresh;
+        listing = new Snapshot<>(available, now);
+    }
+
+    public void remember(EquipmentDTO equipment) {
+        details.put(equipment.getId(), new Snapshot<>(equipment, Instant.now()));
+    }
+
+    // Changed details are dropped; the listing is left for the next refresh, since a stale
+    // listing is still better than a 503 while the database is down
+    @Override
+    public void evict(EntityType type, Set<Long> ids) {
+        if (type == EntityType.EQUIPMENT) {
+            ids.forEach(details::remove);
+        }
+    }
+
+    @Override
+    public void flush() {
+        details.clear();
+    }
+
+    public Optional<Snapshot<List<EquipmentDTO>>> listing() {
+        return Optional.ofNullable(listing);
+    }
+
+    public Optional<Snapshot<EquipmentDTO>> detail(Long id) {
+        return Optional.ofNullable(details.get(id));
+    }
+
+    // Same shape as a ?fields= response from EquipmentFieldsRepository, built from the cached DTO
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> project(EquipmentDTO equipment, Collection<String> fields) {
+        Map<String, Object> all = objectMapper.convertValue(equipment, Map.class);
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", equipment.getId());
+        for (String field : fields) {
+            String name = field.trim();
+            if (all.containsKey(name)) {
+                row.put(name, all.get(name));
+            }
+        }
+        return row;
+    }
+}
@@ -0,0 +1,89 @@
+package com.farmtap.service;
+
+import java.util.*;
+
+/**
+ * Exponentially time-decayed booking scores per district, with the top-k equipment of each
+ * district kept in a min-heap.
+ *
+ * Scores are stored relative to a shared base time: a booking at time t adds
+ * {@code weight * 2^((t - base) / halfLife)}, so older bookings never need touching and all
+ * scores stay directly comparable. Since stored scores only grow, an item can only enter a
+ * district's top-k on its own increment, which keeps the heap exact. The base is moved forward
+ * (rescaling everything) before the exponent gets large enough to lose precision.
+ */
+class PopularityRanker {
+
+    private static final double REBASE_AFTER_HALF_LIVES = 40;
+    private static final double FORGET_BELOW = 1e-6;
+
+    private final double halfLifeMillis;
+    private final int topK;
+    private final Map<String, District> districts = new HashMap<>();
+    private long baseMillis;
+
+    private static final class District {
+        final Map<Long, Double> scores = new HashMap<>();
+        final PriorityQueue<Long> top;
+
+        District() {
+            top = new PriorityQueue<>(Comparator.comparingDouble(this::score).thenComparing(Comparator.reverseOrder()));
+        }
+
+        double score(Long equipmentId) {
+            return scores.getOrDefault(equipmentId, 0.0);
+        }
+    }
+
+    PopularityRanker(long halfLifeMillis, int topK, long nowMillis) {
+        this.halfLifeMillis = halfLifeMillis;
+        this.topK = topK;
+        this.baseMillis = nowMillis;
+    }
+
+    synchronized void record(String district, long equipmentId, double weight, long atMillis) {
+        String key = normalize(district);
+        if (key.isEmpty() || weight <= 0) {
+            return;
+        }
+        if ((atMillis - baseMillis) / halfLifeMillis > REBASE_AFTER_HALF_LIVES) {
+            rebase(atMillis);
+        }
+        double increment = weight * Math.pow(2, (atMillis - baseMillis) / halfLifeMillis);
+
+        District d = districts.computeIfAbsent(key, k -> new District());
+        // Take it out before its score changes so the heap never sees a stale key
+        boolean inTop = d.top.remove(equipmentId);
+        d.scores.merge(equipmentId, increment, Double::sum);
+        if (inTop || d.top.size() < topK) {
+            d.top.add(equipmentId);
+        } else if (d.score(equipmentId) > d.score(d.top.peek())) {
+            d.top.poll();
+            d.top.add(equipmentId);
+        }
+    }
+
+    // Most popular first
+    synchronized List<Long> top(String district, int limit) {
+        District d = districts.get(normalize(district));
+        if (d == null) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(d.top);
+        ids.sort(Comparator.comparingDouble(d::score).reversed().thenComparing(Comparator.naturalOrder()));
+        return ids.subList(0, Math.min(limit, ids.size()));
+    }
+
+    private void rebase(long nowMillis) {
+        double factor = Math.pow(2, -(nowMillis - baseMillis) / halfLifeMillis);
+        for (District d : districts.values()) {
+            d.scores.replaceAll((id, score) -> score * factor);
+            d.scores.entrySet().removeIf(e -> e.getValue() < FORGET_BELOW && !d.top.contains(e.getKey()));
+        }
+        baseMillis = nowMillis;
+    }
+
+    static String normalize(String district) {
+        return district == null ? "" : district.trim().toLowerCase(Locale.ROOT);
+    }
+}
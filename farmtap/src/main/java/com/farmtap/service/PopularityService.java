@@ -0,0 +1,127 @@
+package com.farmtap.service;
+
+import com.farmtap.model.BookingStatus;
+import com.farmtap.model.Equipment;
+import com.farmtap.outbox.BookingEvent;
+import com.farmtap.outbox.BookingEventHandler;
+import com.farmtap.repository.BookingRepository;
+import com.farmtap.repository.BookingSignal;
+import com.farmtap.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * "Most booked in your district" ranking for the equipment list. A booking counts towards the
+ * district of the farmer who made it; an approval counts again, more strongly.
+ *
+ * Built from the last few half-lives of bookings at startup and rebuilt from the database on a
+ * schedule. In between, the events this instance drains from the booking outbox are added as
+ * they commit; events drained by other instances only show up at the next rebuild, so the
+ * rebuild interval bounds how far instances' rankings can drift apart.
+ * Events count once their delivery commits: a delivery that fails is retried, and must not
+ * have counted the first time.
+ */
+@Service
+public class PopularityService implements BookingEventHandler {
+
+    static final double BOOKED_WEIGHT = 1.0;
+    static final double APPROVED_WEIGHT = 2.0;
+
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final Duration halfLife;
+    private final int topK;
+    private volatile PopularityRanker ranker;
+
+    public PopularityService(BookingRepository bookingRepository,
+                             UserRepository userRepository,
+                             @Value("${farmtap.popularity.half-life:7d}") Duration halfLife,
+                             @Value("${farmtap.popularity.top-k:20}") int topK) {
+        this.bookingRepository = bookingRepository;
+        this.userRepository = userRepository;
+        this.halfLife = halfLife;
+        this.topK = topK;
+    }
+
+    // Swaps in a fresh ranker once it's built; events recorded into the old one meanwhile
+    // are already in the database and come back with the next rebuild
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${farmtap.popularity.rebuild-interval:5m}",
+            initialDelayString = "${farmtap.popularity.rebuild-interval:5m}")
+    void warmUp() {
+        long now = System.currentTimeMillis();
+        PopularityRanker rebuilt = new PopularityRanker(halfLife.toMillis(), topK, now);
+        // Anything older than four half-lives weighs less than 7% and is left out
+        LocalDateTime since = LocalDateTime.now().minus(halfLife.multipliedBy(4));
+        for (BookingSignal signal : bookingRepository.findSignalsSince(since)) {
+            long at = millis(signal.getCreatedAt());
+            rebuilt.record(signal.getDistrict(), signal.getEquipmentId(), BOOKED_WEIGHT, at);
+            if (signal.getStatus() == BookingStatus.APPROVED) {
+                rebuilt.record(signal.getDistrict(), signal.getEquipmentId(), APPROVED_WEIGHT, at);
+            }
+        }
+        ranker = rebuilt;
+    }
+
+    @Override
+    public void handle(BookingEvent event) {
+        double weight = switch (event.type()) {
+            case CREATED -> BOOKED_WEIGHT;
+            case STATUS_CHANGED -> event.status() == BookingStatus.APPROVED ? APPROVED_WEIGHT : 0;
+            case DELETED -> 0;
+        };
+        if (weight == 0 || event.farmerId() == null || event.equipmentId() == null) {
+            return;
+        }
+        userRepository.findById(event.farmerId())
+                .map(farmer -> farmer.getDistrict())
+                .ifPresent(district -> afterCommit(() ->
+                        ranker.record(district, event.equipmentId(), weight, millis(event.occurredAt()))));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // The district's top equipment first, in rank order; everything else keeps its order
+    public List<Equipment> sortByPopularity(List<Equipment> equipment, String district) {
+        return sortByPopularity(equipment, Equipment::getId, district);
+    }
+
+    public <T> List<T> sortByPopularity(List<T> items, Function<T, Long> id, String district) {
+        List<Long> top = ranker.top(district, topK);
+        if (top.isEmpty()) {
+            return items;
+        }
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < top.size(); i++) {
+            rank.put(top.get(i), i);
+        }
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparingInt(item -> rank.getOrDefault(id.apply(item), Integer.MAX_VALUE)));
+        return sorted;
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time == null ? System.currentTimeMillis() : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,135 @@
+package com.farmtap.service;
+
+import com.farmtap.dto.PriceQuoteDTO;
+import com.farmtap.model.PricingRule;
+import com.farmtap.model.PricingRuleType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.*;
+
+/**
+ * One piece of equipment's pricing rules, compiled into lookup tables so a quote is a
+ * single pass over the rental days without touching the database.
+ */
+class PricingPlan {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final int SLOTS = 12 * 31;
+
+    final Long equipmentId;
+    final Long ownerId;
+    private final BigDecimal rentalPricePerDay;
+    // Seasonal percent for every month-day, null when no season covers it
+    private final BigDecimal[] seasonalPercent = new BigDecimal[SLOTS];
+    private final BigDecimal weekendPercent;
+    private final NavigableMap<Integer, BigDecimal> longRentalPercentByMinDays = new TreeMap<>();
+    private final BigDecimal memberPercent;
+    private final Set<Long> memberFarmerIds;
+
+    PricingPlan(Long equipmentId, Long ownerId, BigDecimal rentalPricePerDay,
+                List<PricingRule> ownerRules, Set<Long> memberFarmerIds) {
+        this.equipmentId = equipmentId;
+        this.ownerId = ownerId;
+        this.rentalPricePerDay = rentalPricePerDay != null ? rentalPricePerDay : BigDecimal.ZERO;
+        this.memberFarmerIds = memberFarmerIds;
+
+        Map<PricingRuleType, List<PricingRule>> effective = effectiveRules(ownerRules);
+
+        // Earlier rules win where seasons overlap
+        for (PricingRule rule : effective.getOrDefault(PricingRuleType.SEASONAL, List.of())) {
+            int from = slot(MonthDay.parse("--" + rule.getSeasonStart()));
+            int to = slot(MonthDay.parse("--" + rule.getSeasonEnd()));
+            for (int i = from; ; i = (i + 1) % SLOTS) {
+                if (seasonalPercent[i] == null) {
+                    seasonalPercent[i] = rule.getAdjustmentPercent();
+                }
+                if (i == to) {
+                    break;
+                }
+            }
+        }
+        for (PricingRule rule : effective.getOrDefault(PricingRuleType.LONG_RENTAL, List.of())) {
+            longRentalPercentByMinDays.putIfAbsent(rule.getMinDays(), rule.getAdjustmentPercent());
+        }
+        this.weekendPercent = first(effective.get(PricingRuleType.WEEKEND));
+        this.memberPercent = first(effective.get(PricingRuleType.MEMBER));
+    }
+
+    PriceQuoteDTO quote(LocalDate start, LocalDate end, Long farmerId) {
+        long days = start.datesUntil(end.plusDays(1)).count();
+        BigDecimal baseTotal = rentalPricePerDay.multiply(BigDecimal.valueOf(days));
+
+        BigDecimal adjustedPercentDays = BigDecimal.ZERO; // sum over days of (100 + daily adjustments)
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            BigDecimal percent = HUNDRED;
+            BigDecimal seasonal = seasonalPercent[slot(MonthDay.from(day))];
+            if (seasonal != null) {
+                percent = percent.add(seasonal);
+            }
+            if (weekendPercent != null
+                    && (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY)) {
+                percent = percent.add(weekendPercent);
+            }
+            adjustedPercentDays = adjustedPercentDays.add(percent.max(BigDecimal.ZERO));
+        }
+        BigDecimal subtotal = rentalPricePerDay.multiply(adjustedPercentDays).divide(HUNDRED);
+
+        BigDecimal total = subtotal;
+        Map.Entry<Integer, BigDecimal> longRental = longRentalPercentByMinDays.floorEntry((int) Math.min(days, Integer.MAX_VALUE));
+        BigDecimal longRentalPercent = longRental != null ? longRental.getValue() : null;
+        if (longRentalPercent != null) {
+            total = applyPercent(total, longRentalPercent);
+        }
+        BigDecimal appliedMemberPercent = memberPercent != null && farmerId != null && memberFarmerIds.contains(farmerId)
+                ? memberPercent : null;
+        if (appliedMemberPercent != null) {
+            total = applyPercent(total, appliedMemberPercent);
+        }
+
+        return PriceQuoteDTO.builder()
+                .equipmentId(equipmentId)
+                .startDate(start)
+                .endDate(end)
+                .days(days)
+                .rentalPricePerDay(rentalPricePerDay)
+                .baseTotal(baseTotal.setScale(2, RoundingMode.HALF_UP))
+                .dailyAdjustments(subtotal.subtract(baseTotal).setScale(2, RoundingMode.HALF_UP))
+                .longRentalPercent(longRentalPercent)
+                .memberPercent(appliedMemberPercent)
+                .totalPrice(total.max(BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP))
+                .build();
+    }
+
+    // Per type, rules for this equipment replace the owner-wide ones
+    private Map<PricingRuleType, List<PricingRule>> effectiveRules(List<PricingRule> ownerRules) {
+        Map<PricingRuleType, List<PricingRule>> specific = new EnumMap<>(PricingRuleType.class);
+        Map<PricingRuleType, List<PricingRule>> ownerWide = new EnumMap<>(PricingRuleType.class);
+        List<PricingRule> sorted = new ArrayList<>(ownerRules);
+        sorted.sort(Comparator.comparing(PricingRule::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+        for (PricingRule rule : sorted) {
+            if (rule.getEquipmentId() == null) {
+                ownerWide.computeIfAbsent(rule.getType(), t -> new ArrayList<>()).add(rule);
+            } else if (rule.getEquipmentId().equals(equipmentId)) {
+                specific.computeIfAbsent(rule.getType(), t -> new ArrayList<>()).add(rule);
+            }
+        }
+        ownerWide.putAll(specific);
+        return ownerWide;
+    }
+
+    private static BigDecimal first(List<PricingRule> rules) {
+        return rules == null || rules.isEmpty() ? null : rules.get(0).getAdjustmentPercent();
+    }
+
+    private static BigDecimal applyPercent(BigDecimal amount, BigDecimal percent) {
+        return amount.multiply(HUNDRED.add(percent)).divide(HUNDRED);
+    }
+
+    private static int slot(MonthDay monthDay) {
+        return (monthDay.getMonthValue() - 1) * 31 + (monthDay.getDayOfMonth() - 1);
+    }
+}
@@ -0,0 +1,225 @@
+package com.farmtap.service;
+
+import com.farmtap.cache.CacheInvalidationListener;
+import com.farmtap.cache.EntityType;
+import com.farmtap.dto.PriceQuoteDTO;
+import com.farmtap.model.*;
+import com.farmtap.repository.CooperativeMemberRepository;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.PricingRuleRepository;
+import com.farmtap.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.MonthDay;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Prices bookings from the owner's rules. Each equipment's rules are compiled into a
+ * {@link PricingPlan} on first use and cached until the owner changes their rules or members,
+ * on this instance or (through the {@link com.farmtap.cache.InvalidationBus}) any other.
+ */
+@Service
+@RequiredArgsConstructor
+public class PricingService implements CacheInvalidationListener {
+
+    private static final BigDecimal MIN_PERCENT = BigDecimal.valueOf(-100);
+    private static final BigDecimal MAX_PERCENT = BigDecimal.valueOf(500);
+
+    private final PricingRuleRepository pricingRuleRepository;
+    private final CooperativeMemberRepository cooperativeMemberRepository;
+    private final EquipmentRepository equipmentRepository;
+    private final UserRepository userRepository;
+
+    private final Map<Long, PricingPlan> plans = new ConcurrentHashMap<>();
+    // Bumped on every eviction so a plan compiled from pre-change rules is never cached
+    private final AtomicLong generation = new AtomicLong();
+
+    // Plans price day by day, so the range is capped before one is asked to
+    @Value("${farmtap.pricing.max-rental-days:366}")
+    private int maxRentalDays;
+
+    @Transactional(readOnly = true)
+    public PriceQuoteDTO quote(Long equipmentId, LocalDate start, LocalDate end, Long farmerId) {
+        PricingPlan plan = plans.get(equipmentId);
+        if (plan == null) {
+            Equipment equipment = equipmentRepository.findById(equipmentId)
+                    .orElseThrow(() -> new IllegalArgumentException("Equipment not found with id: " + equipmentId));
+            plan = planFor(equipment);
+        }
+        return quote(plan, start, end, farmerId);
+    }
+
+    @Transactional(readOnly = true)
+    public PriceQuoteDTO quote(Equipment equipment, LocalDate start, LocalDate end, Long farmerId) {
+        PricingPlan plan = plans.get(equipment.getId());
+        return quote(plan != null ? plan : planFor(equipment), start, end, farmerId);
+    }
+
+    private PriceQuoteDTO quote(PricingPlan plan, LocalDate start, LocalDate end, Long farmerId) {
+        checkRange(start, end);
+        return plan.quote(start, end, farmerId);
+    }
+
+    // The date checks every quote runs; not transactional, so a rejection never marks the caller's transaction
+    public void checkRange(LocalDate start, LocalDate end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start and end dates are required.");
+        }
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("End date must be after or the same as the start date.");
+        }
+        if (ChronoUnit.DAYS.between(start, end) + 1 > maxRentalDays) {
+            throw new IllegalArgumentException("Rentals can be at most " + maxRentalDays + " days long.");
+        }
+    }
+
+    private PricingPlan planFor(Equipment equipment) {
+        long seen = generation.get();
+        Long ownerId = equipment.getOwner() != null ? equipment.getOwner().getId() : null;
+        List<PricingRule> rules = ownerId != null ? pricingRuleRepository.findByOwnerId(ownerId) : List.of();
+        Set<Long> members = ownerId != null
+                ? cooperativeMemberRepository.findByOwnerId(ownerId).stream()
+                        .map(CooperativeMember::getFarmerId)
+                        .collect(Collectors.toUnmodifiableSet())
+                : Set.of();
+        PricingPlan plan = new PricingPlan(equipment.getId(), ownerId, equipment.getRentalPricePerDay(), rules, members);
+        if (generation.get() == seen) {
+            plans.put(equipment.getId(), plan);
+        }
+        return plan;
+    }
+
+    // ---- Rule and member management (owner scoped) ----
+
+    @Transactional(readOnly = true)
+    public List<PricingRule> getRules(Long ownerId) {
+        return pricingRuleRepository.findByOwnerId(ownerId);
+    }
+
+    @Transactional
+    public PricingRule addRule(Long ownerId, PricingRule rule) {
+        validate(ownerId, rule);
+        rule.setId(null);
+        rule.setOwnerId(ownerId);
+        rule.setCreatedAt(LocalDateTime.now());
+        PricingRule saved = pricingRuleRepository.save(rule);
+        evictOwnerAfterCommit(ownerId);
+        return saved;
+    }
+
+    @Transactional
+    public void deleteRule(Long ownerId, Long ruleId) {
+        PricingRule rule = pricingRuleRepository.findById(ruleId)
+                .filter(r -> r.getOwnerId().equals(ownerId))
+                .orElseThrow(() -> new IllegalArgumentException("Pricing rule not found with id: " + ruleId));
+        pricingRuleRepository.delete(rule);
+        evictOwnerAfterCommit(ownerId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CooperativeMember> getMembers(Long ownerId) {
+        return cooperativeMemberRepository.findByOwnerId(ownerId);
+    }
+
+    @Transactional
+    public CooperativeMember addMember(Long ownerId, String farmerEmail) {
+        Users farmer = userRepository.findByEmail(farmerEmail)
+                .orElseThrow(() -> new IllegalArgumentException("No user registered with email: " + farmerEmail));
+        CooperativeMember member = cooperativeMemberRepository.findByOwnerIdAndFarmerId(ownerId, farmer.getId())
+                .orElseGet(() -> cooperativeMemberRepository.save(
+                        CooperativeMember.builder().ownerId(ownerId).farmerId(farmer.getId()).build()));
+        evictOwnerAfterCommit(ownerId);
+        return member;
+    }
+
+    @Transactional
+    public void removeMember(Long ownerId, Long farmerId) {
+        cooperativeMemberRepository.findByOwnerIdAndFarmerId(ownerId, farmerId)
+                .ifPresent(cooperativeMemberRepository::delete);
+        evictOwnerAfterCommit(ownerId);
+    }
+
+    public void evictEquipment(Long equipmentId) {
+        generation.incrementAndGet();
+        plans.remove(equipmentId);
+    }
+
+    public void evictOwner(Long ownerId) {
+        generation.incrementAndGet();
+        plans.values().removeIf(plan -> ownerId.equals(plan.ownerId));
+    }
+
+    @Override
+    public void evict(EntityType type, Set<Long> ids) {
+        switch (type) {
+            case EQUIPMENT -> ids.forEach(this::evictEquipment);
+            case OWNER_PRICING -> ids.forEach(this::evictOwner);
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        generation.incrementAndGet();
+        plans.clear();
+    }
+
+    // Evict again after commit: a quote running while this transaction was open may have cached the old rules
+    private void evictOwnerAfterCommit(Long ownerId) {
+        evictOwner(ownerId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictOwner(ownerId);
+                }
+            });
+        }
+    }
+
+    private void validate(Long ownerId, PricingRule rule) {
+        if (rule.getType() == null) {
+            throw new IllegalArgumentException("Rule type is required.");
+        }
+        BigDecimal percent = rule.getAdjustmentPercent();
+        if (percent == null || percent.compareTo(MIN_PERCENT) < 0 || percent.compareTo(MAX_PERCENT) > 0) {
+            throw new IllegalArgumentException("adjustmentPercent must be between -100 and 500.");
+        }
+        if (rule.getEquipmentId() != null) {
+            Equipment equipment = equipmentRepository.findById(rule.getEquipmentId())
+                    .orElseThrow(() -> new IllegalArgumentException("Equipment not found with id: " + rule.getEquipmentId()));
+            if (equipment.getOwner() == null || !ownerId.equals(equipment.getOwner().getId())) {
+                throw new IllegalArgumentException("You can only add rules for your own equipment.");
+            }
+        }
+        switch (rule.getType()) {
+            case SEASONAL -> {
+                try {
+                    MonthDay.parse("--" + rule.getSeasonStart());
+                    MonthDay.parse("--" + rule.getSeasonEnd());
+                } catch (Exception e) {
+                    throw new IllegalArgumentException("seasonStart and seasonEnd must be MM-dd.");
+                }
+            }
+            case LONG_RENTAL -> {
+                if (rule.getMinDays() == null || rule.getMinDays() < 2) {
+                    throw new IllegalArgumentException("minDays must be at least 2 for a long-rental rule.");
+                }
+            }
+            default -> { }
+        }
+    }
+}
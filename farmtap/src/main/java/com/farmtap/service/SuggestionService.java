@@ -0,0 +1,119 @@
+package com.farmtap.service;
+
+import com.farmtap.dto.SuggestionDTO;
+import com.farmtap.model.Equipment;
+import com.farmtap.model.Users;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.TermCount;
+import com.farmtap.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Typeahead for the free-text equipment and address fields, served from in-memory tries.
+ * Loaded once at startup from aggregate queries, then kept current as equipment and users
+ * are written (applied after commit, so rolled-back writes don't leave suggestions behind).
+ */
+@Service
+@RequiredArgsConstructor
+public class SuggestionService {
+
+    public enum Field {
+        TYPE,      // Equipment.type
+        LOCATION,  // Equipment.location plus users' villages and districts
+        VILLAGE,   // Users.villageName
+        DISTRICT   // Users.district
+    }
+
+    private final EquipmentRepository equipmentRepository;
+    private final UserRepository userRepository;
+
+    private final Map<Field, SuggestionTrie> tries = new EnumMap<>(Field.class);
+
+    @PostConstruct
+    void load() {
+        for (Field field : Field.values()) {
+            tries.put(field, new SuggestionTrie());
+        }
+        addAll(equipmentRepository.countByType(), Field.TYPE);
+        addAll(equipmentRepository.countByLocation(), Field.LOCATION);
+        addAll(userRepository.countByVillageName(), Field.VILLAGE, Field.LOCATION);
+        addAll(userRepository.countByDistrict(), Field.DISTRICT, Field.LOCATION);
+    }
+
+    private void addAll(List<TermCount> counts, Field... fields) {
+        for (TermCount count : counts) {
+            for (Field field : fields) {
+                tries.get(field).add(count.getTerm(), count.getCount());
+            }
+        }
+    }
+
+    public List<SuggestionDTO> suggest(String field, String prefix, int limit) {
+        Field parsed;
+        try {
+            parsed = Field.valueOf(field.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown field '" + field + "', expected one of type, location, village, district");
+        }
+        return tries.get(parsed).complete(prefix == null ? "" : prefix, Math.min(limit, SuggestionTrie.TOP_K));
+    }
+
+    public void equipmentAdded(Equipment equipment) {
+        afterCommit(() -> equipment(equipment, 1));
+    }
+
+    public void equipmentRemoved(Equipment equipment) {
+        afterCommit(() -> equipment(equipment, -1));
+    }
+
+    public void userAdded(Users user) {
+        afterCommit(() -> user(user.getVillageName(), user.getDistrict(), 1));
+    }
+
+    public void userAddressChanged(String oldVillage, String oldDistrict, Users user) {
+        String village = user.getVillageName();
+        String district = user.getDistrict();
+        afterCommit(() -> {
+            user(oldVillage, oldDistrict, -1);
+            user(village, district, 1);
+        });
+    }
+
+    public void userRemoved(Users user) {
+        afterCommit(() -> user(user.getVillageName(), user.getDistrict(), -1));
+    }
+
+    private void equipment(Equipment equipment, int delta) {
+        tries.get(Field.TYPE).add(equipment.getType(), delta);
+        tries.get(Field.LOCATION).add(equipment.getLocation(), delta);
+    }
+
+    private void user(String village, String district, int delta) {
+        tries.get(Field.VILLAGE).add(village, delta);
+        tries.get(Field.DISTRICT).add(district, delta);
+        tries.get(Field.LOCATION).add(village, delta);
+        tries.get(Field.LOCATION).add(district, delta);
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
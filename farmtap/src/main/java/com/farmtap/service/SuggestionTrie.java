@@ -0,0 +1,106 @@
+package com.farmtap.service;
+
+import com.farmtap.dto.SuggestionDTO;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prefix trie over normalized terms (trimmed, single-spaced, lower case) with a usage count per
+ * term. Every node caches the top {@link #TOP_K} completions below it, so a lookup is a walk
+ * down the prefix and nothing more. Writes are serialized and rebuild the caches along the
+ * changed path; reads take no lock and see either the old or the new cache of each node.
+ */
+class SuggestionTrie {
+
+    static final int TOP_K = 10;
+
+    private static final SuggestionDTO[] NONE = new SuggestionDTO[0];
+    private static final Comparator<SuggestionDTO> RANK = Comparator
+            .comparingLong(SuggestionDTO::getCount).reversed()
+            .thenComparing(SuggestionDTO::getText);
+
+    private static final class Node {
+        final Node parent;
+        final char key;
+        final Map<Character, Node> children = new ConcurrentHashMap<>();
+        volatile SuggestionDTO[] top = NONE;
+
+        // Write side only. The displayed text is the term's most used spelling.
+        long count;
+        Map<String, Long> spellings;
+        SuggestionDTO self;
+
+        Node(Node parent, char key) {
+            this.parent = parent;
+            this.key = key;
+        }
+    }
+
+    private final Node root = new Node(null, '\0');
+
+    synchronized void add(String term, long delta) {
+        String key = normalize(term);
+        if (key.isEmpty() || delta == 0) {
+            return;
+        }
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            Node parent = node;
+            char c = key.charAt(i);
+            node = node.children.computeIfAbsent(c, k -> new Node(parent, k));
+        }
+
+        String spelling = term.trim().replaceAll("\\s+", " ");
+        if (node.spellings == null) {
+            node.spellings = new HashMap<>();
+        }
+        node.spellings.merge(spelling, delta, Long::sum);
+        node.spellings.values().removeIf(n -> n <= 0);
+        node.count = Math.max(0, node.count + delta);
+        if (node.count == 0 || node.spellings.isEmpty()) {
+            node.count = 0;
+            node.spellings = null;
+            node.self = null;
+        } else {
+            String display = Collections.max(node.spellings.entrySet(), Map.Entry.comparingByValue()).getKey();
+            node.self = new SuggestionDTO(display, node.count);
+        }
+
+        for (Node n = node; n != null; n = n.parent) {
+            rebuildTop(n);
+            if (n.parent != null && n.self == null && n.children.isEmpty()) {
+                n.parent.children.remove(n.key);
+            }
+        }
+    }
+
+    private static void rebuildTop(Node node) {
+        List<SuggestionDTO> candidates = new ArrayList<>();
+        if (node.self != null) {
+            candidates.add(node.self);
+        }
+        for (Node child : node.children.values()) {
+            Collections.addAll(candidates, child.top);
+        }
+        candidates.sort(RANK);
+        node.top = candidates.subList(0, Math.min(TOP_K, candidates.size())).toArray(NONE);
+    }
+
+    List<SuggestionDTO> complete(String prefix, int limit) {
+        String key = normalize(prefix);
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        SuggestionDTO[] top = node.top;
+        return List.of(top).subList(0, Math.min(Math.max(limit, 0), top.length));
+    }
+
+    static String normalize(String term) {
+        return term == null ? "" : term.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,40 +1,114 @@
 package com.farmtap.service;
 
+import com.farmtap.dto.UserCountDTO;
+import com.farmtap.dto.UserFilter;
+import com.farmtap.dto.UserPageDTO;
 import com.farmtap.dto.UserUpdateDTO;
+import com.farmtap.model.Role;
+import com.farmtap.model.UserCounter;
 import com.farmtap.model.Users;
+import com.farmtap.region.Regions;
+import com.farmtap.repository.UserCounterRepository;
 import com.farmtap.repository.UserRepository;
-import jakarta.transaction.Transactional;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 public class UserService {
 
+    static final int MAX_PAGE_SIZE = 200;
+
     private final UserRepository userRepo;
+    private final UserCounterRepository counterRepo;
+    private final SuggestionService suggestionService;
+    private final BookingInboxService inboxService;
+    private final EquipmentService equipmentService;
 
-    public UserService(UserRepository userRepo) {
+    public UserService(UserRepository userRepo, UserCounterRepository counterRepo, SuggestionService suggestionService,
+                       BookingInboxService inboxService, EquipmentService equipmentService) {
         this.userRepo = userRepo;
+        this.counterRepo = counterRepo;
+        this.suggestionService = suggestionService;
+        this.inboxService = inboxService;
+        this.equipmentService = equipmentService;
+    }
+
+    // Keyset page of the admin user list, newest first. fields null returns the summary columns.
+    @Transactional(readOnly = true)
+    public UserPageDTO listUsers(UserFilter filter, Long after, int limit, Collection<String> fields) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<Map<String, Object>> items = userRepo.findPage(filter, after, limit, fields);
+        Long next = items.size() == limit ? (Long) items.get(items.size() - 1).get("id") : null;
+        return new UserPageDTO(items, next);
+    }
+
+    @Transactional(readOnly = true)
+    public UserCountDTO countUsers() {
+        Map<String, Long> byRole = new TreeMap<>();
+        long total = 0;
+        for (UserCounter counter : counterRepo.findAll()) {
+            byRole.put(counter.getRole(), counter.getTotal());
+            total += counter.getTotal();
+        }
+        return new UserCountDTO(total, byRole);
     }
 
-    public List<Users> getAllUsers() {
-        return userRepo.findAll();
+    // Runs in the caller's transaction so the counter moves atomically with the users row
+    private void count(Role role, long delta) {
+        if (role == null) {
+            return;
+        }
+        counterRepo.ensureRow(role.name());
+        counterRepo.add(role.name(), delta);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Users> getUserById(Long id) {
         return userRepo.findById(id);
     }
 
+    // ?fields= variants: only the requested columns are read
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getUserFieldsById(Long id, Collection<String> fields) {
+        return userRepo.findFieldsById(id, fields);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getProfileFields(String username, Collection<String> fields) {
+        return userRepo.findProfileFieldsByEmail(username, fields)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+    }
+
+    @Transactional
     public Users saveUser(Users user) {
-        return userRepo.save(user);
+        boolean isNew = user.getId() == null;
+        Role previousRole = isNew ? null : userRepo.findById(user.getId()).map(Users::getRole).orElse(null);
+        Users saved = userRepo.save(user);
+        if (isNew) {
+            suggestionService.userAdded(saved);
+        }
+        if (saved.getRole() != previousRole) {
+            count(previousRole, -1);
+            count(saved.getRole(), 1);
+        }
+        return saved;
     }
 
+    @Transactional
     public void deleteUser(Long id) {
+        userRepo.findById(id).ifPresent(user -> {
+            suggestionService.userRemoved(user);
+            count(user.getRole(), -1);
+        });
         userRepo.deleteById(id);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Users> findByEmail(String email) {
         return userRepo.findByEmail(email);
     }
@@ -45,6 +119,11 @@ public class UserService {
         Users userToUpdate = userRepo.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
+        String oldVillage = userToUpdate.getVillageName();
+        String oldDistrict = userToUpdate.getDistrict();
+        String oldName = userToUpdate.getName();
+        String oldRegion = Regions.of(userToUpdate.getState());
+
         // MODIFIED: Update fields based on the new DTO structure
         userToUpdate.setName(userUpdateDTO.getName());
         userToUpdate.setPhoneNumber(userUpdateDTO.getPhoneNumber());
@@ -53,9 +132,26 @@ public class UserService {
         userToUpdate.setState(userUpdateDTO.getState());
         userToUpdate.setPincode(userUpdateDTO.getPincode());
 
+        suggestionService.userAddressChanged(oldVillage, oldDistrict, userToUpdate);
+        if (!Objects.equals(oldName, userToUpdate.getName())) {
+            inboxService.userRenamed(userToUpdate);
+        }
+        if (!oldRegion.equals(Regions.of(userToUpdate.getState()))) {
+            equipmentService.ownerMoved(userToUpdate);
+        }
+
         // The @PreUpdate annotation in your Users entity will handle the 'updatedAt' field
         return userRepo.save(userToUpdate);
     }
+    @Transactional
+    public Users updateProfileImage(String username, String imageUrl) {
+        Users user = userRepo.findByEmail(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        user.setProfileImageUrl(imageUrl);
+        return userRepo.save(user);
+    }
+
+    @Transactional(readOnly = true)
     public Users getProfileByUsername(String username) {
         return userRepo.findByEmail(username) // Assuming email is the username
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
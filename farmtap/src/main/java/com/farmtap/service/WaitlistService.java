@@ -0,0 +1,122 @@
+package com.farmtap.service;
+
+import com.farmtap.cache.CacheInvalidationListener;
+import com.farmtap.cache.EntityType;
+import com.farmtap.model.WaitlistEntry;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.WaitlistEntryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-equipment waitlists. waitlist_entry is the source of truth; each equipment's queue is held
+ * in memory as a set ordered by request time, loaded on first use (so it is rebuilt from the table
+ * after a restart) and dropped whenever the waitlist changes on this instance or, through the
+ * {@link com.farmtap.cache.InvalidationBus}, any other. Promotion itself is driven by
+ * {@link BookingService}, under {@link #lockQueue}.
+ */
+@Service
+@RequiredArgsConstructor
+public class WaitlistService implements CacheInvalidationListener {
+
+    static final Comparator<WaitlistEntry> ORDER = Comparator.comparing(WaitlistEntry::getRequestedAt)
+            .thenComparing(WaitlistEntry::getId);
+
+    private final WaitlistEntryRepository waitlistRepository;
+    private final EquipmentRepository equipmentRepository;
+
+    private final Map<Long, NavigableSet<WaitlistEntry>> queues = new ConcurrentHashMap<>();
+    // Bumped on every eviction so a queue loaded before a change is never cached
+    private final AtomicLong generation = new AtomicLong();
+
+    // Cheap check before a rejection or cancellation takes the promotion lock
+    public boolean hasWaiting(Long equipmentId) {
+        return !queue(equipmentId).isEmpty();
+    }
+
+    // 1-based place in the equipment's queue
+    public int position(WaitlistEntry entry) {
+        NavigableSet<WaitlistEntry> queue = queue(entry.getEquipmentId());
+        return queue.contains(entry) ? queue.headSet(entry, false).size() + 1 : queue.size() + 1;
+    }
+
+    /**
+     * Locks the equipment row for the rest of the caller's transaction and returns its queue as
+     * committed, so concurrent promotions or joins for the same equipment on any instance run one
+     * after the other and never work from a stale copy.
+     */
+    @Transactional
+    public NavigableSet<WaitlistEntry> lockQueue(Long equipmentId) {
+        equipmentRepository.lockById(equipmentId)
+                .orElseThrow(() -> new IllegalArgumentException("Equipment not found with id: " + equipmentId));
+        return load(equipmentId);
+    }
+
+    @Transactional
+    public WaitlistEntry enqueue(Long equipmentId, Long farmerId, LocalDate start, LocalDate end) {
+        return waitlistRepository.save(WaitlistEntry.builder()
+                .equipmentId(equipmentId)
+                .farmerId(farmerId)
+                .startDate(start)
+                .endDate(end)
+                .requestedAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Transactional
+    public void remove(WaitlistEntry entry) {
+        waitlistRepository.delete(entry);
+    }
+
+    @Transactional(readOnly = true)
+    public List<WaitlistEntry> getFarmerEntries(Long farmerId) {
+        return waitlistRepository.findByFarmerIdOrderByRequestedAtAsc(farmerId);
+    }
+
+    @Transactional
+    public void leave(Long entryId, Long farmerId) {
+        WaitlistEntry entry = waitlistRepository.findById(entryId)
+                .filter(e -> e.getFarmerId().equals(farmerId))
+                .orElseThrow(() -> new IllegalArgumentException("Waitlist entry not found with id: " + entryId));
+        waitlistRepository.delete(entry);
+    }
+
+    private NavigableSet<WaitlistEntry> queue(Long equipmentId) {
+        NavigableSet<WaitlistEntry> queue = queues.get(equipmentId);
+        if (queue == null) {
+            long seen = generation.get();
+            queue = load(equipmentId);
+            if (generation.get() == seen) {
+                queues.put(equipmentId, queue);
+            }
+        }
+        return queue;
+    }
+
+    private NavigableSet<WaitlistEntry> load(Long equipmentId) {
+        NavigableSet<WaitlistEntry> queue = new TreeSet<>(ORDER);
+        queue.addAll(waitlistRepository.findByEquipmentIdOrderByRequestedAtAscIdAsc(equipmentId));
+        return Collections.unmodifiableNavigableSet(queue);
+    }
+
+    @Override
+    public void evict(EntityType type, Set<Long> ids) {
+        if (type == EntityType.WAITLIST || type == EntityType.EQUIPMENT) {
+            generation.incrementAndGet();
+            ids.forEach(queues::remove);
+        }
+    }
+
+    @Override
+    public void flush() {
+        generation.incrementAndGet();
+        queues.clear();
+    }
+}
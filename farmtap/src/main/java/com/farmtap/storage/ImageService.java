@@ -0,0 +1,34 @@
+package com.farmtap.storage;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Service
+@RequiredArgsConstructor
+public class ImageService {
+
+    private final ImageStore imageStore;
+    private final ThumbnailService thumbnailService;
+
+    @Value("${spring.servlet.multipart.max-file-size:10MB}")
+    private DataSize maxImageSize;
+
+    // Multipart parts are spooled to disk by the container; we stream from there into the store
+    public ImageStore.StoredImage upload(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("No image was uploaded.");
+        }
+        ImageStore.StoredImage stored;
+        try (InputStream in = file.getInputStream()) {
+            stored = imageStore.store(in, maxImageSize.toBytes());
+        }
+        thumbnailService.generate(stored.key());
+        return stored;
+    }
+}
@@ -0,0 +1,103 @@
+package com.farmtap.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed image files on local disk: an image's key is the SHA-256 of its bytes,
+ * stored under {@code <dir>/<first two hex chars>/<key>}. Uploads are streamed to a temp file
+ * while hashing and then moved into place, so nothing is held in heap.
+ */
+@Component
+public class ImageStore {
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}");
+    private static final int COPY_BUFFER = 64 * 1024;
+
+    private final Path root;
+
+    public ImageStore(@Value("${farmtap.images.dir:./data/images}") String dir) throws IOException {
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+        Files.createDirectories(root.resolve("tmp"));
+    }
+
+    public record StoredImage(String key, ImageType type, long size) {}
+
+    public StoredImage store(InputStream in, long maxBytes) throws IOException {
+        byte[] header = in.readNBytes(ImageType.HEADER_BYTES);
+        ImageType type = ImageType.sniff(header, header.length);
+        if (type == null) {
+            throw new IllegalArgumentException("Only JPEG, PNG and WebP images are accepted.");
+        }
+
+        MessageDigest sha256 = sha256();
+        Path temp = Files.createTempFile(root.resolve("tmp"), "upload-", ".part");
+        long size = header.length;
+        try {
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), sha256)) {
+                out.write(header);
+                byte[] buffer = new byte[COPY_BUFFER];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxBytes) {
+                        throw new IllegalArgumentException("Image is larger than " + maxBytes + " bytes.");
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            String key = HexFormat.of().formatHex(sha256.digest());
+            Path target = original(key);
+            Files.createDirectories(target.getParent());
+            if (!Files.exists(target)) {
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Same bytes uploaded concurrently; the first one wins
+                }
+            }
+            return new StoredImage(key, type, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Optional<Path> find(String key, boolean thumbnail) {
+        if (key == null || !KEY.matcher(key).matches()) {
+            return Optional.empty();
+        }
+        Path path = thumbnail ? thumbnail(key) : original(key);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    Path original(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    Path thumbnail(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key + ".thumb.jpg");
+    }
+
+    Path tempDir() {
+        return root.resolve("tmp");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
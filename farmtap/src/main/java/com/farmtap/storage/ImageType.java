@@ -0,0 +1,37 @@
+package com.farmtap.storage;
+
+import java.util.Arrays;
+
+// Image formats we accept, recognised from their leading bytes rather than the client's Content-Type.
+public enum ImageType {
+    JPEG("image/jpeg"),
+    PNG("image/png"),
+    WEBP("image/webp");
+
+    public static final int HEADER_BYTES = 12;
+
+    private final String mediaType;
+
+    ImageType(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public static ImageType sniff(byte[] header, int length) {
+        byte[] h = Arrays.copyOf(header, Math.max(length, HEADER_BYTES));
+        if (length >= 3 && (h[0] & 0xFF) == 0xFF && (h[1] & 0xFF) == 0xD8 && (h[2] & 0xFF) == 0xFF) {
+            return JPEG;
+        }
+        if (length >= 8 && (h[0] & 0xFF) == 0x89 && h[1] == 'P' && h[2] == 'N' && h[3] == 'G') {
+            return PNG;
+        }
+        if (length >= 12 && h[0] == 'R' && h[1] == 'I' && h[2] == 'F' && h[3] == 'F'
+                && h[8] == 'W' && h[9] == 'E' && h[10] == 'B' && h[11] == 'P') {
+            return WEBP;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.farmtap.storage;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Image URLs handed out by the upload endpoints look like <host>/api/images/<key>.
+public final class ImageUrls {
+
+    private static final Pattern STORED = Pattern.compile("/api/images/([0-9a-f]{64})$");
+
+    private ImageUrls() {
+    }
+
+    public static String path(String key) {
+        return "/api/images/" + key;
+    }
+
+    // Thumbnail for images from our store; external URLs are returned unchanged
+    public static String thumbnailFor(String imageUrl) {
+        if (imageUrl == null) {
+            return null;
+        }
+        Matcher matcher = STORED.matcher(imageUrl);
+        return matcher.find() ? imageUrl + "/thumb" : imageUrl;
+    }
+}
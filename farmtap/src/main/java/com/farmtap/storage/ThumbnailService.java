@@ -0,0 +1,104 @@
+package com.farmtap.storage;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+
+/**
+ * Renders fixed-size list thumbnails off the request thread. Until a thumbnail exists
+ * (or for formats ImageIO cannot decode, like WebP) the original is served instead.
+ *
+ * The upload limit is in bytes, and a small PNG or JPEG can claim an enormous pixel size, so the
+ * dimensions are read from the header first: images over the pixel limit get no thumbnail, and
+ * large ones are decoded subsampled instead of at full resolution.
+ */
+@Service
+@RequiredArgsConstructor
+public class ThumbnailService {
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailService.class);
+
+    private final ImageStore imageStore;
+
+    @Value("${farmtap.images.thumbnail-size:320}")
+    private int thumbnailSize;
+
+    @Value("${farmtap.images.max-pixels:40000000}")
+    private long maxPixels;
+
+    @Async(ImageStorageConfig.THUMBNAIL_EXECUTOR)
+    public void generate(String key) {
+        if (imageStore.find(key, true).isPresent()) {
+            return;
+        }
+        try {
+            BufferedImage source;
+            int sourceWidth;
+            int sourceHeight;
+            try (ImageInputStream in = ImageIO.createImageInputStream(imageStore.original(key).toFile())) {
+                Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+                if (readers == null || !readers.hasNext()) {
+                    return; // no ImageIO reader for this format
+                }
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(in, true, true);
+                    sourceWidth = reader.getWidth(0);
+                    sourceHeight = reader.getHeight(0);
+                    if ((long) sourceWidth * sourceHeight > maxPixels) {
+                        log.warn("Image {} is {}x{} pixels, over the {} pixel limit; serving it without a thumbnail",
+                                key, sourceWidth, sourceHeight, maxPixels);
+                        return;
+                    }
+                    // Decode at no more than twice the thumbnail size; the scaling below does the rest
+                    int step = Math.max(1, Math.max(sourceWidth, sourceHeight) / (2 * thumbnailSize));
+                    ImageReadParam param = reader.getDefaultReadParam();
+                    param.setSourceSubsampling(step, step, 0, 0);
+                    source = reader.read(0, param);
+                } finally {
+                    reader.dispose();
+                }
+            }
+            double scale = Math.min(1.0, (double) thumbnailSize / Math.max(sourceWidth, sourceHeight));
+            int width = Math.max(1, (int) Math.round(sourceWidth * scale));
+            int height = Math.max(1, (int) Math.round(sourceHeight * scale));
+
+            BufferedImage thumb = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = thumb.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.setColor(Color.WHITE); // flatten PNG transparency
+                g.fillRect(0, 0, width, height);
+                g.drawImage(source, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+
+            Path temp = Files.createTempFile(imageStore.tempDir(), "thumb-", ".jpg");
+            try {
+                ImageIO.write(thumb, "jpg", temp.toFile());
+                Files.move(temp, imageStore.thumbnail(key), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not generate thumbnail for image {}", key, e);
+        }
+    }
+}
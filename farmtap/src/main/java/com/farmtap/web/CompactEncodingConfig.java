@@ -0,0 +1,31 @@
+package com.farmtap.web;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary encodings for low-bandwidth clients: any /api endpoint answers in CBOR
+ * ({@code Accept: application/cbor}) or Smile ({@code Accept: application/x-jackson-smile})
+ * instead of JSON. Both are built from Boot's Jackson builder so dates, modules and
+ * spring.jackson.* settings match the JSON output field for field.
+ *
+ * Boot keeps these after the JSON converter, so {@code Accept: *}{@code /*} still gets JSON.
+ */
+@Configuration
+public class CompactEncodingConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,92 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rebuilds booking as a table list-partitioned by region on PostgreSQL: one partition per region
+ * that has bookings, plus booking_default for regions that come later (RegionPartitionManager splits
+ * those out). Existing rows are copied across and the identity carries on from the highest id.
+ * The primary key becomes (id, region), as PostgreSQL requires the partition key in it; ids stay
+ * unique since they still come from one identity. Done in Java so H2, which has no declarative
+ * partitioning, keeps the plain table.
+ */
+public class V12__PartitionBookingsByRegion extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE booking_partitioned (LIKE booking INCLUDING DEFAULTS INCLUDING IDENTITY, " +
+                    "CONSTRAINT booking_partitioned_pkey PRIMARY KEY (id, region)) PARTITION BY LIST (region)");
+
+            List<String> regions = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery("SELECT DISTINCT region FROM booking ORDER BY region")) {
+                while (rs.next()) {
+                    regions.add(rs.getString(1));
+                }
+            }
+            for (String region : regions) {
+                String name = partitionName(connection, region);
+                statement.execute("CREATE TABLE " + name + " PARTITION OF booking_partitioned " +
+                        "FOR VALUES IN ('" + region.replace("'", "''") + "')");
+            }
+            statement.execute("CREATE TABLE booking_default PARTITION OF booking_partitioned DEFAULT");
+
+            statement.execute("INSERT INTO booking_partitioned SELECT * FROM booking");
+            statement.execute("SELECT setval(pg_get_serial_sequence('booking_partitioned', 'id'), " +
+                    "COALESCE((SELECT MAX(id) FROM booking), 0) + 1, false)");
+
+            // Nothing references booking, so the old table can simply go
+            statement.execute("DROP TABLE booking");
+            statement.execute("ALTER TABLE booking_partitioned RENAME TO booking");
+            statement.execute("ALTER TABLE booking RENAME CONSTRAINT booking_partitioned_pkey TO booking_pkey");
+            try (ResultSet rs = statement.executeQuery("SELECT pg_get_serial_sequence('booking', 'id')")) {
+                rs.next();
+                statement.execute("ALTER SEQUENCE " + rs.getString(1) + " RENAME TO booking_id_seq");
+            }
+
+            statement.execute("ALTER TABLE booking ADD CONSTRAINT booking_equipment_id_fkey " +
+                    "FOREIGN KEY (equipment_id) REFERENCES equipment (id)");
+            statement.execute("ALTER TABLE booking ADD CONSTRAINT booking_farmer_id_fkey " +
+                    "FOREIGN KEY (farmer_id) REFERENCES users (id)");
+            // Same indexes as before (V2, V7), now one per partition
+            statement.execute("CREATE INDEX idx_booking_farmer_id ON booking (farmer_id)");
+            statement.execute("CREATE INDEX idx_booking_equipment_dates ON booking (equipment_id, start_date, end_date)");
+            statement.execute("CREATE INDEX idx_booking_end_date ON booking (end_date)");
+        }
+    }
+
+    // booking_<region as an identifier>, as RegionPartitionManager names them, suffixed past existing tables
+    private static String partitionName(Connection connection, String region) throws SQLException {
+        String base = "booking_" + region.replaceAll("[^a-z0-9]+", "_");
+        if (base.length() > 50) {
+            base = base.substring(0, 50);
+        }
+        String name = base;
+        for (int i = 2; name.equals("booking_default") || exists(connection, name); i++) {
+            name = base + "_" + i;
+        }
+        return name;
+    }
+
+    private static boolean exists(Connection connection, String table) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement("SELECT to_regclass(?) IS NOT NULL")) {
+            query.setString(1, table);
+            try (ResultSet rs = query.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Seeds owner_daily_stats / equipment_daily_stats from the bookings that existed before the
+ * rollups were introduced. Done in Java because date arithmetic differs between Postgres and H2.
+ */
+public class V4__BackfillBookingRollups extends BaseJavaMigration {
+
+    private static final String COUNTER_COLUMNS = "booking_count, booked_days, revenue, pending_count, " +
+            "approved_count, rejected_count, approved_days, approved_revenue";
+
+    private record EquipmentDay(long equipmentId, long ownerId, LocalDate day) {}
+    private record OwnerDay(long ownerId, LocalDate day) {}
+
+    private static class Counters {
+        long bookings, bookedDays, pending, approved, rejected, approvedDays;
+        double revenue, approvedRevenue;
+
+        void add(long days, double price, String status) {
+            bookings++;
+            bookedDays += days;
+            revenue += price;
+            if ("APPROVED".equals(status)) {
+                approved++;
+                approvedDays += days;
+                approvedRevenue += price;
+            } else if ("REJECTED".equals(status)) {
+                rejected++;
+            } else {
+                pending++;
+            }
+        }
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        Map<EquipmentDay, Counters> byEquipment = new HashMap<>();
+        Map<OwnerDay, Counters> byOwner = new HashMap<>();
+
+        String sql = "SELECT b.start_date, b.end_date, b.total_price, b.status, b.equipment_id, e.owner_id " +
+                "FROM booking b JOIN equipment e ON e.id = b.equipment_id " +
+                "WHERE e.owner_id IS NOT NULL AND b.start_date IS NOT NULL AND b.end_date IS NOT NULL";
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                LocalDate start = rs.getDate("start_date").toLocalDate();
+                long days = ChronoUnit.DAYS.between(start, rs.getDate("end_date").toLocalDate()) + 1;
+                double price = rs.getDouble("total_price");
+                String status = rs.getString("status");
+                long equipmentId = rs.getLong("equipment_id");
+                long ownerId = rs.getLong("owner_id");
+
+                byEquipment.computeIfAbsent(new EquipmentDay(equipmentId, ownerId, start), k -> new Counters())
+                        .add(days, price, status);
+                byOwner.computeIfAbsent(new OwnerDay(ownerId, start), k -> new Counters())
+                        .add(days, price, status);
+            }
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO equipment_daily_stats (equipment_id, owner_id, stat_date, " + COUNTER_COLUMNS +
+                        ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (Map.Entry<EquipmentDay, Counters> entry : byEquipment.entrySet()) {
+                insert.setLong(1, entry.getKey().equipmentId());
+                insert.setLong(2, entry.getKey().ownerId());
+                insert.setDate(3, Date.valueOf(entry.getKey().day()));
+                bindCounters(insert, 4, entry.getValue());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO owner_daily_stats (owner_id, stat_date, " + COUNTER_COLUMNS +
+                        ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (Map.Entry<OwnerDay, Counters> entry : byOwner.entrySet()) {
+                insert.setLong(1, entry.getKey().ownerId());
+                insert.setDate(2, Date.valueOf(entry.getKey().day()));
+                bindCounters(insert, 3, entry.getValue());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static void bindCounters(PreparedStatement insert, int index, Counters c) throws SQLException {
+        insert.setLong(index, c.bookings);
+        insert.setLong(index + 1, c.bookedDays);
+        insert.setDouble(index + 2, c.revenue);
+        insert.setLong(index + 3, c.pending);
+        insert.setLong(index + 4, c.approved);
+        insert.setLong(index + 5, c.rejected);
+        insert.setLong(index + 6, c.approvedDays);
+        insert.setDouble(index + 7, c.approvedRevenue);
+    }
+}
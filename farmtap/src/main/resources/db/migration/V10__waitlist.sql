@@ -0,0 +1,14 @@
+-- Farmers waiting for equipment that is booked over their dates, promoted to a PENDING booking in
+-- request order when a clashing booking is rejected or cancelled (see WaitlistService)
+CREATE TABLE waitlist_entry (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    equipment_id BIGINT NOT NULL REFERENCES equipment (id) ON DELETE CASCADE,
+    farmer_id    BIGINT NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    start_date   DATE NOT NULL,
+    end_date     DATE NOT NULL,
+    requested_at TIMESTAMP(6) NOT NULL
+);
+
+-- One equipment's queue in request order
+CREATE INDEX idx_waitlist_equipment_requested ON waitlist_entry (equipment_id, requested_at, id);
+CREATE INDEX idx_waitlist_farmer_id ON waitlist_entry (farmer_id);
@@ -0,0 +1,19 @@
+-- Region of each equipment (its owner's normalised state, see Regions.of) and of each booking (its
+-- equipment's). Backfilled here for existing rows; V12 then partitions booking by it on PostgreSQL.
+ALTER TABLE equipment ADD COLUMN region VARCHAR(255);
+ALTER TABLE booking ADD COLUMN region VARCHAR(255);
+
+UPDATE equipment SET region = COALESCE(
+        (SELECT NULLIF(LOWER(TRIM(u.state)), '') FROM users u WHERE u.id = equipment.owner_id),
+        'unassigned');
+UPDATE booking SET region = COALESCE(
+        (SELECT e.region FROM equipment e WHERE e.id = booking.equipment_id),
+        'unassigned');
+
+ALTER TABLE equipment ALTER COLUMN region SET DEFAULT 'unassigned';
+ALTER TABLE equipment ALTER COLUMN region SET NOT NULL;
+ALTER TABLE booking ALTER COLUMN region SET DEFAULT 'unassigned';
+ALTER TABLE booking ALTER COLUMN region SET NOT NULL;
+
+-- Browsing reads the caller's region first (RegionRouter)
+CREATE INDEX idx_equipment_region_available ON equipment (region, is_available);
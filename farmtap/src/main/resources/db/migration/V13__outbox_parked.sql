@@ -0,0 +1,11 @@
+-- Parked events (out of retries) get their own marker instead of sharing processed_at with
+-- delivered ones, so the purge keeps them and monitoring can tell the two apart
+ALTER TABLE outbox_event ADD COLUMN parked_at TIMESTAMP(6);
+
+-- Until now a parked row was one marked processed after max-attempts (10 by default) failures;
+-- a delivered row always has fewer
+UPDATE outbox_event SET parked_at = processed_at, processed_at = NULL
+WHERE processed_at IS NOT NULL AND attempts >= 10;
+
+DROP INDEX idx_outbox_event_pending;
+CREATE INDEX idx_outbox_event_pending ON outbox_event (processed_at, parked_at, id);
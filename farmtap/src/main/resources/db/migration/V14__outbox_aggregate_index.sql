@@ -0,0 +1,2 @@
+-- The dispatcher checks each due event for an older event of the same booking still in backoff
+CREATE INDEX idx_outbox_event_aggregate ON outbox_event (aggregate_id, id);
@@ -0,0 +1,43 @@
+-- Schema as previously generated by hibernate.ddl-auto=update.
+-- IF NOT EXISTS lets existing databases pick this up via baseline-version=0.
+
+CREATE TABLE IF NOT EXISTS users (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name              VARCHAR(255),
+    email             VARCHAR(255),
+    password          VARCHAR(255),
+    role              VARCHAR(255),
+    phone_number      VARCHAR(255),
+    aadhar_number     VARCHAR(255),
+    village_name      VARCHAR(255),
+    district          VARCHAR(255),
+    state             VARCHAR(255),
+    pincode           VARCHAR(255),
+    profile_image_url VARCHAR(255),
+    created_at        TIMESTAMP(6),
+    updated_at        TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS equipment (
+    id                   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name                 VARCHAR(255),
+    type                 VARCHAR(255),
+    description          VARCHAR(255),
+    rental_price_per_day FLOAT(53),
+    is_available         BOOLEAN,
+    location             VARCHAR(255),
+    image_url            VARCHAR(255),
+    created_at           TIMESTAMP(6),
+    owner_id             BIGINT REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS booking (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    start_date   DATE,
+    end_date     DATE,
+    total_price  FLOAT(53),
+    status       VARCHAR(255),
+    created_at   TIMESTAMP(6),
+    equipment_id BIGINT REFERENCES equipment (id),
+    farmer_id    BIGINT REFERENCES users (id)
+);
@@ -0,0 +1,13 @@
+-- findByEmail runs on every authenticated request (JwtAuthenticationFilter)
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email ON users (email);
+
+-- findByOwnerId / findByIsAvailableTrue
+CREATE INDEX IF NOT EXISTS idx_equipment_owner_id ON equipment (owner_id);
+CREATE INDEX IF NOT EXISTS idx_equipment_is_available ON equipment (is_available);
+
+-- findByFarmerId and the farmer half of findBookingsForUser
+CREATE INDEX IF NOT EXISTS idx_booking_farmer_id ON booking (farmer_id);
+
+-- equipment_id lookups (owner half of findBookingsForUser) and date-range overlap checks;
+-- the leading column also covers plain booking.equipment_id lookups
+CREATE INDEX IF NOT EXISTS idx_booking_equipment_dates ON booking (equipment_id, start_date, end_date);
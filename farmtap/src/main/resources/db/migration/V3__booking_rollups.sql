@@ -0,0 +1,33 @@
+-- Daily booking rollups, maintained incrementally by BookingStatsService
+CREATE TABLE owner_daily_stats (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    owner_id         BIGINT NOT NULL,
+    stat_date        DATE NOT NULL,
+    booking_count    BIGINT NOT NULL DEFAULT 0,
+    booked_days      BIGINT NOT NULL DEFAULT 0,
+    revenue          FLOAT(53) NOT NULL DEFAULT 0,
+    pending_count    BIGINT NOT NULL DEFAULT 0,
+    approved_count   BIGINT NOT NULL DEFAULT 0,
+    rejected_count   BIGINT NOT NULL DEFAULT 0,
+    approved_days    BIGINT NOT NULL DEFAULT 0,
+    approved_revenue FLOAT(53) NOT NULL DEFAULT 0,
+    CONSTRAINT ux_owner_daily_stats UNIQUE (owner_id, stat_date)
+);
+
+CREATE TABLE equipment_daily_stats (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    equipment_id     BIGINT NOT NULL,
+    owner_id         BIGINT NOT NULL,
+    stat_date        DATE NOT NULL,
+    booking_count    BIGINT NOT NULL DEFAULT 0,
+    booked_days      BIGINT NOT NULL DEFAULT 0,
+    revenue          FLOAT(53) NOT NULL DEFAULT 0,
+    pending_count    BIGINT NOT NULL DEFAULT 0,
+    approved_count   BIGINT NOT NULL DEFAULT 0,
+    rejected_count   BIGINT NOT NULL DEFAULT 0,
+    approved_days    BIGINT NOT NULL DEFAULT 0,
+    approved_revenue FLOAT(53) NOT NULL DEFAULT 0,
+    CONSTRAINT ux_equipment_daily_stats UNIQUE (equipment_id, stat_date)
+);
+
+CREATE INDEX idx_equipment_daily_stats_owner ON equipment_daily_stats (owner_id, stat_date);
@@ -0,0 +1,27 @@
+-- Money moves from float to exact decimals
+ALTER TABLE equipment ALTER COLUMN rental_price_per_day SET DATA TYPE NUMERIC(12, 2);
+ALTER TABLE booking ALTER COLUMN total_price SET DATA TYPE NUMERIC(12, 2);
+ALTER TABLE owner_daily_stats ALTER COLUMN revenue SET DATA TYPE NUMERIC(14, 2);
+ALTER TABLE owner_daily_stats ALTER COLUMN approved_revenue SET DATA TYPE NUMERIC(14, 2);
+ALTER TABLE equipment_daily_stats ALTER COLUMN revenue SET DATA TYPE NUMERIC(14, 2);
+ALTER TABLE equipment_daily_stats ALTER COLUMN approved_revenue SET DATA TYPE NUMERIC(14, 2);
+
+CREATE TABLE pricing_rule (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    owner_id           BIGINT NOT NULL REFERENCES users (id),
+    equipment_id       BIGINT REFERENCES equipment (id) ON DELETE CASCADE,
+    type               VARCHAR(255) NOT NULL,
+    adjustment_percent NUMERIC(7, 2) NOT NULL,
+    season_start       VARCHAR(255),
+    season_end         VARCHAR(255),
+    min_days           INTEGER,
+    created_at         TIMESTAMP(6)
+);
+CREATE INDEX idx_pricing_rule_owner ON pricing_rule (owner_id);
+
+CREATE TABLE cooperative_member (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    owner_id  BIGINT NOT NULL REFERENCES users (id),
+    farmer_id BIGINT NOT NULL REFERENCES users (id),
+    CONSTRAINT ux_cooperative_member UNIQUE (owner_id, farmer_id)
+);
@@ -0,0 +1,17 @@
+-- Transactional outbox: booking lifecycle events written in the booking's own transaction
+-- and drained by OutboxDispatcher
+CREATE TABLE outbox_event (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_type VARCHAR(32) NOT NULL,
+    aggregate_id   BIGINT NOT NULL,
+    event_type     VARCHAR(32) NOT NULL,
+    payload        VARCHAR(4000) NOT NULL,
+    created_at     TIMESTAMP(6) NOT NULL,
+    available_at   TIMESTAMP(6) NOT NULL,
+    attempts       INTEGER NOT NULL DEFAULT 0,
+    last_error     VARCHAR(1000),
+    processed_at   TIMESTAMP(6)
+);
+
+-- The dispatcher scans pending rows in id order
+CREATE INDEX idx_outbox_event_pending ON outbox_event (processed_at, id);
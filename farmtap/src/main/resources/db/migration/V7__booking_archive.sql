@@ -0,0 +1,19 @@
+-- Cold storage for bookings that ended before the archival horizon (see BookingArchiveService).
+-- Same shape as booking, keeping the original ids so references from the audit log still match.
+CREATE TABLE booking_archive (
+    id           BIGINT PRIMARY KEY,
+    start_date   DATE,
+    end_date     DATE,
+    total_price  NUMERIC(12, 2),
+    status       VARCHAR(255),
+    created_at   TIMESTAMP(6),
+    equipment_id BIGINT REFERENCES equipment (id),
+    farmer_id    BIGINT REFERENCES users (id),
+    archived_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_booking_archive_farmer_id ON booking_archive (farmer_id);
+CREATE INDEX idx_booking_archive_equipment_id ON booking_archive (equipment_id);
+
+-- Lets the archival job find expired hot rows without a full scan
+CREATE INDEX idx_booking_end_date ON booking (end_date);
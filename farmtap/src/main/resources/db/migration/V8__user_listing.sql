@@ -0,0 +1,15 @@
+-- Keyset pages of the admin user list walk id downwards within each filter
+CREATE INDEX idx_users_role_id ON users (role, id);
+CREATE INDEX idx_users_district_id ON users (district, id);
+CREATE INDEX idx_users_state_id ON users (state, id);
+CREATE INDEX idx_users_pincode_id ON users (pincode, id);
+CREATE INDEX idx_users_created_at ON users (created_at);
+
+-- Per-role user counts maintained by UserService, so /api/users/count never runs COUNT(*)
+CREATE TABLE user_counter (
+    role  VARCHAR(255) PRIMARY KEY,
+    total BIGINT NOT NULL
+);
+
+INSERT INTO user_counter (role, total)
+SELECT role, COUNT(*) FROM users WHERE role IS NOT NULL GROUP BY role;
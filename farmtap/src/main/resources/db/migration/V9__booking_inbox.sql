@@ -0,0 +1,37 @@
+-- "My bookings" inbox: one row per booking for its farmer and one for the equipment owner, holding
+-- what BookingsScreen renders. Maintained by BookingInboxService on every booking write, so the
+-- screen reads a single primary-key range (user_id, booking_id DESC) instead of joining the fleet.
+CREATE TABLE booking_inbox (
+    user_id        BIGINT NOT NULL,
+    booking_id     BIGINT NOT NULL,
+    equipment_id   BIGINT,
+    equipment_name VARCHAR(255),
+    farmer_id      BIGINT,
+    farmer_name    VARCHAR(255),
+    owner_id       BIGINT,
+    owner_name     VARCHAR(255),
+    start_date     DATE,
+    end_date       DATE,
+    total_price    NUMERIC(12, 2),
+    status         VARCHAR(255),
+    created_at     TIMESTAMP(6),
+    PRIMARY KEY (user_id, booking_id)
+);
+
+-- Status changes and deletes touch both copies of a booking
+CREATE INDEX idx_booking_inbox_booking_id ON booking_inbox (booking_id);
+
+-- Backfill from the hot table; archived bookings stay out, as they do for GET /api/bookings/user
+INSERT INTO booking_inbox (user_id, booking_id, equipment_id, equipment_name, farmer_id, farmer_name,
+                           owner_id, owner_name, start_date, end_date, total_price, status, created_at)
+SELECT r.user_id, b.id, e.id, e.name, f.id, f.name, o.id, o.name,
+       b.start_date, b.end_date, b.total_price, b.status, b.created_at
+FROM booking b
+JOIN equipment e ON e.id = b.equipment_id
+LEFT JOIN users f ON f.id = b.farmer_id
+LEFT JOIN users o ON o.id = e.owner_id
+JOIN (SELECT id, farmer_id AS user_id FROM booking
+      UNION
+      SELECT b2.id, e2.owner_id FROM booking b2 JOIN equipment e2 ON e2.id = b2.equipment_id) r
+  ON r.id = b.id
+WHERE r.user_id IS NOT NULL;
@@ -0,0 +1,119 @@
+package com.farmtap.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuditLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void rollsSegmentsAndResumesAfterRestart() throws Exception {
+        AuditLog log = open();
+        for (int i = 0; i < 10; i++) {
+            long sequence = log.append(record(i % 3, i));
+            assertThat(sequence).isEqualTo(i);
+        }
+        log.sync(9);
+        log.close();
+
+        try (Stream<Path> files = Files.list(dir.resolve("node-a"))) {
+            assertThat(files.filter(f -> f.toString().endsWith(".log")).count()).isEqualTo(3); // 4 records per segment
+        }
+
+        AuditLog reopened = open();
+        assertThat(reopened.append(record(1, 10))).isEqualTo(10);
+        List<AuditRecord> history = reopened.find(r -> r.entityId() == 1);
+        assertThat(history).extracting(AuditRecord::sequence).containsExactly(1L, 4L, 7L, 10L);
+        assertThat(history).extracting(AuditRecord::amount).containsExactly(100L, 400L, 700L, 1000L);
+        reopened.close();
+    }
+
+    @Test
+    void dropsATornTailRecord() throws Exception {
+        AuditLog log = open();
+        log.append(record(5, 0));
+        log.append(record(5, 1));
+        log.sync(1);
+        log.close();
+
+        // Flip a byte inside the second record, as a crash mid-write would leave it
+        try (RandomAccessFile file = new RandomAccessFile(dir.resolve("node-a").resolve("audit-00000000000000000000.log").toFile(), "rw")) {
+            file.seek(AuditRecord.SIZE + 20);
+            file.write(0x7f);
+        }
+
+        AuditLog reopened = open();
+        assertThat(reopened.find(r -> true)).hasSize(1);
+        assertThat(reopened.append(record(5, 2))).isEqualTo(1);
+        reopened.close();
+    }
+
+    @Test
+    void refusesADirectoryAnotherLogHolds() throws Exception {
+        AuditLog log = open();
+        assertThatThrownBy(this::open)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("in use by another process");
+
+        // Another instance gets a directory of its own
+        AuditLog other = open("node-b");
+        other.append(record(2, 0));
+        assertThat(log.append(record(2, 1))).isZero();
+        other.close();
+
+        log.close();
+        open().close();
+    }
+
+    @Test
+    void findMergesEveryInstancesLogByTime() throws Exception {
+        AuditLog a = open("node-a");
+        AuditLog b = open("node-b");
+        a.append(at(1_000, 4, 1));
+        b.append(at(2_000, 4, 2));
+        a.append(at(3_000, 4, 3));
+        b.append(at(4_000, 9, 4));
+        for (int i = 5; i <= 9; i++) {
+            b.append(at(4_000 + i, 4, i)); // rolls node-b's first segment
+        }
+
+        // Read from either side, including the writer's active segment it hasn't synced
+        assertThat(a.find(r -> r.entityId() == 4)).extracting(AuditRecord::amount)
+                .containsExactly(1L, 2L, 3L, 5L, 6L, 7L, 8L, 9L);
+        assertThat(b.find(r -> r.entityId() == 4)).extracting(AuditRecord::amount)
+                .containsExactly(1L, 2L, 3L, 5L, 6L, 7L, 8L, 9L);
+        a.close();
+        b.close();
+    }
+
+    private AuditLog open() throws Exception {
+        return open("node-a");
+    }
+
+    private AuditLog open(String instance) throws Exception {
+        AuditProperties properties = new AuditProperties();
+        properties.setDir(dir.toString());
+        properties.setInstance(instance);
+        properties.setSegmentRecords(4);
+        return new AuditLog(properties);
+    }
+
+    private static AuditRecord at(long timestamp, long entityId, long amount) {
+        return new AuditRecord(-1, timestamp, AuditAction.BOOKING_CREATED, (byte) 0, (byte) 1, entityId, 7, 3, amount);
+    }
+
+    private static AuditRecord record(long entityId, int i) {
+        return AuditRecord.of(AuditAction.BOOKING_STATUS_CHANGED, (byte) 1, (byte) 2, entityId, 7, 3, i * 100L);
+    }
+}
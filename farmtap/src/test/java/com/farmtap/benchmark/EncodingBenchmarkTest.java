@@ -0,0 +1,151 @@
+package com.farmtap.benchmark;
+
+import com.farmtap.dto.EquipmentDTO;
+import com.farmtap.model.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Payload size and serialization CPU of JSON vs CBOR vs Smile for the equipment listing and
+ * bookings responses, using the application's own converters.
+ *
+ * Run with {@code mvn -Pbenchmark test}; sizes with -Dbenchmark.equipment / -Dbenchmark.bookings.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class EncodingBenchmarkTest {
+
+    private static final int WARMUP = 300;
+    private static final int ITERATIONS = 2000;
+
+    @Autowired private MappingJackson2HttpMessageConverter json;
+    @Autowired private MappingJackson2CborHttpMessageConverter cbor;
+    @Autowired private MappingJackson2SmileHttpMessageConverter smile;
+
+    @Test
+    void compareEncodings() throws Exception {
+        int equipmentCount = Integer.getInteger("benchmark.equipment", 500);
+        int bookingCount = Integer.getInteger("benchmark.bookings", 200);
+        Random random = new Random(42);
+
+        List<Users> owners = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            owners.add(user(i, "Owner " + i, Role.Owner, random));
+        }
+        List<Equipment> equipment = new ArrayList<>();
+        for (int i = 0; i < equipmentCount; i++) {
+            equipment.add(equipment(i, owners.get(i % owners.size()), random));
+        }
+        List<EquipmentDTO> listing = equipment.stream().map(EquipmentDTO::new).toList();
+
+        List<Booking> bookings = new ArrayList<>();
+        Users farmer = user(1000, "Farmer", Role.Farmer, random);
+        for (int i = 0; i < bookingCount; i++) {
+            Equipment item = equipment.get(random.nextInt(equipment.size()));
+            LocalDate start = LocalDate.of(2025, 6, 1).plusDays(random.nextInt(120));
+            bookings.add(Booking.builder()
+                    .id((long) i)
+                    .equipment(item)
+                    .farmer(farmer)
+                    .startDate(start)
+                    .endDate(start.plusDays(random.nextInt(5)))
+                    .totalPrice(item.getRentalPricePerDay().multiply(BigDecimal.valueOf(1 + random.nextInt(5))))
+                    .status(BookingStatus.values()[random.nextInt(3)])
+                    .createdAt(LocalDateTime.of(2025, 5, 1, 10, 0).plusMinutes(i))
+                    .build());
+        }
+
+        Map<String, ObjectMapper> formats = new LinkedHashMap<>();
+        formats.put("json", json.getObjectMapper());
+        formats.put("cbor", cbor.getObjectMapper());
+        formats.put("smile", smile.getObjectMapper());
+
+        System.out.printf("%n%-22s %-6s %10s %10s %12s %12s%n", "payload", "format", "bytes", "gzip", "ser(us/op)", "de(us/op)");
+        for (Map.Entry<String, Object> payload : Map.<String, Object>of(
+                "GET /api/equipment", listing, "GET /api/bookings/user", bookings).entrySet()) {
+            int jsonBytes = 0;
+            for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+                ObjectMapper mapper = format.getValue();
+                byte[] bytes = mapper.writeValueAsBytes(payload.getValue());
+                double ser = micros(() -> mapper.writeValueAsBytes(payload.getValue()));
+                double de = micros(() -> mapper.readTree(bytes));
+                System.out.printf("%-22s %-6s %10d %10d %12.1f %12.1f%n",
+                        payload.getKey(), format.getKey(), bytes.length, gzip(bytes), ser, de);
+                if (format.getKey().equals("json")) {
+                    jsonBytes = bytes.length;
+                } else {
+                    assertThat(bytes.length).isLessThan(jsonBytes);
+                }
+            }
+        }
+    }
+
+    private interface Work {
+        void run() throws Exception;
+    }
+
+    private static double micros(Work work) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            work.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            work.run();
+        }
+        return (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+    }
+
+    private static int gzip(byte[] bytes) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+
+    private static Users user(long id, String name, Role role, Random random) {
+        Users user = new Users();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(name.toLowerCase().replace(' ', '.') + "@farmtap.in");
+        user.setRole(role);
+        user.setPhoneNumber("9" + String.format("%09d", random.nextInt(1_000_000_000)));
+        user.setVillageName("Village " + random.nextInt(100));
+        user.setDistrict("Pune");
+        user.setState("Maharashtra");
+        user.setPincode("4110" + random.nextInt(10) + random.nextInt(10));
+        return user;
+    }
+
+    private static Equipment equipment(long id, Users owner, Random random) {
+        String[] types = {"Tractor", "Plough", "Sprayer", "Harvester", "Rotavator", "Seed Drill"};
+        String type = types[random.nextInt(types.length)];
+        return Equipment.builder()
+                .id(id)
+                .name(type + " " + (1000 + random.nextInt(9000)))
+                .type(type)
+                .description("Well maintained " + type.toLowerCase() + ", serviced this season, operator available on request")
+                .rentalPricePerDay(BigDecimal.valueOf(500 + random.nextInt(40) * 50L).setScale(2))
+                .isAvailable(true)
+                .location(owner.getVillageName() + ", " + owner.getDistrict())
+                .imageUrl("http://farmtap.in/api/images/" + HexFormat.of().formatHex(new byte[32]).replace('0', (char) ('a' + random.nextInt(6))))
+                .createdAt(LocalDateTime.of(2025, 1, 1, 9, 0).plusHours(id))
+                .owner(owner)
+                .build();
+    }
+}
@@ -0,0 +1,142 @@
+package com.farmtap.cache;
+
+import com.farmtap.FarmtapApplication;
+import com.farmtap.model.Equipment;
+import com.farmtap.model.Role;
+import com.farmtap.model.Users;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.UserRepository;
+import com.farmtap.service.EquipmentService;
+import com.farmtap.service.PricingService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two application instances against one PostgreSQL database, talking over LISTEN/NOTIFY.
+ * Needs a real server, so it only runs when FARMTAP_TEST_POSTGRES_URL is set, e.g.
+ * {@code FARMTAP_TEST_POSTGRES_URL=jdbc:postgresql://localhost:5432/farmtap_test mvn test -Dtest=ClusterInvalidationTest}
+ * (FARMTAP_TEST_POSTGRES_USER / _PASSWORD default to postgres/postgres).
+ */
+@EnabledIfEnvironmentVariable(named = "FARMTAP_TEST_POSTGRES_URL", matches = ".+")
+class ClusterInvalidationTest {
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    static class RecordingListener implements CacheInvalidationListener {
+        final Map<EntityType, Set<Long>> evicted = new ConcurrentHashMap<>();
+
+        @Override
+        public void evict(EntityType type, Set<Long> ids) {
+            evicted.computeIfAbsent(type, t -> ConcurrentHashMap.newKeySet()).addAll(ids);
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+
+    @BeforeAll
+    static void startNodes() throws Exception {
+        nodeA = start("a");
+        nodeB = start("b");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String name) throws Exception {
+        String env = System.getenv("FARMTAP_TEST_POSTGRES_USER");
+        String user = env != null ? env : "postgres";
+        env = System.getenv("FARMTAP_TEST_POSTGRES_PASSWORD");
+        String password = env != null ? env : "postgres";
+        return new SpringApplicationBuilder(FarmtapApplication.class, RecordingListener.class)
+                .run("--spring.datasource.url=" + System.getenv("FARMTAP_TEST_POSTGRES_URL"),
+                        "--spring.datasource.username=" + user,
+                        "--spring.datasource.password=" + password,
+                        "--server.port=0",
+                        "--farmtap.audit.dir=" + Files.createTempDirectory("farmtap-cluster-audit-" + name),
+                        "--farmtap.images.dir=" + Files.createTempDirectory("farmtap-cluster-images-" + name),
+                        "--farmtap.invalidation.reconnect-backoff=200ms");
+    }
+
+    @Test
+    void availabilityAndPriceChangesReachTheOtherNode() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Users owner = new Users();
+        owner.setName("Cluster Owner");
+        owner.setEmail("cluster-" + suffix + "@farmtap.in");
+        owner.setRole(Role.Owner);
+        nodeA.getBean(UserRepository.class).save(owner);
+        Equipment tractor = nodeA.getBean(EquipmentRepository.class).save(Equipment.builder()
+                .name("Cluster Tractor " + suffix)
+                .type("Tractor")
+                .rentalPricePerDay(new BigDecimal("1000.00"))
+                .isAvailable(true)
+                .createdAt(LocalDateTime.now())
+                .owner(owner)
+                .build());
+        LocalDate day = LocalDate.of(2031, 3, 4);
+        PricingService pricingB = nodeB.getBean(PricingService.class);
+        assertThat(pricingB.quote(tractor.getId(), day, day, null).getTotalPrice()).isEqualByComparingTo("1000");
+
+        // PUT /api/equipment/available on node A
+        Equipment change = new Equipment();
+        change.setId(tractor.getId());
+        change.setIsAvailable(false);
+        nodeA.getBean(EquipmentService.class).updateEquipment(change);
+        RecordingListener recorderB = nodeB.getBean(RecordingListener.class);
+        await(() -> recorderB.evicted.getOrDefault(EntityType.EQUIPMENT, Set.of()).contains(tractor.getId()));
+
+        nodeA.getBean(TransactionTemplate.class).executeWithoutResult(status -> {
+            Equipment managed = nodeA.getBean(EquipmentRepository.class).findById(tractor.getId()).orElseThrow();
+            managed.setRentalPricePerDay(new BigDecimal("1300.00"));
+        });
+        await(() -> pricingB.quote(tractor.getId(), day, day, null).getTotalPrice().compareTo(new BigDecimal("1300")) == 0);
+    }
+
+    @Test
+    void listenerReconnectFlushesCaches() {
+        InvalidationBus busB = nodeB.getBean(InvalidationBus.class);
+        long flushes = busB.getFlushes();
+        nodeA.getBean(JdbcTemplate.class).queryForList(
+                "SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE query LIKE 'LISTEN %'");
+        await(() -> busB.getFlushes() > flushes);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 10s").isLessThan(deadline);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.farmtap.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvalidationMessageTest {
+
+    @Test
+    void roundTripsChangesAndFallsBackToFlushWhenTooLarge() {
+        Map<EntityType, Set<Long>> changes = new EnumMap<>(EntityType.class);
+        changes.put(EntityType.EQUIPMENT, Set.of(1L, 42L));
+        changes.put(EntityType.USERS, Set.of(7L));
+
+        InvalidationMessage decoded = InvalidationMessage.decode(new InvalidationMessage("a1b2c3d4", 9, changes).encode());
+        assertThat(decoded.node()).isEqualTo("a1b2c3d4");
+        assertThat(decoded.sequence()).isEqualTo(9);
+        assertThat(decoded.changes()).isEqualTo(changes);
+
+        Set<Long> many = new HashSet<>();
+        LongStream.range(1_000_000, 1_002_000).forEach(many::add);
+        String payload = new InvalidationMessage("a1b2c3d4", 10, Map.of(EntityType.BOOKING, many)).encode();
+        assertThat(payload.length()).isLessThanOrEqualTo(InvalidationMessage.MAX_PAYLOAD);
+        assertThat(InvalidationMessage.decode(payload).flushAll()).isTrue();
+    }
+
+    @Test
+    void outOfOrderCommitsAreNotAGapButLostMessagesAre() {
+        long grace = Duration.ofSeconds(5).toNanos();
+        SequenceTracker tracker = new SequenceTracker(grace);
+
+        assertThat(tracker.accept(3, 0)).isTrue();
+        assertThat(tracker.accept(5, 0)).isTrue();  // 4 committed later than 5
+        assertThat(tracker.accept(4, 1)).isTrue();
+        assertThat(tracker.hasExpiredGap(grace * 2)).isFalse();
+
+        assertThat(tracker.accept(7, grace * 2)).isTrue(); // 6 never arrives
+        assertThat(tracker.hasExpiredGap(grace * 2 + 1)).isFalse();
+        assertThat(tracker.hasExpiredGap(grace * 4)).isTrue();
+
+        assertThat(new SequenceTracker(grace).accept(1, 0)).isTrue();
+        SequenceTracker far = new SequenceTracker(grace);
+        far.accept(1, 0);
+        assertThat(far.accept(1_000_000, 0)).isFalse();
+    }
+}
@@ -0,0 +1,62 @@
+package com.farmtap.cache;
+
+import com.farmtap.model.Equipment;
+import com.farmtap.model.Role;
+import com.farmtap.model.Users;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.UserRepository;
+import com.farmtap.service.PricingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// On H2 the bus is off, but committed entity changes must still evict this instance's caches
+@SpringBootTest
+class LocalInvalidationTest {
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private EquipmentRepository equipmentRepository;
+    @Autowired private PricingService pricingService;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    @Test
+    void committedPriceChangeEvictsCachedPlanButRollbackDoesNot() {
+        Users owner = new Users();
+        owner.setName("Invalidation Owner");
+        owner.setEmail("invalidation-owner@farmtap.in");
+        owner.setRole(Role.Owner);
+        userRepository.save(owner);
+        Equipment tractor = equipmentRepository.save(Equipment.builder()
+                .name("Invalidation Tractor")
+                .type("Tractor")
+                .rentalPricePerDay(new BigDecimal("1000.00"))
+                .isAvailable(true)
+                .createdAt(LocalDateTime.now())
+                .owner(owner)
+                .build());
+        LocalDate day = LocalDate.of(2031, 3, 4);
+
+        assertThat(pricingService.quote(tractor.getId(), day, day, null).getTotalPrice()).isEqualByComparingTo("1000");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Equipment managed = equipmentRepository.findById(tractor.getId()).orElseThrow();
+            managed.setRentalPricePerDay(new BigDecimal("1200.00"));
+        });
+        assertThat(pricingService.quote(tractor.getId(), day, day, null).getTotalPrice()).isEqualByComparingTo("1200");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Equipment managed = equipmentRepository.findById(tractor.getId()).orElseThrow();
+            managed.setRentalPricePerDay(new BigDecimal("5000.00"));
+            equipmentRepository.flush();
+            status.setRollbackOnly();
+        });
+        assertThat(pricingService.quote(tractor.getId(), day, day, null).getTotalPrice()).isEqualByComparingTo("1200");
+    }
+}
@@ -0,0 +1,57 @@
+package com.farmtap.controller;
+
+import com.farmtap.model.Equipment;
+import com.farmtap.model.Role;
+import com.farmtap.model.Users;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.UserRepository;
+import com.farmtap.security.CustomUserDetailsService;
+import com.farmtap.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BookingQuoteTest {
+
+    @Autowired private TestRestTemplate rest;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EquipmentRepository equipmentRepository;
+    @Autowired private CustomUserDetailsService userDetailsService;
+    @Autowired private JwtUtil jwtUtil;
+
+    @Test
+    void rejectsRentalsLongerThanTheLimit() {
+        Users owner = new Users();
+        owner.setName("Quote Owner");
+        owner.setEmail("quote-owner@farmtap.in");
+        owner.setPassword("unused");
+        owner.setRole(Role.Owner);
+        owner = userRepository.save(owner);
+        Equipment equipment = equipmentRepository.save(Equipment.builder()
+                .name("Quoted Tractor").type("Tractor").rentalPricePerDay(new BigDecimal("1000.00"))
+                .isAvailable(true).owner(owner).build());
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(jwtUtil.generateToken(userDetailsService.loadUserByUsername(owner.getEmail())));
+
+        ResponseEntity<Map> year = quote(equipment.getId(), "2027-01-01", "2027-12-31", headers);
+        assertThat(year.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(year.getBody().get("days")).isEqualTo(365);
+
+        ResponseEntity<Map> centuries = quote(equipment.getId(), "2027-01-01", "2427-01-01", headers);
+        assertThat(centuries.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat((String) centuries.getBody().get("error")).contains("at most 366 days");
+    }
+
+    private ResponseEntity<Map> quote(Long equipmentId, String start, String end, HttpHeaders headers) {
+        return rest.exchange("/api/bookings/quote?equipmentId={id}&startDate={start}&endDate={end}",
+                HttpMethod.GET, new HttpEntity<>(headers), Map.class, equipmentId, start, end);
+    }
+}
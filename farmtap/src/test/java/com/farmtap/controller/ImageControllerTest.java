@@ -0,0 +1,111 @@
+package com.farmtap.controller;
+
+import com.farmtap.model.Role;
+import com.farmtap.model.Users;
+import com.farmtap.repository.UserRepository;
+import com.farmtap.security.CustomUserDetailsService;
+import com.farmtap.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.*;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ImageControllerTest {
+
+    @Autowired private TestRestTemplate rest;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CustomUserDetailsService userDetailsService;
+    @Autowired private JwtUtil jwtUtil;
+
+    @Test
+    void uploadServesRangesAndThumbnails() throws Exception {
+        byte[] png = png(1200, 900);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token("images@farmtap.in"));
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        MultiValueMap<String, Object> form = new LinkedMultiValueMap<>();
+        form.add("image", new ByteArrayResource(png) {
+            @Override
+            public String getFilename() {
+                return "tractor.png";
+            }
+        });
+
+        ResponseEntity<Map> upload = rest.postForEntity("/api/upload/image", new HttpEntity<>(form, headers), Map.class);
+        assertThat(upload.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String key = (String) upload.getBody().get("key");
+        assertThat((String) upload.getBody().get("thumbnailUrl")).endsWith("/api/images/" + key + "/thumb");
+
+        ResponseEntity<byte[]> full = rest.getForEntity("/api/images/" + key, byte[].class);
+        assertThat(full.getBody()).isEqualTo(png);
+        assertThat(full.getHeaders().getContentType()).isEqualTo(MediaType.IMAGE_PNG);
+        assertThat(full.getHeaders().getCacheControl()).contains("immutable");
+
+        HttpHeaders rangeHeaders = new HttpHeaders();
+        rangeHeaders.set(HttpHeaders.RANGE, "bytes=100-199");
+        ResponseEntity<byte[]> partial = rest.exchange("/api/images/" + key, HttpMethod.GET,
+                new HttpEntity<>(rangeHeaders), byte[].class);
+        assertThat(partial.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(partial.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 100-199/" + png.length);
+        assertThat(partial.getBody()).isEqualTo(Arrays.copyOfRange(png, 100, 200));
+
+        // A backwards range is invalid, not unsatisfiable: the header is ignored
+        rangeHeaders.set(HttpHeaders.RANGE, "bytes=500-100");
+        ResponseEntity<byte[]> backwards = rest.exchange("/api/images/" + key, HttpMethod.GET,
+                new HttpEntity<>(rangeHeaders), byte[].class);
+        assertThat(backwards.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(backwards.getBody()).isEqualTo(png);
+
+        rangeHeaders.set(HttpHeaders.RANGE, "bytes=" + png.length + "-");
+        assertThat(rest.exchange("/api/images/" + key, HttpMethod.GET, new HttpEntity<>(rangeHeaders), byte[].class)
+                .getStatusCode()).isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+
+        BufferedImage thumb = null;
+        for (int attempt = 0; attempt < 50 && thumb == null; attempt++) {
+            ResponseEntity<byte[]> response = rest.getForEntity("/api/images/" + key + "/thumb", byte[].class);
+            if (MediaType.IMAGE_JPEG.equals(response.getHeaders().getContentType())) {
+                thumb = ImageIO.read(new java.io.ByteArrayInputStream(response.getBody()));
+            } else {
+                Thread.sleep(100);
+            }
+        }
+        assertThat(thumb).isNotNull();
+        assertThat(thumb.getWidth()).isEqualTo(320);
+        assertThat(thumb.getHeight()).isEqualTo(240);
+    }
+
+    private String token(String email) {
+        Users user = new Users();
+        user.setName("Images");
+        user.setEmail(email);
+        user.setPassword("unused");
+        user.setRole(Role.Owner);
+        userRepository.save(user);
+        return jwtUtil.generateToken(userDetailsService.loadUserByUsername(email));
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, ((x / 40 + y / 40) % 2 == 0) ? 0x2E7D32 : 0xE8F5E9);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,39 @@
+package com.farmtap.controller;
+
+import com.farmtap.model.Role;
+import com.farmtap.model.Users;
+import com.farmtap.repository.UserRepository;
+import com.farmtap.security.CustomUserDetailsService;
+import com.farmtap.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class OutboxControllerTest {
+
+    @Autowired private TestRestTemplate rest;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CustomUserDetailsService userDetailsService;
+    @Autowired private JwtUtil jwtUtil;
+
+    @Test
+    void farmersCannotReadOutboxStats() {
+        Users farmer = new Users();
+        farmer.setName("Curious Farmer");
+        farmer.setEmail("outbox-stats-farmer@farmtap.in");
+        farmer.setPassword("unused");
+        farmer.setRole(Role.Farmer);
+        userRepository.save(farmer);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(jwtUtil.generateToken(userDetailsService.loadUserByUsername(farmer.getEmail())));
+
+        ResponseEntity<String> response = rest.exchange("/api/system/outbox", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+}
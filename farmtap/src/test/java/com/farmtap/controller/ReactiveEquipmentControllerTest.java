@@ -0,0 +1,88 @@
+package com.farmtap.controller;
+
+import com.farmtap.dto.EquipmentDTO;
+import com.farmtap.model.Equipment;
+import com.farmtap.model.Role;
+import com.farmtap.model.Users;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.UserRepository;
+import com.farmtap.security.CustomUserDetailsService;
+import com.farmtap.security.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveEquipmentControllerTest {
+
+    @Autowired private TestRestTemplate rest;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EquipmentRepository equipmentRepository;
+    @Autowired private CustomUserDetailsService userDetailsService;
+    @Autowired private JwtUtil jwtUtil;
+    @Autowired private ObjectMapper mapper;
+
+    @Test
+    void streamsTheSameEquipmentAsTheJpaEndpoints() throws Exception {
+        Users owner = new Users();
+        owner.setName("Reactive Owner");
+        owner.setEmail("reactive-owner@farmtap.in");
+        owner.setPassword("unused");
+        owner.setRole(Role.Owner);
+        userRepository.save(owner);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            ids.add(equipmentRepository.save(Equipment.builder()
+                    .name("Tractor " + i).type("Tractor").rentalPricePerDay(new BigDecimal("1200.50"))
+                    .isAvailable(i % 5 != 0).imageUrl("http://localhost/api/images/abc" + i).owner(owner).build()).getId());
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(jwtUtil.generateToken(userDetailsService.loadUserByUsername(owner.getEmail())));
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+        HttpEntity<Void> request = new HttpEntity<>(headers);
+
+        ResponseEntity<String> stream = rest.exchange("/api/reactive/equipment/owner/" + owner.getId(),
+                HttpMethod.GET, request, String.class);
+        assertThat(stream.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(stream.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_NDJSON)).isTrue();
+        List<EquipmentDTO> streamed = new ArrayList<>();
+        for (String line : stream.getBody().split("\n")) {
+            streamed.add(mapper.readValue(line, EquipmentDTO.class));
+        }
+        assertThat(streamed).extracting(EquipmentDTO::getId).containsExactlyElementsOf(ids);
+
+        // Row for row the same DTO the JPA endpoint builds
+        EquipmentDTO jpa = new EquipmentDTO(equipmentRepository.findById(ids.get(7)).orElseThrow());
+        assertThat(streamed.get(7)).isEqualTo(jpa);
+        assertThat(streamed.get(7).getThumbnailUrl()).isNotNull();
+
+        ResponseEntity<String> available = rest.exchange("/api/reactive/equipment", HttpMethod.GET, request, String.class);
+        assertThat(available.getBody().lines().map(line -> line.contains("\"id\":" + ids.get(0) + ","))).doesNotContain(true);
+        assertThat(available.getBody().lines().count()).isGreaterThanOrEqualTo(200);
+
+        ResponseEntity<EquipmentDTO> one = rest.exchange("/api/reactive/equipment/" + ids.get(3), HttpMethod.GET,
+                new HttpEntity<>(bearer(headers)), EquipmentDTO.class);
+        assertThat(one.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(one.getBody().getOwnerName()).isEqualTo("Reactive Owner");
+        assertThat(rest.exchange("/api/reactive/equipment/-1", HttpMethod.GET,
+                new HttpEntity<>(bearer(headers)), String.class).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+        // Same authentication as the rest of the API
+        assertThat(rest.getForEntity("/api/reactive/equipment", String.class).getStatusCode().is4xxClientError()).isTrue();
+    }
+
+    private static HttpHeaders bearer(HttpHeaders headers) {
+        HttpHeaders json = new HttpHeaders();
+        json.put(HttpHeaders.AUTHORIZATION, headers.get(HttpHeaders.AUTHORIZATION));
+        return json;
+    }
+}
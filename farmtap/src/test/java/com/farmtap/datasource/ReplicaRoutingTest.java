@@ -0,0 +1,85 @@
+package com.farmtap.datasource;
+
+import com.farmtap.model.Role;
+import com.farmtap.model.Users;
+import com.farmtap.service.UserService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Primary and replica are two separate embedded databases, so a row's visibility tells us where a read went.
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingTest.PRIMARY_URL,
+        "farmtap.datasource.replicas.urls=" + ReplicaRoutingTest.REPLICA_URL,
+        "farmtap.datasource.replicas.read-your-writes-window=30s"
+})
+class ReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static JdbcTemplate replica;
+
+    @Autowired
+    private UserService userService;
+
+    @BeforeAll
+    static void migrateReplica() {
+        DriverManagerDataSource replicaDataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(replicaDataSource).load().migrate();
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.update("INSERT INTO users (name, email, role) VALUES ('Replica Only', 'replica@farmtap.in', 'Farmer')");
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyServiceCallsGoToTheReplica() {
+        signInAs("reader@farmtap.in");
+
+        assertThat(userService.findByEmail("replica@farmtap.in")).isPresent();
+    }
+
+    @Test
+    void writesGoToThePrimaryAndTheWriterReadsTheirOwnWrites() {
+        signInAs("writer@farmtap.in");
+        userService.saveUser(newUser("writer@farmtap.in"));
+
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM users WHERE email = 'writer@farmtap.in'", Long.class))
+                .isZero();
+        // Inside the window the writer is pinned to the primary, where only their row exists
+        assertThat(userService.findByEmail("writer@farmtap.in")).isPresent();
+        assertThat(userService.findByEmail("replica@farmtap.in")).isEmpty();
+
+        // Other users keep reading from the replica
+        signInAs("someone-else@farmtap.in");
+        assertThat(userService.findByEmail("writer@farmtap.in")).isEmpty();
+        assertThat(userService.findByEmail("replica@farmtap.in")).isPresent();
+    }
+
+    private static void signInAs(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, AuthorityUtils.createAuthorityList("Farmer")));
+    }
+
+    private static Users newUser(String email) {
+        Users user = new Users();
+        user.setName("Writer");
+        user.setEmail(email);
+        user.setRole(Role.Farmer);
+        return user;
+    }
+}
@@ -0,0 +1,213 @@
+package com.farmtap.loadtest;
+
+import com.farmtap.model.Equipment;
+import com.farmtap.model.Users;
+import com.farmtap.repository.BookingRepository;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the whole application on a random port against the embedded H2 database,
+ * seeds it and drives a harvest-season style traffic mix with concurrent virtual users.
+ *
+ * Run with {@code mvn -Ploadtest test}; sizes are tuned with -Dloadtest.* properties
+ * (see {@link LoadTestSettings}).
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class FarmtapLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private EquipmentRepository equipmentRepository;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private LoadTestSeeder seeder;
+
+    @Test
+    void mixedTraffic() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        seeder = new LoadTestSeeder(userRepository, equipmentRepository, bookingRepository, settings.seed());
+
+        long seedStart = System.nanoTime();
+        seeder.seed(settings, passwordEncoder.encode(LoadTestSeeder.PASSWORD));
+        System.out.printf("Seeded %d farmers, %d owners, %d equipment, %d bookings in %.1fs%n",
+                settings.farmers(), settings.owners(), settings.equipment(), settings.bookings(),
+                (System.nanoTime() - seedStart) / 1e9);
+
+        ExecutorService pool = Executors.newFixedThreadPool(settings.virtualUsers());
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.warmupSeconds());
+        long runEnd = warmupEnd + TimeUnit.SECONDS.toNanos(settings.durationSeconds());
+
+        List<Future<?>> users = new ArrayList<>();
+        for (int i = 0; i < settings.virtualUsers(); i++) {
+            boolean owner = i % 4 == 0; // roughly one owner for every three farmers
+            int index = i;
+            users.add(pool.submit(() -> runVirtualUser(index, owner, runEnd)));
+        }
+
+        Thread.sleep(Math.max(0, TimeUnit.NANOSECONDS.toMillis(warmupEnd - System.nanoTime())));
+        recorder.start();
+        long measureStart = System.nanoTime();
+        for (Future<?> user : users) {
+            user.get();
+        }
+        recorder.stop();
+        double elapsed = (System.nanoTime() - measureStart) / 1e9;
+        pool.shutdown();
+
+        System.out.printf("%nFarmTap load test: %d virtual users, %.1fs measured%n", settings.virtualUsers(), elapsed);
+        System.out.println(recorder.report(elapsed));
+
+        assertThat(recorder.requestCount()).isPositive();
+    }
+
+    private void runVirtualUser(int index, boolean owner, long runEnd) {
+        List<Users> pool = owner ? seeder.owners : seeder.farmers;
+        Users me = pool.get(index % pool.size());
+        String token = login(me.getEmail());
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < runEnd) {
+            if (token == null) {
+                token = login(me.getEmail());
+                continue;
+            }
+            int dice = random.nextInt(100);
+            if (dice < 5) {
+                token = login(me.getEmail());
+            } else if (dice < 45) {
+                call("GET /equipment", get("/api/equipment", token));
+            } else if (dice < 70) {
+                Equipment item = seeder.equipment.get(random.nextInt(seeder.equipment.size()));
+                call("GET /equipment/{id}", get("/api/equipment/" + item.getId(), token));
+            } else if (dice < 85) {
+                call("GET /bookings/user", get("/api/bookings/user", token));
+            } else if (owner) {
+                decideOnePending(token);
+            } else {
+                createBooking(token);
+            }
+        }
+    }
+
+    private String login(String email) {
+        HttpRequest request = post("/api/auth/login", null,
+                Map.of("email", email, "password", LoadTestSeeder.PASSWORD));
+        HttpResponse<String> response = call("POST /auth/login", request);
+        if (response == null || response.statusCode() != 200) {
+            return null;
+        }
+        return read(response.body()).path("token").asText(null);
+    }
+
+    private void createBooking(String token) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Equipment item = seeder.equipment.get(random.nextInt(seeder.equipment.size()));
+        LocalDate start = LocalDate.now().plusDays(random.nextInt(60));
+        call("POST /bookings", post("/api/bookings", token, Map.of(
+                "equipmentId", item.getId(),
+                "startDate", start.toString(),
+                "endDate", start.plusDays(random.nextInt(5)).toString())));
+    }
+
+    private void decideOnePending(String token) {
+        HttpResponse<String> mine = call("GET /bookings/user", get("/api/bookings/user", token));
+        if (mine == null || mine.statusCode() != 200) {
+            return;
+        }
+        for (JsonNode booking : read(mine.body())) {
+            if ("PENDING".equals(booking.path("status").asText())) {
+                String status = ThreadLocalRandom.current().nextInt(4) == 0 ? "REJECTED" : "APPROVED";
+                HttpRequest request = HttpRequest.newBuilder(uri("/api/bookings/" + booking.path("id").asLong()
+                                + "/status?status=" + status))
+                        .header("Authorization", "Bearer " + token)
+                        .PUT(HttpRequest.BodyPublishers.noBody())
+                        .timeout(Duration.ofSeconds(30))
+                        .build();
+                call("PUT /bookings/{id}/status", request);
+                return;
+            }
+        }
+    }
+
+    private HttpResponse<String> call(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            recorder.record(endpoint, System.nanoTime() - start, response.statusCode() < 400);
+            return response;
+        } catch (Exception e) {
+            recorder.record(endpoint, System.nanoTime() - start, false);
+            return null;
+        }
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String token, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        try {
+            return builder.POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body))).build();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private JsonNode read(String body) {
+        try {
+            return mapper.readTree(body);
+        } catch (Exception e) {
+            return mapper.missingNode();
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
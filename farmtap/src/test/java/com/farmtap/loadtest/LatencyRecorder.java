@@ -0,0 +1,96 @@
+package com.farmtap.loadtest;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Collects per-endpoint latency samples and prints a p50/p95/p99 + throughput table.
+class LatencyRecorder {
+
+    private final Map<String, Samples> byEndpoint = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    void start() {
+        byEndpoint.clear();
+        recording = true;
+    }
+
+    void stop() {
+        recording = false;
+    }
+
+    void record(String endpoint, long nanos, boolean success) {
+        if (!recording) {
+            return;
+        }
+        byEndpoint.computeIfAbsent(endpoint, k -> new Samples()).add(nanos, success);
+    }
+
+    String report(double elapsedSeconds) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-28s %8s %8s %9s %9s %9s %9s %10s%n",
+                "endpoint", "count", "errors", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)", "req/s"));
+        long totalCount = 0;
+        List<String> names = new ArrayList<>(byEndpoint.keySet());
+        Collections.sort(names);
+        for (String name : names) {
+            Samples samples = byEndpoint.get(name);
+            long[] sorted = samples.sorted();
+            totalCount += sorted.length;
+            out.append(String.format("%-28s %8d %8d %9.2f %9.2f %9.2f %9.2f %10.1f%n",
+                    name,
+                    sorted.length,
+                    samples.errors.get(),
+                    millis(percentile(sorted, 50)),
+                    millis(percentile(sorted, 95)),
+                    millis(percentile(sorted, 99)),
+                    millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]),
+                    sorted.length / elapsedSeconds));
+        }
+        out.append(String.format("%-28s %8d %8s %9s %9s %9s %9s %10.1f%n",
+                "TOTAL", totalCount, "", "", "", "", "", totalCount / elapsedSeconds));
+        return out.toString();
+    }
+
+    long errorCount() {
+        return byEndpoint.values().stream().mapToLong(s -> s.errors.get()).sum();
+    }
+
+    long requestCount() {
+        return byEndpoint.values().stream().mapToLong(s -> s.sorted().length).sum();
+    }
+
+    private static long percentile(long[] sorted, int pct) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(pct / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static class Samples {
+        private long[] values = new long[1024];
+        private int size;
+        private final AtomicLong errors = new AtomicLong();
+
+        synchronized void add(long nanos, boolean success) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+            if (!success) {
+                errors.incrementAndGet();
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.farmtap.loadtest;
+
+import com.farmtap.model.*;
+import com.farmtap.repository.BookingRepository;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.UserRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Seeds users, equipment and bookings straight through the repositories.
+class LoadTestSeeder {
+
+    static final String PASSWORD = "loadtest-password";
+
+    private static final String[] TYPES = {"Tractor", "Plough", "Sprayer", "Harvester", "Rotavator", "Seed Drill"};
+    private static final String[] DISTRICTS = {"Pune", "Nashik", "Satara", "Kolhapur", "Sangli", "Solapur"};
+
+    private final UserRepository userRepository;
+    private final EquipmentRepository equipmentRepository;
+    private final BookingRepository bookingRepository;
+    private final Random random;
+
+    final List<Users> farmers = new ArrayList<>();
+    final List<Users> owners = new ArrayList<>();
+    final List<Equipment> equipment = new ArrayList<>();
+
+    LoadTestSeeder(UserRepository userRepository,
+                   EquipmentRepository equipmentRepository,
+                   BookingRepository bookingRepository,
+                   long seed) {
+        this.userRepository = userRepository;
+        this.equipmentRepository = equipmentRepository;
+        this.bookingRepository = bookingRepository;
+        this.random = new Random(seed);
+    }
+
+    void seed(LoadTestSettings settings, String encodedPassword) {
+        for (int i = 0; i < settings.farmers(); i++) {
+            farmers.add(newUser("farmer" + i, Role.Farmer, encodedPassword));
+        }
+        for (int i = 0; i < settings.owners(); i++) {
+            owners.add(newUser("owner" + i, Role.Owner, encodedPassword));
+        }
+        userRepository.saveAll(farmers);
+        userRepository.saveAll(owners);
+
+        for (int i = 0; i < settings.equipment(); i++) {
+            Users owner = owners.get(i % owners.size());
+            String type = TYPES[random.nextInt(TYPES.length)];
+            equipment.add(Equipment.builder()
+                    .name(type + " #" + i)
+                    .type(type)
+                    .description("Load test " + type.toLowerCase())
+                    .rentalPricePerDay(BigDecimal.valueOf(500 + random.nextInt(40) * 50L))
+                    .isAvailable(random.nextInt(10) != 0)
+                    .location(owner.getVillageName() + ", " + owner.getDistrict())
+                    .createdAt(java.time.LocalDateTime.now())
+                    .owner(owner)
+                    .build());
+        }
+        equipmentRepository.saveAll(equipment);
+
+        List<Booking> batch = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < settings.bookings(); i++) {
+            Equipment item = equipment.get(random.nextInt(equipment.size()));
+            LocalDate start = today.plusDays(random.nextInt(240) - 120);
+            LocalDate end = start.plusDays(random.nextInt(7));
+            long days = ChronoUnit.DAYS.between(start, end) + 1;
+            batch.add(Booking.builder()
+                    .equipment(item)
+                    .farmer(farmers.get(random.nextInt(farmers.size())))
+                    .startDate(start)
+                    .endDate(end)
+                    .totalPrice(item.getRentalPricePerDay().multiply(BigDecimal.valueOf(days)))
+                    .status(BookingStatus.values()[random.nextInt(BookingStatus.values().length)])
+                    .createdAt(java.time.LocalDateTime.now())
+                    .build());
+            if (batch.size() == 1000) {
+                bookingRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        bookingRepository.saveAll(batch);
+    }
+
+    private Users newUser(String prefix, Role role, String encodedPassword) {
+        Users user = new Users();
+        String district = DISTRICTS[random.nextInt(DISTRICTS.length)];
+        user.setName(prefix);
+        user.setEmail(prefix + "@loadtest.farmtap");
+        user.setPassword(encodedPassword);
+        user.setRole(role);
+        user.setPhoneNumber("9" + String.format("%09d", random.nextInt(1_000_000_000)));
+        user.setVillageName("Village " + random.nextInt(100));
+        user.setDistrict(district);
+        user.setState("Maharashtra");
+        user.setPincode("4" + String.format("%05d", random.nextInt(100_000)));
+        return user;
+    }
+}
@@ -0,0 +1,29 @@
+package com.farmtap.loadtest;
+
+// Knobs for the load-test harness, read from -Dloadtest.* system properties.
+record LoadTestSettings(
+        int farmers,
+        int owners,
+        int equipment,
+        int bookings,
+        int virtualUsers,
+        int durationSeconds,
+        int warmupSeconds,
+        long seed) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                intProperty("loadtest.farmers", 200),
+                intProperty("loadtest.owners", 50),
+                intProperty("loadtest.equipment", 500),
+                intProperty("loadtest.bookings", 5000),
+                intProperty("loadtest.virtualUsers", 32),
+                intProperty("loadtest.durationSeconds", 30),
+                intProperty("loadtest.warmupSeconds", 5),
+                Long.getLong("loadtest.seed", 42L));
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.getInteger(name, defaultValue);
+    }
+}
@@ -0,0 +1,206 @@
+package com.farmtap.loadtest;
+
+import com.farmtap.reactive.ReactiveDatabase;
+import com.farmtap.repository.BookingRepository;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the blocking JPA listing ({@code GET /api/equipment}) with the streamed R2DBC one
+ * ({@code GET /api/reactive/equipment}) at the same, deliberately small, connection pool size.
+ * Each endpoint gets its own measured phase with the same number of virtual users; alongside the
+ * latency table it reports how many Tomcat request threads and database connections each one
+ * held at its peak, which is where the two models differ.
+ *
+ * Run with {@code mvn -Ploadtest test -Dtest=ReactiveReadLoadTest}; -Dloadtest.* properties
+ * apply as for {@link FarmtapLoadTest}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.hikari.maximum-pool-size=" + ReactiveReadLoadTest.POOL_SIZE,
+        "spring.datasource.hikari.connection-timeout=30000",
+        "farmtap.reactive.pool-size=" + ReactiveReadLoadTest.POOL_SIZE,
+        "farmtap.reactive.max-acquire-time=30s",
+        // Queue on the pool instead of shedding, so both phases see the same demand
+        "farmtap.resilience.listing.max-concurrent=10000",
+        "farmtap.resilience.listing.max-wait=30s"
+})
+class ReactiveReadLoadTest {
+
+    static final int POOL_SIZE = 4;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private EquipmentRepository equipmentRepository;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private ServletWebServerApplicationContext context;
+    @Autowired private DataSource dataSource;
+    @Autowired private ReactiveDatabase reactiveDatabase;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void blockingVersusReactiveListing() throws Exception {
+        LoadTestSettings defaults = LoadTestSettings.fromSystemProperties();
+        // Bookings play no part in either listing
+        LoadTestSettings settings = new LoadTestSettings(defaults.farmers(), defaults.owners(), defaults.equipment(),
+                0, defaults.virtualUsers(), defaults.durationSeconds(), defaults.warmupSeconds(), defaults.seed());
+        LoadTestSeeder seeder = new LoadTestSeeder(userRepository, equipmentRepository, bookingRepository, settings.seed());
+        seeder.seed(settings, passwordEncoder.encode(LoadTestSeeder.PASSWORD));
+        String token = login(seeder.farmers.get(0).getEmail());
+        assertThat(token).isNotNull();
+
+        Phase blocking = run(settings, "GET /equipment (JPA)", "/api/equipment", token, this::hikariActive);
+        Phase reactive = run(settings, "GET /reactive/equipment", "/api/reactive/equipment", token,
+                () -> reactiveDatabase.pool().getMetrics().map(m -> m.acquiredSize()).orElse(-1));
+
+        System.out.printf("%nBlocking vs reactive listing: %d equipment, %d virtual users, pool size %d%n",
+                settings.equipment(), settings.virtualUsers(), POOL_SIZE);
+        System.out.print(blocking.recorder.report(blocking.elapsed));
+        System.out.print(reactive.recorder.report(reactive.elapsed));
+        System.out.printf("%-28s %14s %16s%n", "", "peak threads", "peak connections");
+        System.out.printf("%-28s %14d %16d%n", blocking.endpoint, blocking.peakThreads, blocking.peakConnections);
+        System.out.printf("%-28s %14d %16d%n", reactive.endpoint, reactive.peakThreads, reactive.peakConnections);
+
+        assertThat(blocking.recorder.requestCount()).isPositive();
+        assertThat(reactive.recorder.requestCount()).isPositive();
+        assertThat(reactive.peakConnections).isLessThanOrEqualTo(POOL_SIZE);
+    }
+
+    private Phase run(LoadTestSettings settings, String endpoint, String path, String token,
+                      IntSupplier connections) throws Exception {
+        Phase phase = new Phase(endpoint);
+        ExecutorService users = Executors.newFixedThreadPool(settings.virtualUsers());
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.warmupSeconds());
+        long runEnd = warmupEnd + TimeUnit.SECONDS.toNanos(settings.durationSeconds());
+
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 0; i < settings.virtualUsers(); i++) {
+            running.add(users.submit(() -> {
+                while (System.nanoTime() < runEnd) {
+                    call(phase.recorder, endpoint, path, token);
+                }
+            }));
+        }
+
+        Thread.sleep(Math.max(0, TimeUnit.NANOSECONDS.toMillis(warmupEnd - System.nanoTime())));
+        phase.recorder.start();
+        long measureStart = System.nanoTime();
+        while (System.nanoTime() < runEnd) {
+            phase.peakThreads = Math.max(phase.peakThreads, tomcatBusyThreads());
+            phase.peakConnections = Math.max(phase.peakConnections, connections.getAsInt());
+            Thread.sleep(5);
+        }
+        for (Future<?> user : running) {
+            user.get();
+        }
+        phase.recorder.stop();
+        phase.elapsed = (System.nanoTime() - measureStart) / 1e9;
+        users.shutdown();
+        return phase;
+    }
+
+    // Reads the body as it arrives, the way a client consuming the NDJSON stream would
+    private void call(LatencyRecorder recorder, String endpoint, String path, String token) {
+        HttpRequest request = HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<InputStream> response = http.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                body.transferTo(OutputStream.nullOutputStream());
+            }
+            recorder.record(endpoint, System.nanoTime() - start, response.statusCode() < 400);
+        } catch (Exception e) {
+            recorder.record(endpoint, System.nanoTime() - start, false);
+        }
+    }
+
+    private int tomcatBusyThreads() {
+        Executor executor = ((TomcatWebServer) context.getWebServer()).getTomcat().getConnector()
+                .getProtocolHandler().getExecutor();
+        if (executor instanceof ThreadPoolExecutor pool) {
+            return pool.getActiveCount();
+        }
+        if (executor instanceof org.apache.tomcat.util.threads.ThreadPoolExecutor pool) {
+            return pool.getActiveCount();
+        }
+        return -1;
+    }
+
+    private int hikariActive() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections()
+                    : -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private String login(String email) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(
+                        Map.of("email", email, "password", LoadTestSeeder.PASSWORD))))
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        return response.statusCode() == 200 ? mapper.readTree(response.body()).path("token").asText(null) : null;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static class Phase {
+        final String endpoint;
+        final LatencyRecorder recorder = new LatencyRecorder();
+        double elapsed;
+        int peakThreads;
+        int peakConnections;
+
+        Phase(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.farmtap.outbox;
+
+import com.farmtap.dto.BookingRequestDTO;
+import com.farmtap.model.*;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.OutboxEventRepository;
+import com.farmtap.repository.UserRepository;
+import com.farmtap.service.BookingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.security.Principal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// Polling is pushed out of the way so the test drives the dispatcher itself
+@SpringBootTest(properties = {
+        "farmtap.outbox.poll-interval=1h",
+        "farmtap.outbox.retry-backoff=0s"
+})
+class OutboxDispatcherTest {
+
+    @Autowired private BookingService bookingService;
+    @Autowired private OutboxDispatcher outboxDispatcher;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EquipmentRepository equipmentRepository;
+    @Autowired private RecordingHandler recordingHandler;
+
+    @TestConfiguration
+    static class Handlers {
+        @Bean
+        RecordingHandler recordingHandler() {
+            return new RecordingHandler();
+        }
+    }
+
+    // Fails the first delivery it sees, then records everything in arrival order
+    static class RecordingHandler implements BookingEventHandler {
+        final List<BookingEvent> received = new CopyOnWriteArrayList<>();
+        final AtomicBoolean failNext = new AtomicBoolean(true);
+
+        @Override
+        public void handle(BookingEvent event) {
+            if (failNext.compareAndSet(true, false)) {
+                throw new IllegalStateException("simulated handler outage");
+            }
+            received.add(event);
+        }
+    }
+
+    @Test
+    void failedEventIsRetriedAndHoldsBackLaterEventsOfTheSameBooking() throws Exception {
+        Users owner = user("outbox-owner@farmtap.in", Role.Owner);
+        Users farmer = user("outbox-farmer@farmtap.in", Role.Farmer);
+        Equipment sprayer = equipmentRepository.save(Equipment.builder()
+                .name("Sprayer").type("Sprayer").rentalPricePerDay(new BigDecimal("400.00")).isAvailable(true).owner(owner).build());
+
+        LocalDate start = LocalDate.of(2025, 11, 3);
+        Booking booking = bookingService.createBooking(request(sprayer, start, start.plusDays(1)), principal(farmer));
+        bookingService.updateStatus(booking.getId(), BookingStatus.APPROVED, principal(owner));
+
+        // CREATED fails, so STATUS_CHANGED must wait for it
+        assertThat(outboxDispatcher.drain()).isZero();
+        assertThat(recordingHandler.received).isEmpty();
+        assertThat(outboxEventRepository.countByProcessedAtIsNullAndParkedAtIsNull()).isEqualTo(2);
+
+        assertThat(outboxDispatcher.drain()).isEqualTo(2);
+        assertThat(recordingHandler.received)
+                .extracting(BookingEvent::bookingId, BookingEvent::type, BookingEvent::status)
+                .containsExactly(
+                        tuple(booking.getId(), BookingEventType.CREATED, BookingStatus.PENDING),
+                        tuple(booking.getId(), BookingEventType.STATUS_CHANGED, BookingStatus.APPROVED));
+        assertThat(outboxEventRepository.countByProcessedAtIsNullAndParkedAtIsNull()).isZero();
+        assertThat(outboxDispatcher.stats().getFailures()).isEqualTo(1);
+        assertThat(outboxDispatcher.stats().getDelivered()).isEqualTo(2);
+    }
+
+    @Test
+    void eventsInBackoffDoNotCrowdOutDueOnes() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.saveAll(List.of(
+                event(9001L, now.plusMinutes(5)),  // waiting out its backoff
+                event(9001L, now.minusMinutes(1)), // due, but must not overtake the one above
+                event(9002L, now.minusMinutes(1))));
+        try {
+            assertThat(outboxEventRepository.findDueIds(now, Limit.of(10)))
+                    .containsExactly(events.get(2).getId());
+            assertThat(outboxEventRepository.findDueIds(now.plusMinutes(10), Limit.of(10)))
+                    .containsExactly(events.get(0).getId(), events.get(1).getId(), events.get(2).getId());
+        } finally {
+            outboxEventRepository.deleteAll(events);
+        }
+    }
+
+    private static OutboxEvent event(Long bookingId, LocalDateTime availableAt) {
+        return OutboxEvent.builder()
+                .aggregateType("Booking").aggregateId(bookingId).eventType("CREATED").payload("{}")
+                .createdAt(LocalDateTime.now()).availableAt(availableAt)
+                .build();
+    }
+
+    private Users user(String email, Role role) {
+        Users user = new Users();
+        user.setName(email);
+        user.setEmail(email);
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private static BookingRequestDTO request(Equipment equipment, LocalDate start, LocalDate end) {
+        BookingRequestDTO request = new BookingRequestDTO();
+        request.setEquipmentId(equipment.getId());
+        request.setStartDate(start);
+        request.setEndDate(end);
+        return request;
+    }
+
+    private static Principal principal(Users user) {
+        return user::getEmail;
+    }
+}
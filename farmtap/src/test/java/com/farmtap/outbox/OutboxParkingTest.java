@@ -0,0 +1,91 @@
+package com.farmtap.outbox;
+
+import com.farmtap.dto.BookingRequestDTO;
+import com.farmtap.model.*;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.OutboxEventRepository;
+import com.farmtap.repository.UserRepository;
+import com.farmtap.service.BookingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "farmtap.outbox.poll-interval=1h",
+        "farmtap.outbox.retry-backoff=0s",
+        "farmtap.outbox.max-attempts=2"
+})
+class OutboxParkingTest {
+
+    @Autowired private BookingService bookingService;
+    @Autowired private OutboxDispatcher outboxDispatcher;
+    @Autowired private OutboxEventRepository outboxEventRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EquipmentRepository equipmentRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @TestConfiguration
+    static class Handlers {
+        @Bean
+        BookingEventHandler failingHandler() {
+            return event -> {
+                throw new IllegalStateException("simulated permanent failure");
+            };
+        }
+    }
+
+    @Test
+    void parkedEventsAreNeitherPendingNorDeliveredAndSurviveThePurge() throws Exception {
+        Users owner = user("parking-owner@farmtap.in", Role.Owner);
+        Users farmer = user("parking-farmer@farmtap.in", Role.Farmer);
+        Equipment seeder = equipmentRepository.save(Equipment.builder()
+                .name("Seeder").type("Seeder").rentalPricePerDay(new BigDecimal("300.00")).isAvailable(true).owner(owner).build());
+        BookingRequestDTO request = new BookingRequestDTO();
+        request.setEquipmentId(seeder.getId());
+        request.setStartDate(LocalDate.of(2025, 12, 1));
+        request.setEndDate(LocalDate.of(2025, 12, 2));
+        bookingService.createBooking(request, farmer::getEmail);
+
+        assertThat(outboxDispatcher.drain()).isZero();
+        assertThat(outboxEventRepository.countByProcessedAtIsNullAndParkedAtIsNull()).isEqualTo(1);
+        assertThat(outboxDispatcher.drain()).isZero();
+
+        OutboxEvent parked = outboxEventRepository.findAll().get(0);
+        assertThat(parked.getParkedAt()).isNotNull();
+        assertThat(parked.getProcessedAt()).isNull();
+        assertThat(parked.getLastError()).contains("simulated permanent failure");
+        assertThat(outboxEventRepository.countByProcessedAtIsNullAndParkedAtIsNull()).isZero();
+        assertThat(outboxDispatcher.stats())
+                .satisfies(stats -> {
+                    assertThat(stats.getPending()).isZero();
+                    assertThat(stats.getDelivered()).isZero();
+                    assertThat(stats.getParked()).isEqualTo(1);
+                    assertThat(stats.getParkedEvents()).isEqualTo(1);
+                });
+
+        // Not redelivered, and kept however old it is
+        assertThat(outboxDispatcher.drain()).isZero();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                outboxEventRepository.deleteProcessedBefore(LocalDateTime.now().plusDays(1)));
+        assertThat(outboxEventRepository.findById(parked.getId())).isPresent();
+        assertThat(outboxEventRepository.findById(parked.getId()).get().getAttempts()).isEqualTo(2);
+    }
+
+    private Users user(String email, Role role) {
+        Users user = new Users();
+        user.setName(email);
+        user.setEmail(email);
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,94 @@
+package com.farmtap.region;
+
+import com.farmtap.FarmtapApplication;
+import com.farmtap.model.*;
+import com.farmtap.repository.BookingRepository;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * V12's partitioned booking table and RegionPartitionManager on a real PostgreSQL server. Only runs
+ * when FARMTAP_TEST_POSTGRES_URL is set, as for ClusterInvalidationTest.
+ */
+@EnabledIfEnvironmentVariable(named = "FARMTAP_TEST_POSTGRES_URL", matches = ".+")
+class RegionPartitionTest {
+
+    private static ConfigurableApplicationContext context;
+
+    @BeforeAll
+    static void start() throws Exception {
+        String env = System.getenv("FARMTAP_TEST_POSTGRES_USER");
+        String user = env != null ? env : "postgres";
+        env = System.getenv("FARMTAP_TEST_POSTGRES_PASSWORD");
+        String password = env != null ? env : "postgres";
+        context = new SpringApplicationBuilder(FarmtapApplication.class)
+                .run("--spring.datasource.url=" + System.getenv("FARMTAP_TEST_POSTGRES_URL"),
+                        "--spring.datasource.username=" + user,
+                        "--spring.datasource.password=" + password,
+                        "--server.port=0",
+                        "--farmtap.audit.dir=" + Files.createTempDirectory("farmtap-region-audit"),
+                        "--farmtap.images.dir=" + Files.createTempDirectory("farmtap-region-images"));
+    }
+
+    @AfterAll
+    static void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void newRegionsAreSplitOutOfTheDefaultPartition() {
+        RegionPartitionManager manager = context.getBean(RegionPartitionManager.class);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        assertThat(manager.isPartitioned()).isTrue();
+
+        String state = "Region Test " + UUID.randomUUID().toString().substring(0, 8);
+        Users owner = new Users();
+        owner.setName("Partition Owner");
+        owner.setEmail("partition-" + UUID.randomUUID() + "@farmtap.in");
+        owner.setRole(Role.Owner);
+        owner.setState(state);
+        owner = context.getBean(UserRepository.class).save(owner);
+        Equipment equipment = context.getBean(EquipmentRepository.class).save(Equipment.builder()
+                .name("Partition Tractor").type("Tractor").rentalPricePerDay(new BigDecimal("1000.00"))
+                .isAvailable(true).owner(owner).build());
+        BookingRepository bookings = context.getBean(BookingRepository.class);
+        Booking booking = bookings.save(Booking.builder()
+                .equipment(equipment).farmer(owner).status(BookingStatus.PENDING)
+                .startDate(LocalDate.now()).endDate(LocalDate.now()).totalPrice(new BigDecimal("1000.00")).build());
+        String region = Regions.of(state);
+        assertThat(booking.getRegion()).isEqualTo(region);
+        assertThat(partitionOf(jdbc, booking.getId())).isEqualTo(RegionPartitionManager.DEFAULT_PARTITION);
+
+        assertThat(manager.ensurePartitions()).contains(region);
+        String partition = partitionOf(jdbc, booking.getId());
+        assertThat(partition).startsWith("booking_region_test_");
+        assertThat(manager.ensurePartitions()).doesNotContain(region);
+
+        // A region-keyed lookup is pruned to that one partition
+        List<String> plan = jdbc.queryForList("EXPLAIN SELECT * FROM booking WHERE id = " + booking.getId() +
+                " AND region = '" + region + "'", String.class);
+        assertThat(String.join("\n", plan)).contains(partition).doesNotContain(RegionPartitionManager.DEFAULT_PARTITION);
+        assertThat(bookings.findByIdAndRegion(booking.getId(), region)).isPresent();
+    }
+
+    private static String partitionOf(JdbcTemplate jdbc, Long bookingId) {
+        return jdbc.queryForObject("SELECT tableoid::regclass::text FROM booking WHERE id = ?", String.class, bookingId);
+    }
+}
@@ -0,0 +1,83 @@
+package com.farmtap.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Checks that the hot queries are planned against the indexes created by the migrations.
+@SpringBootTest
+class QueryPlanIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void findByEmailUsesUniqueEmailIndex() {
+        assertThat(explain("SELECT * FROM users WHERE email = 'farmer@farmtap.in'"))
+                .contains("ux_users_email");
+    }
+
+    @Test
+    void adminUserPagesUseFilterIndexes() {
+        assertThat(explain("SELECT id, name FROM users WHERE district = 'Pune' AND id < 1000 ORDER BY id DESC LIMIT 50"))
+                .contains("idx_users_district_id");
+        assertThat(explain("SELECT id, name FROM users WHERE role = 'Owner' AND id < 1000 ORDER BY id DESC LIMIT 50"))
+                .contains("idx_users_role_id");
+    }
+
+    @Test
+    void equipmentListingsUseIndexes() {
+        assertIndexLookup(explain("SELECT * FROM equipment WHERE owner_id = 1"), "owner_id");
+        assertThat(explain("SELECT * FROM equipment WHERE is_available = TRUE"))
+                .contains("idx_equipment_is_available");
+        assertThat(explain("SELECT * FROM equipment WHERE region = 'punjab' AND is_available = TRUE"))
+                .contains("idx_equipment_region_available");
+    }
+
+    @Test
+    void findBookingsForUserUsesIndexOnEachBranch() throws Exception {
+        String sql = BookingRepository.class
+                .getMethod("findBookingsForUser", Long.class)
+                .getAnnotation(Query.class)
+                .value()
+                .replace(":userId", "1");
+
+        String plan = explain(sql);
+        assertIndexLookup(plan, "farmer_id");
+        assertIndexLookup(plan, "owner_id");
+        assertIndexLookup(plan, "equipment_id");
+    }
+
+    @Test
+    void bookingInboxReadsAreASinglePrimaryKeyRange() {
+        assertThat(explain("SELECT * FROM booking_inbox WHERE user_id = 1 AND booking_id < 1000 " +
+                "ORDER BY booking_id DESC LIMIT 20"))
+                .containsIgnoringCase("primary_key")
+                .doesNotContainIgnoringCase("tableScan");
+        assertThat(explain("SELECT * FROM booking_inbox WHERE booking_id = 1"))
+                .contains("idx_booking_inbox_booking_id");
+    }
+
+    @Test
+    void overlappingBookingLookupUsesCompositeIndex() {
+        assertThat(explain("SELECT * FROM booking WHERE equipment_id = 1 " +
+                "AND start_date <= DATE '2025-10-10' AND end_date >= DATE '2025-10-01'"))
+                .contains("idx_booking_equipment_dates");
+    }
+
+    // H2 also indexes foreign key columns on its own, so for FK columns we only require
+    // that the plan resolves the predicate through some index rather than a table scan.
+    private void assertIndexLookup(String plan, String column) {
+        assertThat(plan)
+                .doesNotContain("tablescan")
+                .containsPattern("/\\* public\\.[a-z0-9_]+: " + column + " = ");
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class)).toLowerCase();
+    }
+}
@@ -0,0 +1,78 @@
+package com.farmtap.repository;
+
+import com.farmtap.model.Equipment;
+import com.farmtap.model.Role;
+import com.farmtap.model.Users;
+import com.farmtap.storage.ImageUrls;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class SparseFieldsTest {
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private EquipmentRepository equipmentRepository;
+
+    @Test
+    void equipmentCardSelectsOnlyRequestedFields() {
+        Users owner = owner("sparse-owner@farmtap.in");
+        Equipment tractor = equipmentRepository.save(Equipment.builder()
+                .name("Sparse Tractor")
+                .type("Tractor")
+                .description("Long description the list card never shows")
+                .rentalPricePerDay(new BigDecimal("1500.00"))
+                .isAvailable(true)
+                .location("Wagholi, Pune")
+                .imageUrl("http://localhost:8080/api/images/abc.jpg")
+                .createdAt(LocalDateTime.now())
+                .owner(owner)
+                .build());
+
+        Map<String, Object> card = equipmentRepository
+                .findFieldsById(tractor.getId(), List.of("name", "rentalPricePerDay", "thumbnailUrl", "ownerName"))
+                .orElseThrow();
+
+        assertThat(card).containsOnlyKeys("id", "name", "rentalPricePerDay", "thumbnailUrl", "ownerName");
+        assertThat(card.get("name")).isEqualTo("Sparse Tractor");
+        assertThat(card.get("thumbnailUrl")).isEqualTo(ImageUrls.thumbnailFor(tractor.getImageUrl()));
+        assertThat(card.get("ownerName")).isEqualTo("Sparse Owner");
+        assertThat(equipmentRepository.findAvailableFields(List.of("name")))
+                .anySatisfy(row -> assertThat(row).containsEntry("id", tractor.getId()));
+    }
+
+    @Test
+    void userFieldsNeverExposePassword() {
+        Users owner = owner("sparse-user@farmtap.in");
+
+        assertThat(userRepository.findFieldsById(owner.getId(), List.of("name", "district")).orElseThrow())
+                .containsOnlyKeys("id", "name", "district");
+        assertThatThrownBy(() -> userRepository.findFieldsById(owner.getId(), List.of("password")))
+                .hasMessageContaining("Unknown field");
+        assertThatThrownBy(() -> userRepository.findFieldsById(owner.getId(), List.of("aadharNumber")))
+                .hasMessageContaining("Unknown field");
+        assertThat(userRepository.findProfileFieldsByEmail(owner.getEmail(), List.of("aadharNumber")).orElseThrow())
+                .containsEntry("aadharNumber", "123412341234");
+    }
+
+    private Users owner(String email) {
+        Users owner = new Users();
+        owner.setName("Sparse Owner");
+        owner.setEmail(email);
+        owner.setPassword("hash");
+        owner.setRole(Role.Owner);
+        owner.setDistrict("Pune");
+        owner.setAadharNumber("123412341234");
+        return userRepository.save(owner);
+    }
+}
@@ -0,0 +1,106 @@
+package com.farmtap.resilience;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DatabaseGuardTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private CircuitBreaker breaker() {
+        return new CircuitBreaker("test", 4, 4, 0.5, Duration.ofSeconds(1), Duration.ofSeconds(10), now::get);
+    }
+
+    @Test
+    void breakerOpensOnFailureRateAndRecoversThroughOneProbe() {
+        CircuitBreaker breaker = breaker();
+        for (boolean failed : new boolean[]{false, true, false, true}) {
+            breaker.acquirePermission();
+            breaker.onResult(0, failed);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(breaker::acquirePermission).isInstanceOf(DatabaseUnavailableException.class);
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        breaker.acquirePermission();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThatThrownBy(breaker::acquirePermission).isInstanceOf(DatabaseUnavailableException.class);
+
+        breaker.onResult(0, false);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void slowCallsCountAsFailures() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 4; i++) {
+            breaker.acquirePermission();
+            breaker.onResult(i % 2 == 0 ? Duration.ofSeconds(3).toNanos() : 0, false);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void onlyAvailabilityFailuresTripTheBreaker() {
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getBreaker().setMinimumCalls(2);
+        properties.getBreaker().setWindow(2);
+        DatabaseGuard guard = new DatabaseGuard(properties);
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> guard.listing(() -> {
+                throw new DataIntegrityViolationException("duplicate email");
+            })).isInstanceOf(DataIntegrityViolationException.class);
+        }
+        assertThat(guard.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        assertThatThrownBy(() -> guard.listing(() -> {
+            throw new CannotCreateTransactionException("no connection");
+        })).isInstanceOf(DatabaseUnavailableException.class);
+        assertThatThrownBy(() -> guard.bookingWrite(() -> {
+            throw new QueryTimeoutException("statement timeout");
+        })).isInstanceOf(DatabaseUnavailableException.class);
+        assertThat(guard.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // Open breaker rejects every kind of work without running it
+        assertThatThrownBy(() -> guard.auth(() -> "never runs")).isInstanceOf(DatabaseUnavailableException.class);
+    }
+
+    @Test
+    void fullBulkheadRejectsWithoutTouchingOtherKinds() throws Exception {
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.setListing(new ResilienceProperties.Limit(1, Duration.ofMillis(10)));
+        DatabaseGuard guard = new DatabaseGuard(properties);
+
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> guard.listing(() -> {
+                inside.countDown();
+                return release.await(5, TimeUnit.SECONDS);
+            }));
+            assertThat(inside.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> guard.listing(() -> "blocked"))
+                    .isInstanceOf(DatabaseUnavailableException.class)
+                    .hasMessageContaining("listing");
+            assertThat(guard.auth(() -> "login")).isEqualTo("login");
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.farmtap.service;
+
+import com.farmtap.audit.AuditAction;
+import com.farmtap.audit.AuditLog;
+import com.farmtap.audit.AuditProperties;
+import com.farmtap.audit.AuditRecord;
+import com.farmtap.dto.AuditEntryDTO;
+import com.farmtap.model.Booking;
+import com.farmtap.model.BookingStatus;
+import com.farmtap.model.Equipment;
+import com.farmtap.model.Role;
+import com.farmtap.model.Users;
+import com.farmtap.repository.BookingRepository;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class AuditServiceTest {
+
+    @Autowired private EquipmentService equipmentService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EquipmentRepository equipmentRepository;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private AuditService auditService;
+    @Autowired private AuditProperties auditProperties;
+
+    @AfterEach
+    void clearCaller() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void equipmentChangesRecordTheAuthenticatedCaller() throws Exception {
+        Users owner = new Users();
+        owner.setName("Audit Owner");
+        owner.setEmail("audit-owner@farmtap.in");
+        owner.setRole(Role.Owner);
+        owner = userRepository.save(owner);
+
+        // As JwtAuthenticationFilter does: a Spring Security user named by email
+        UserDetails principal = User.withUsername(owner.getEmail()).password("").authorities("Owner").build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        Equipment equipment = equipmentService.addEquipment(Equipment.builder()
+                .name("Audited Tractor").type("Tractor").rentalPricePerDay(new BigDecimal("900.00"))
+                .isAvailable(true).owner(owner).build());
+        equipmentService.updateImage(equipment.getId(), "/images/audited.jpg", owner.getId());
+
+        assertThat(equipmentService.getHistory(equipment.getId(), owner.getId()))
+                .extracting(AuditEntryDTO::getActorId)
+                .containsExactly(owner.getId(), owner.getId());
+    }
+
+    @Test
+    void historyRecordedByAnotherInstanceIsReplayedAndAuthorizedFromTheDatabase() throws Exception {
+        Users owner = user("audit-peer-owner@farmtap.in", Role.Owner);
+        Users farmer = user("audit-peer-farmer@farmtap.in", Role.Farmer);
+        Users stranger = user("audit-peer-stranger@farmtap.in", Role.Farmer);
+        Equipment baler = equipmentRepository.save(Equipment.builder()
+                .name("Peer Baler").type("Baler").rentalPricePerDay(new BigDecimal("700.00")).isAvailable(true).owner(owner).build());
+        Booking booking = bookingRepository.save(Booking.builder()
+                .equipment(baler).farmer(farmer)
+                .startDate(LocalDate.now().plusDays(1)).endDate(LocalDate.now().plusDays(2))
+                .totalPrice(new BigDecimal("1400.00")).status(BookingStatus.PENDING).createdAt(LocalDateTime.now())
+                .build());
+
+        // Another instance sharing the audit directory recorded the change; this one has nothing
+        AuditProperties peerProperties = new AuditProperties();
+        peerProperties.setDir(auditProperties.getDir());
+        peerProperties.setInstance("audit-peer");
+        AuditLog peer = new AuditLog(peerProperties);
+        try {
+            // Recorded by the owner, so only the database says who the farmer is
+            peer.append(AuditRecord.of(AuditAction.BOOKING_STATUS_CHANGED, (byte) 1, (byte) 2,
+                    booking.getId(), owner.getId(), baler.getId(), 140000));
+        } finally {
+            peer.close();
+        }
+
+        assertThat(auditService.bookingHistory(booking.getId(), farmer.getId()))
+                .extracting(AuditEntryDTO::getTo).containsExactly("APPROVED");
+        assertThat(auditService.bookingHistory(booking.getId(), owner.getId())).hasSize(1);
+        assertThatThrownBy(() -> auditService.bookingHistory(booking.getId(), stranger.getId()))
+                .isInstanceOf(IllegalAccessException.class);
+    }
+
+    private Users user(String email, Role role) {
+        Users user = new Users();
+        user.setName(email);
+        user.setEmail(email);
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,78 @@
+package com.farmtap.service;
+
+import com.farmtap.model.*;
+import com.farmtap.repository.BookingRepository;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.security.Principal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BookingArchiveServiceTest {
+
+    @Autowired private BookingArchiveService bookingArchiveService;
+    @Autowired private BookingService bookingService;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EquipmentRepository equipmentRepository;
+
+    @Test
+    void movesEndedBookingsOutOfTheHotTable() throws Exception {
+        Users owner = user("archive-owner@farmtap.in", Role.Owner);
+        Users farmer = user("archive-farmer@farmtap.in", Role.Farmer);
+        Equipment harvester = equipmentRepository.save(Equipment.builder()
+                .name("Harvester").type("Harvester").rentalPricePerDay(new BigDecimal("2500.00")).isAvailable(true).owner(owner).build());
+
+        // Far enough back that bookings made by other tests in this context stay hot
+        LocalDate today = LocalDate.now();
+        Booking lastSeason = booking(harvester, farmer, today.minusDays(4000), BookingStatus.APPROVED);
+        Booking thisSeason = booking(harvester, farmer, today.minusDays(10), BookingStatus.PENDING);
+
+        assertThat(bookingArchiveService.archiveEndedBefore(today.minusDays(3000))).isEqualTo(1);
+        assertThat(bookingRepository.findById(lastSeason.getId())).isEmpty();
+
+        Principal principal = farmer::getEmail;
+        assertThat(bookingService.getBookingsForUser(principal, false))
+                .extracting(Booking::getId).containsExactly(thisSeason.getId());
+
+        List<Booking> all = bookingService.getBookingsForUser(principal, true);
+        assertThat(all).extracting(Booking::getId).containsExactlyInAnyOrder(thisSeason.getId(), lastSeason.getId());
+        assertThat(all).filteredOn(Booking::isArchived).singleElement()
+                .satisfies(b -> {
+                    assertThat(b.getId()).isEqualTo(lastSeason.getId());
+                    assertThat(b.getStatus()).isEqualTo(BookingStatus.APPROVED);
+                    assertThat(b.getTotalPrice()).isEqualByComparingTo("5000");
+                });
+        assertThat(bookingService.getOwnerBookings(owner.getId(), true)).hasSize(2);
+
+        // Nothing left to move
+        assertThat(bookingArchiveService.archiveEndedBefore(today.minusDays(3000))).isZero();
+    }
+
+    private Booking booking(Equipment equipment, Users farmer, LocalDate start, BookingStatus status) {
+        return bookingRepository.save(Booking.builder()
+                .equipment(equipment)
+                .farmer(farmer)
+                .startDate(start)
+                .endDate(start.plusDays(1))
+                .totalPrice(new BigDecimal("5000.00"))
+                .status(status)
+                .build());
+    }
+
+    private Users user(String email, Role role) {
+        Users user = new Users();
+        user.setName(email);
+        user.setEmail(email);
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+}
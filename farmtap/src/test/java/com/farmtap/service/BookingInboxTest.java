@@ -0,0 +1,115 @@
+package com.farmtap.service;
+
+import com.farmtap.dto.BookingInboxPageDTO;
+import com.farmtap.dto.BookingRequestDTO;
+import com.farmtap.dto.UserUpdateDTO;
+import com.farmtap.model.*;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.security.Principal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BookingInboxTest {
+
+    @Autowired private BookingService bookingService;
+    @Autowired private BookingArchiveService bookingArchiveService;
+    @Autowired private UserService userService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EquipmentRepository equipmentRepository;
+
+    @Test
+    void fansOutBookingWritesToBothParticipants() throws Exception {
+        Users owner = user("inbox-owner@farmtap.in", Role.Owner);
+        Users farmer = user("inbox-farmer@farmtap.in", Role.Farmer);
+        Equipment tiller = equipmentRepository.save(Equipment.builder()
+                .name("Power Tiller").type("Tiller").rentalPricePerDay(new BigDecimal("800.00")).isAvailable(true).owner(owner).build());
+        Principal asOwner = owner::getEmail;
+        Principal asFarmer = farmer::getEmail;
+
+        List<Long> created = new ArrayList<>();
+        LocalDate start = LocalDate.now().plusDays(30);
+        for (int i = 0; i < 5; i++) {
+            created.add(0, bookingService.createBooking(request(tiller, start.plusDays(i * 3)), asFarmer).getId());
+        }
+
+        // Both sides page through the same bookings, newest first
+        assertThat(drain(asFarmer)).isEqualTo(created);
+        assertThat(drain(asOwner)).isEqualTo(created);
+
+        BookingInboxEntry newest = bookingService.getInbox(asOwner, null, 1).getItems().get(0);
+        assertThat(newest.getEquipmentName()).isEqualTo("Power Tiller");
+        assertThat(newest.getFarmerName()).isEqualTo(farmer.getName());
+        assertThat(newest.getOwnerId()).isEqualTo(owner.getId());
+        assertThat(newest.getTotalPrice()).isEqualByComparingTo("1600");
+
+        bookingService.updateStatus(created.get(0), BookingStatus.APPROVED, asOwner);
+        assertThat(bookingService.getInbox(asFarmer, null, 1).getItems().get(0).getStatus())
+                .isEqualTo(BookingStatus.APPROVED);
+
+        UserUpdateDTO rename = new UserUpdateDTO();
+        rename.setName("Renamed Farmer");
+        userService.updateProfile(farmer.getEmail(), rename);
+        assertThat(bookingService.getInbox(asOwner, null, 5).getItems())
+                .extracting(BookingInboxEntry::getFarmerName).containsOnly("Renamed Farmer");
+
+        bookingService.deleteBooking(created.get(1), asFarmer);
+        assertThat(drain(asOwner)).doesNotContain(created.get(1)).hasSize(4);
+        assertThat(drain(asFarmer)).doesNotContain(created.get(1)).hasSize(4);
+    }
+
+    @Test
+    void archivedBookingsLeaveTheInbox() throws Exception {
+        Users owner = user("inbox-archive-owner@farmtap.in", Role.Owner);
+        Users farmer = user("inbox-archive-farmer@farmtap.in", Role.Farmer);
+        Equipment sprayer = equipmentRepository.save(Equipment.builder()
+                .name("Sprayer").type("Sprayer").rentalPricePerDay(new BigDecimal("300.00")).isAvailable(true).owner(owner).build());
+        Principal asFarmer = farmer::getEmail;
+
+        // Far enough back that bookings made by other tests in this context stay hot
+        Booking old = bookingService.createBooking(request(sprayer, LocalDate.now().minusDays(5000)), asFarmer);
+        Booking recent = bookingService.createBooking(request(sprayer, LocalDate.now().plusDays(2)), asFarmer);
+
+        bookingArchiveService.archiveEndedBefore(LocalDate.now().minusDays(4000));
+
+        assertThat(drain(asFarmer)).containsExactly(recent.getId()).doesNotContain(old.getId());
+        assertThat(drain(owner::getEmail)).containsExactly(recent.getId());
+    }
+
+    private List<Long> drain(Principal principal) throws IllegalAccessException {
+        List<Long> seen = new ArrayList<>();
+        Long cursor = null;
+        do {
+            BookingInboxPageDTO page = bookingService.getInbox(principal, cursor, 2);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(2);
+            page.getItems().forEach(entry -> seen.add(entry.getBookingId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+
+    private static BookingRequestDTO request(Equipment equipment, LocalDate start) {
+        BookingRequestDTO request = new BookingRequestDTO();
+        request.setEquipmentId(equipment.getId());
+        request.setStartDate(start);
+        request.setEndDate(start.plusDays(1));
+        return request;
+    }
+
+    private Users user(String email, Role role) {
+        Users user = new Users();
+        user.setName(email);
+        user.setEmail(email);
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+}
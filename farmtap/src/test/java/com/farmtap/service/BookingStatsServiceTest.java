@@ -0,0 +1,90 @@
+package com.farmtap.service;
+
+import com.farmtap.dto.AuditEntryDTO;
+import com.farmtap.dto.BookingRequestDTO;
+import com.farmtap.dto.OwnerDashboardDTO;
+import com.farmtap.model.*;
+import com.farmtap.outbox.OutboxDispatcher;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.security.Principal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+class BookingStatsServiceTest {
+
+    @Autowired private BookingService bookingService;
+    @Autowired private BookingStatsService bookingStatsService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EquipmentRepository equipmentRepository;
+    @Autowired private OutboxDispatcher outboxDispatcher;
+
+    @Test
+    void rollupsFollowCreateApproveAndDelete() throws Exception {
+        Users owner = user("stats-owner@farmtap.in", Role.Owner);
+        Users farmer = user("stats-farmer@farmtap.in", Role.Farmer);
+        Equipment tractor = equipmentRepository.save(Equipment.builder()
+                .name("Tractor").type("Tractor").rentalPricePerDay(new BigDecimal("1000.00")).isAvailable(true).owner(owner).build());
+
+        LocalDate start = LocalDate.of(2025, 10, 6);
+        Booking first = bookingService.createBooking(request(tractor, start, start.plusDays(2)), principal(farmer));
+        Booking second = bookingService.createBooking(request(tractor, start.plusDays(10), start.plusDays(10)), principal(farmer));
+        bookingService.updateStatus(first.getId(), BookingStatus.APPROVED, principal(owner));
+        bookingService.updateStatus(second.getId(), BookingStatus.REJECTED, principal(owner));
+        outboxDispatcher.drain();
+
+        OwnerDashboardDTO dashboard = bookingStatsService.getOwnerDashboard(owner.getId(),
+                LocalDate.of(2025, 10, 1), LocalDate.of(2025, 10, 31));
+        assertThat(dashboard.getTotals().getBookingCount()).isEqualTo(2);
+        assertThat(dashboard.getTotals().getApprovedDays()).isEqualTo(3);
+        assertThat(dashboard.getTotals().getApprovedRevenue()).isEqualByComparingTo("3000");
+        assertThat(dashboard.getApprovalRate()).isEqualTo(0.5);
+        assertThat(dashboard.getMonths()).hasSize(1);
+        assertThat(dashboard.getEquipment()).singleElement()
+                .satisfies(machine -> assertThat(machine.getUtilization()).isEqualTo(3.0 / 31));
+
+        bookingService.deleteBooking(second.getId(), principal(owner));
+        outboxDispatcher.drain();
+        dashboard = bookingStatsService.getOwnerDashboard(owner.getId(),
+                LocalDate.of(2025, 10, 1), LocalDate.of(2025, 10, 31));
+        assertThat(dashboard.getTotals().getBookingCount()).isEqualTo(1);
+        assertThat(dashboard.getTotals().getRejectedCount()).isZero();
+        assertThat(dashboard.getApprovalRate()).isEqualTo(1.0);
+
+        // The audit log still has the deleted booking's transitions
+        assertThat(bookingService.getHistory(second.getId(), principal(farmer)))
+                .extracting(AuditEntryDTO::getAction, AuditEntryDTO::getTo)
+                .containsExactly(
+                        tuple("BOOKING_CREATED", "PENDING"),
+                        tuple("BOOKING_STATUS_CHANGED", "REJECTED"),
+                        tuple("BOOKING_DELETED", null));
+    }
+
+    private Users user(String email, Role role) {
+        Users user = new Users();
+        user.setName(email);
+        user.setEmail(email);
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private static BookingRequestDTO request(Equipment equipment, LocalDate start, LocalDate end) {
+        BookingRequestDTO request = new BookingRequestDTO();
+        request.setEquipmentId(equipment.getId());
+        request.setStartDate(start);
+        request.setEndDate(end);
+        return request;
+    }
+
+    private static Principal principal(Users user) {
+        return user::getEmail;
+    }
+}
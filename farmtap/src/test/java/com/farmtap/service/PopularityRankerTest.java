@@ -0,0 +1,52 @@
+package com.farmtap.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PopularityRankerTest {
+
+    private static final long DAY = Duration.ofDays(1).toMillis();
+    private static final long T0 = 1_760_000_000_000L;
+
+    @Test
+    void recentBookingsOutweighOlderOnes() {
+        PopularityRanker ranker = new PopularityRanker(7 * DAY, 10, T0);
+        // Four bookings three weeks ago (three half-lives) vs one this week
+        for (int i = 0; i < 4; i++) {
+            ranker.record("Pune", 1L, 1, T0);
+        }
+        ranker.record("pune ", 2L, 1, T0 + 21 * DAY);
+
+        assertThat(ranker.top("PUNE", 10)).containsExactly(2L, 1L);
+        assertThat(ranker.top("Nashik", 10)).isEmpty();
+    }
+
+    @Test
+    void heapKeepsTheTopKAsScoresMove() {
+        PopularityRanker ranker = new PopularityRanker(7 * DAY, 2, T0);
+        ranker.record("Satara", 1L, 3, T0);
+        ranker.record("Satara", 2L, 2, T0);
+        ranker.record("Satara", 3L, 1, T0);
+        assertThat(ranker.top("Satara", 5)).containsExactly(1L, 2L);
+
+        // 3 climbs past both on its own increments
+        ranker.record("Satara", 3L, 2.5, T0);
+        ranker.record("Satara", 3L, 1, T0);
+        assertThat(ranker.top("Satara", 5)).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void rebasingKeepsTheOrder() {
+        PopularityRanker ranker = new PopularityRanker(DAY, 5, T0);
+        ranker.record("Sangli", 1L, 1, T0);
+        ranker.record("Sangli", 2L, 2, T0);
+        // Far enough ahead to force a rebase
+        ranker.record("Sangli", 3L, 1, T0 + 100 * DAY);
+        ranker.record("Sangli", 2L, 1, T0 + 100 * DAY + 1);
+
+        assertThat(ranker.top("Sangli", 5)).startsWith(2L, 3L);
+    }
+}
@@ -0,0 +1,92 @@
+package com.farmtap.service;
+
+import com.farmtap.model.Booking;
+import com.farmtap.model.BookingStatus;
+import com.farmtap.model.Equipment;
+import com.farmtap.model.Role;
+import com.farmtap.model.Users;
+import com.farmtap.outbox.BookingEvent;
+import com.farmtap.outbox.BookingEventType;
+import com.farmtap.repository.BookingRepository;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class PopularityServiceTest {
+
+    @Autowired private PopularityService popularityService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EquipmentRepository equipmentRepository;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Test
+    void countsAnEventOnlyWhenItsDeliveryCommits() {
+        Users farmer = farmer("popularity-farmer@farmtap.in", "Rollback District");
+        TransactionTemplate delivery = new TransactionTemplate(transactionManager);
+
+        // A failed delivery: rolled back, to be retried by the dispatcher
+        BookingEvent first = booked(farmer, 100L);
+        delivery.executeWithoutResult(status -> {
+            popularityService.handle(first);
+            status.setRollbackOnly();
+        });
+        assertThat(ranked("Rollback District")).containsExactly(1L, 100L, 200L);
+
+        BookingEvent second = booked(farmer, 200L);
+        delivery.executeWithoutResult(status -> popularityService.handle(second));
+        assertThat(ranked("Rollback District")).containsExactly(200L, 1L, 100L);
+    }
+
+    @Test
+    void rebuildPicksUpBookingsDeliveredElsewhere() {
+        Users farmer = farmer("popularity-rebuild-farmer@farmtap.in", "Rebuild District");
+        Equipment seeder = equipmentRepository.save(Equipment.builder()
+                .name("Rebuild Seeder").type("Seeder").rentalPricePerDay(new BigDecimal("600.00")).isAvailable(true).build());
+        List<Long> items = List.of(1L, seeder.getId());
+
+        // Committed and delivered by another instance: this one never sees the event
+        bookingRepository.save(Booking.builder()
+                .equipment(seeder).farmer(farmer)
+                .startDate(LocalDate.now().plusDays(1)).endDate(LocalDate.now().plusDays(2))
+                .totalPrice(new BigDecimal("1200.00")).status(BookingStatus.APPROVED).createdAt(LocalDateTime.now())
+                .build());
+        assertThat(popularityService.sortByPopularity(items, Function.identity(), "Rebuild District"))
+                .containsExactly(1L, seeder.getId());
+
+        popularityService.warmUp();
+        assertThat(popularityService.sortByPopularity(items, Function.identity(), "Rebuild District"))
+                .containsExactly(seeder.getId(), 1L);
+    }
+
+    private Users farmer(String email, String district) {
+        Users farmer = new Users();
+        farmer.setName(email);
+        farmer.setEmail(email);
+        farmer.setRole(Role.Farmer);
+        farmer.setDistrict(district);
+        return userRepository.save(farmer);
+    }
+
+    private List<Long> ranked(String district) {
+        return popularityService.sortByPopularity(List.of(1L, 100L, 200L), Function.identity(), district);
+    }
+
+    private static BookingEvent booked(Users farmer, long equipmentId) {
+        return new BookingEvent(BookingEventType.CREATED, equipmentId, equipmentId, null, farmer.getId(),
+                null, null, null, BookingStatus.PENDING, null, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,91 @@
+package com.farmtap.service;
+
+import com.farmtap.dto.PriceQuoteDTO;
+import com.farmtap.model.PricingRule;
+import com.farmtap.model.PricingRuleType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PricingPlanTest {
+
+    private static final long EQUIPMENT = 7L;
+    private static final long OWNER = 1L;
+    private static final long MEMBER = 42L;
+
+    @Test
+    void withoutRulesPriceIsDaysTimesRate() {
+        PricingPlan plan = new PricingPlan(EQUIPMENT, OWNER, new BigDecimal("1250.50"), List.of(), Set.of());
+
+        PriceQuoteDTO quote = plan.quote(LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 5), null);
+
+        assertThat(quote.getDays()).isEqualTo(3);
+        assertThat(quote.getTotalPrice()).isEqualByComparingTo("3751.50");
+    }
+
+    @Test
+    void appliesSeasonWeekendLongRentalAndMemberRules() {
+        List<PricingRule> rules = List.of(
+                rule(1L, null, PricingRuleType.SEASONAL, "20", r -> { r.setSeasonStart("10-01"); r.setSeasonEnd("11-15"); }),
+                rule(2L, null, PricingRuleType.WEEKEND, "10", r -> { }),
+                rule(3L, null, PricingRuleType.LONG_RENTAL, "-5", r -> r.setMinDays(3)),
+                rule(4L, null, PricingRuleType.LONG_RENTAL, "-10", r -> r.setMinDays(7)),
+                rule(5L, null, PricingRuleType.MEMBER, "-10", r -> { }));
+        PricingPlan plan = new PricingPlan(EQUIPMENT, OWNER, new BigDecimal("1000"), rules, Set.of(MEMBER));
+
+        // Thu 2025-09-25 .. Wed 2025-10-01: Sat/Sun are weekend days, Oct 1 is in season
+        PriceQuoteDTO quote = plan.quote(LocalDate.of(2025, 9, 25), LocalDate.of(2025, 10, 1), MEMBER);
+
+        // 7 days: 4 plain + 2 weekend (1100) + 1 seasonal (1200) = 7400, -10% long rental, -10% member
+        assertThat(quote.getDailyAdjustments()).isEqualByComparingTo("400");
+        assertThat(quote.getLongRentalPercent()).isEqualByComparingTo("-10");
+        assertThat(quote.getMemberPercent()).isEqualByComparingTo("-10");
+        assertThat(quote.getTotalPrice()).isEqualByComparingTo("5994.00");
+
+        assertThat(plan.quote(LocalDate.of(2025, 9, 25), LocalDate.of(2025, 10, 1), 99L).getTotalPrice())
+                .isEqualByComparingTo("6660.00");
+    }
+
+    @Test
+    void equipmentRulesReplaceOwnerRulesOfTheSameType() {
+        List<PricingRule> rules = List.of(
+                rule(1L, null, PricingRuleType.WEEKEND, "50", r -> { }),
+                rule(2L, EQUIPMENT, PricingRuleType.WEEKEND, "10", r -> { }),
+                rule(3L, 99L, PricingRuleType.WEEKEND, "90", r -> { }));
+        PricingPlan plan = new PricingPlan(EQUIPMENT, OWNER, new BigDecimal("100"), rules, Set.of());
+
+        // Saturday only
+        assertThat(plan.quote(LocalDate.of(2025, 9, 27), LocalDate.of(2025, 9, 27), null).getTotalPrice())
+                .isEqualByComparingTo("110.00");
+    }
+
+    @Test
+    void seasonsMayWrapTheYear() {
+        List<PricingRule> rules = List.of(
+                rule(1L, null, PricingRuleType.SEASONAL, "-20", r -> { r.setSeasonStart("12-15"); r.setSeasonEnd("01-15"); }));
+        PricingPlan plan = new PricingPlan(EQUIPMENT, OWNER, new BigDecimal("100"), rules, Set.of());
+
+        assertThat(plan.quote(LocalDate.of(2026, 1, 2), LocalDate.of(2026, 1, 2), null).getTotalPrice())
+                .isEqualByComparingTo("80.00");
+        assertThat(plan.quote(LocalDate.of(2026, 2, 2), LocalDate.of(2026, 2, 2), null).getTotalPrice())
+                .isEqualByComparingTo("100.00");
+    }
+
+    private static PricingRule rule(Long id, Long equipmentId, PricingRuleType type, String percent,
+                                    java.util.function.Consumer<PricingRule> customize) {
+        PricingRule rule = PricingRule.builder()
+                .id(id)
+                .ownerId(OWNER)
+                .equipmentId(equipmentId)
+                .type(type)
+                .adjustmentPercent(new BigDecimal(percent))
+                .build();
+        customize.accept(rule);
+        return rule;
+    }
+}
@@ -0,0 +1,163 @@
+package com.farmtap.service;
+
+import com.farmtap.dto.BookingRequestDTO;
+import com.farmtap.dto.EquipmentDTO;
+import com.farmtap.dto.UserUpdateDTO;
+import com.farmtap.model.*;
+import com.farmtap.region.RegionRouter;
+import com.farmtap.repository.BookingRepository;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.math.BigDecimal;
+import java.security.Principal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RegionRoutingTest {
+
+    @Autowired private EquipmentService equipmentService;
+    @Autowired private BookingService bookingService;
+    @Autowired private UserService userService;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EquipmentRepository equipmentRepository;
+    @Autowired private RegionRouter regionRouter;
+
+    @AfterEach
+    void clearCaller() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void browsingReadsTheCallersRegionAndFallsBackToAll() {
+        Equipment punjab = equipment("Punjab Tractor", user("region-owner-pb@farmtap.in", Role.Owner, " Punjab "));
+        Equipment kerala = equipment("Kerala Tiller", user("region-owner-kl@farmtap.in", Role.Owner, "Kerala"));
+        assertThat(punjab.getRegion()).isEqualTo("punjab");
+
+        Users farmer = user("region-farmer-pb@farmtap.in", Role.Farmer, "PUNJAB");
+        signIn(farmer);
+        assertThat(ids(equipmentService.getAvailableEquipment(null)))
+                .contains(punjab.getId()).doesNotContain(kerala.getId());
+        assertThat(equipmentService.getAvailableEquipmentFields(List.of("name"), null))
+                .extracting(row -> row.get("name")).contains("Punjab Tractor").doesNotContain("Kerala Tiller");
+        assertThat(ids(equipmentService.getAvailableEquipment("Kerala")))
+                .contains(kerala.getId()).doesNotContain(punjab.getId());
+        assertThat(ids(equipmentService.getAvailableEquipment("all"))).contains(punjab.getId(), kerala.getId());
+
+        // The cached region follows a profile change
+        UserUpdateDTO moved = new UserUpdateDTO();
+        moved.setName(farmer.getName());
+        moved.setState("Kerala");
+        userService.updateProfile(farmer.getEmail(), moved);
+        assertThat(ids(equipmentService.getAvailableEquipment(null)))
+                .contains(kerala.getId()).doesNotContain(punjab.getId());
+
+        // Nothing listed in the caller's region: every region instead of an empty screen
+        signIn(user("region-farmer-ga@farmtap.in", Role.Farmer, "Goa"));
+        assertThat(ids(equipmentService.getAvailableEquipment(null))).contains(punjab.getId(), kerala.getId());
+
+        SecurityContextHolder.clearContext();
+        assertThat(ids(equipmentService.getAvailableEquipment(null))).contains(punjab.getId(), kerala.getId());
+    }
+
+    @Test
+    void staleSnapshotFollowsTheSameRegionRulesFromTheCacheAlone() {
+        Equipment assam = equipment("Assam Pump", user("region-snap-owner-as@farmtap.in", Role.Owner, "Assam"));
+        Equipment odisha = equipment("Odisha Harvester", user("region-snap-owner-od@farmtap.in", Role.Owner, "Odisha"));
+        List<EquipmentDTO> snapshot = List.of(new EquipmentDTO(assam), new EquipmentDTO(odisha));
+
+        // Not cached yet: every region rather than a database read
+        signIn(user("region-snap-farmer@farmtap.in", Role.Farmer, "Assam"));
+        assertThat(snapshotIds(regionRouter.listForCachedCaller(null, inRegion -> inRegion(snapshot, inRegion), () -> snapshot)))
+                .containsExactly(assam.getId(), odisha.getId());
+
+        equipmentService.getAvailableEquipment(null);
+        assertThat(snapshotIds(regionRouter.listForCachedCaller(null, inRegion -> inRegion(snapshot, inRegion), () -> snapshot)))
+                .containsExactly(assam.getId());
+        assertThat(snapshotIds(regionRouter.listForCachedCaller("Odisha", inRegion -> inRegion(snapshot, inRegion), () -> snapshot)))
+                .containsExactly(odisha.getId());
+        assertThat(snapshotIds(regionRouter.listForCachedCaller("all", inRegion -> inRegion(snapshot, inRegion), () -> snapshot)))
+                .containsExactly(assam.getId(), odisha.getId());
+    }
+
+    @Test
+    void bookingsLiveInTheirEquipmentsRegionAndMoveWithTheOwner() throws Exception {
+        Users owner = user("region-move-owner@farmtap.in", Role.Owner, "Bihar");
+        Principal asOwner = owner::getEmail;
+        Principal farmer = user("region-move-farmer@farmtap.in", Role.Farmer, "Jharkhand")::getEmail;
+        Equipment thresher = equipment("Bihar Thresher", owner);
+
+        BookingRequestDTO request = new BookingRequestDTO();
+        request.setEquipmentId(thresher.getId());
+        request.setStartDate(LocalDate.now().plusDays(3));
+        request.setEndDate(LocalDate.now().plusDays(4));
+        Booking booking = bookingService.createBooking(request, farmer);
+        assertThat(booking.getRegion()).isEqualTo("bihar");
+
+        // The owner finds it in their own region; the farmer from another region through the fallback
+        assertThat(bookingService.updateStatus(booking.getId(), BookingStatus.APPROVED, asOwner).getStatus())
+                .isEqualTo(BookingStatus.APPROVED);
+
+        UserUpdateDTO moved = new UserUpdateDTO();
+        moved.setName(owner.getName());
+        moved.setState("Uttar Pradesh");
+        userService.updateProfile(owner.getEmail(), moved);
+
+        assertThat(equipmentRepository.findById(thresher.getId())).get()
+                .extracting(Equipment::getRegion).isEqualTo("uttar pradesh");
+        assertThat(bookingRepository.findByIdAndRegion(booking.getId(), "uttar pradesh")).isPresent();
+        assertThat(bookingService.getOwnerBookings(owner.getId(), false)).extracting(Booking::getId)
+                .containsExactly(booking.getId());
+
+        bookingService.deleteBooking(booking.getId(), farmer);
+        assertThat(bookingRepository.findById(booking.getId())).isEmpty();
+    }
+
+    private static List<Long> ids(List<Equipment> equipment) {
+        return equipment.stream().map(Equipment::getId).toList();
+    }
+
+    private static List<EquipmentDTO> inRegion(List<EquipmentDTO> snapshot, String region) {
+        return snapshot.stream().filter(dto -> region.equals(dto.getRegion())).toList();
+    }
+
+    private static List<Long> snapshotIds(List<EquipmentDTO> equipment) {
+        return equipment.stream().map(EquipmentDTO::getId).toList();
+    }
+
+    // As JwtAuthenticationFilter does: a Spring Security user named by email, not the Users row
+    private static void signIn(Users user) {
+        UserDetails principal = User.withUsername(user.getEmail())
+                .password("")
+                .authorities(user.getRole().name())
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private Equipment equipment(String name, Users owner) {
+        return equipmentRepository.save(Equipment.builder()
+                .name(name).type("Tractor").rentalPricePerDay(new BigDecimal("1200.00")).isAvailable(true).owner(owner).build());
+    }
+
+    private Users user(String email, Role role, String state) {
+        Users user = new Users();
+        user.setName(email);
+        user.setEmail(email);
+        user.setRole(role);
+        user.setState(state);
+        return userRepository.save(user);
+    }
+}
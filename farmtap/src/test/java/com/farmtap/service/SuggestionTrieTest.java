@@ -0,0 +1,55 @@
+package com.farmtap.service;
+
+import com.farmtap.dto.SuggestionDTO;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SuggestionTrieTest {
+
+    @Test
+    void ranksCompletionsByCountAndMergesSpellings() {
+        SuggestionTrie trie = new SuggestionTrie();
+        trie.add("Tractor", 5);
+        trie.add("tractor ", 2);
+        trie.add("Trailer", 3);
+        trie.add("Rotavator", 4);
+
+        assertThat(trie.complete("TR", 10))
+                .extracting(SuggestionDTO::getText, SuggestionDTO::getCount)
+                .containsExactly(tuple("Tractor", 7L), tuple("Trailer", 3L));
+        assertThat(trie.complete("", 10)).extracting(SuggestionDTO::getText)
+                .containsExactly("Tractor", "Rotavator", "Trailer");
+        assertThat(trie.complete("x", 10)).isEmpty();
+    }
+
+    @Test
+    void followsIncrementalUpdates() {
+        SuggestionTrie trie = new SuggestionTrie();
+        trie.add("Seed Drill", 1);
+        trie.add("Sprayer", 2);
+
+        trie.add("Seed  drill", 3); // the common spelling takes over the display text
+        assertThat(trie.complete("s", 10)).extracting(SuggestionDTO::getText)
+                .containsExactly("Seed drill", "Sprayer");
+
+        trie.add("Seed drill", -3);
+        trie.add("Seed Drill", -1);
+        assertThat(trie.complete("se", 10)).isEmpty();
+        assertThat(trie.complete("s", 10)).extracting(SuggestionDTO::getText).containsExactly("Sprayer");
+    }
+
+    @Test
+    void keepsOnlyTheTopKPerNode() {
+        SuggestionTrie trie = new SuggestionTrie();
+        for (int i = 0; i < 30; i++) {
+            trie.add("Village " + i, i + 1);
+        }
+
+        assertThat(trie.complete("vil", 50)).hasSize(SuggestionTrie.TOP_K)
+                .first().extracting(SuggestionDTO::getText).isEqualTo("Village 29");
+        assertThat(trie.complete("village 1", 3)).extracting(SuggestionDTO::getText)
+                .containsExactly("Village 19", "Village 18", "Village 17");
+    }
+}
@@ -0,0 +1,80 @@
+package com.farmtap.service;
+
+import com.farmtap.dto.UserFilter;
+import com.farmtap.dto.UserPageDTO;
+import com.farmtap.model.Role;
+import com.farmtap.model.Users;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class UserListingTest {
+
+    @Autowired private UserService userService;
+
+    @Test
+    void pagesNewestFirstWithinFilters() {
+        List<Long> owners = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Users saved = userService.saveUser(user("listing-owner" + i + "@farmtap.in", Role.Owner, "Listingpur"));
+            owners.add(0, saved.getId());
+        }
+        userService.saveUser(user("listing-farmer@farmtap.in", Role.Farmer, "Listingpur"));
+
+        UserFilter filter = new UserFilter(Role.Owner, "Listingpur", null, null, LocalDate.now(), LocalDate.now());
+        List<Long> seen = new ArrayList<>();
+        Long cursor = null;
+        do {
+            UserPageDTO page = userService.listUsers(filter, cursor, 2, null);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(2);
+            page.getItems().forEach(row -> seen.add((Long) row.get("id")));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).isEqualTo(owners);
+
+        Map<String, Object> row = userService.listUsers(filter, null, 1, null).getItems().get(0);
+        assertThat(row).containsKeys("id", "name", "email", "role", "district", "createdAt")
+                .doesNotContainKeys("password", "aadharNumber");
+        assertThat(userService.listUsers(filter, null, 10, List.of("name")).getItems().get(0))
+                .containsOnlyKeys("id", "name");
+        assertThat(userService.listUsers(new UserFilter(null, "Listingpur", null, null,
+                LocalDate.now().plusDays(1), null), null, 10, null).getItems()).isEmpty();
+    }
+
+    @Test
+    void countFollowsRegistrationsAndDeletes() {
+        long farmers = userService.countUsers().getByRole().getOrDefault("Farmer", 0L);
+        long total = userService.countUsers().getTotal();
+
+        Users saved = userService.saveUser(user("count-farmer@farmtap.in", Role.Farmer, "Countpur"));
+        assertThat(userService.countUsers().getByRole()).containsEntry("Farmer", farmers + 1);
+
+        saved.setRole(Role.Owner);
+        userService.saveUser(saved);
+        assertThat(userService.countUsers().getByRole()).containsEntry("Farmer", farmers);
+        assertThat(userService.countUsers().getTotal()).isEqualTo(total + 1);
+
+        userService.deleteUser(saved.getId());
+        assertThat(userService.countUsers().getTotal()).isEqualTo(total);
+    }
+
+    private static Users user(String email, Role role, String district) {
+        Users user = new Users();
+        user.setName(email.substring(0, email.indexOf('@')));
+        user.setEmail(email);
+        user.setPassword("hash");
+        user.setRole(role);
+        user.setDistrict(district);
+        user.setState("Maharashtra");
+        return user;
+    }
+}
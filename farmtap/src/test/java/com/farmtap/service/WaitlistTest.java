@@ -0,0 +1,134 @@
+package com.farmtap.service;
+
+import com.farmtap.dto.BookingRequestDTO;
+import com.farmtap.dto.WaitlistEntryDTO;
+import com.farmtap.model.*;
+import com.farmtap.repository.BookingRepository;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.security.Principal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class WaitlistTest {
+
+    @Autowired private BookingService bookingService;
+    @Autowired private WaitlistService waitlistService;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EquipmentRepository equipmentRepository;
+
+    @Test
+    void promotesWaitingFarmersInRequestOrder() throws Exception {
+        Users owner = user("waitlist-owner@farmtap.in", Role.Owner);
+        Principal asOwner = owner::getEmail;
+        Principal first = user("waitlist-first@farmtap.in", Role.Farmer)::getEmail;
+        Principal second = user("waitlist-second@farmtap.in", Role.Farmer)::getEmail;
+        Principal third = user("waitlist-third@farmtap.in", Role.Farmer)::getEmail;
+        Equipment harvester = equipmentRepository.save(Equipment.builder()
+                .name("Combine Harvester").type("Harvester").rentalPricePerDay(new BigDecimal("3000.00")).isAvailable(true).owner(owner).build());
+        LocalDate start = LocalDate.now().plusDays(20);
+
+        // Free dates are booked straight away
+        WaitlistEntryDTO booked = bookingService.joinWaitlist(request(harvester, start, start.plusDays(2)), first);
+        assertThat(booked.getBookingId()).isNotNull();
+        assertThat(booked.getPosition()).isNull();
+
+        WaitlistEntryDTO secondInLine = bookingService.joinWaitlist(request(harvester, start.plusDays(1), start.plusDays(3)), second);
+        WaitlistEntryDTO thirdInLine = bookingService.joinWaitlist(request(harvester, start.plusDays(2), start.plusDays(2)), third);
+        assertThat(secondInLine.getBookingId()).isNull();
+        assertThat(secondInLine.getPosition()).isEqualTo(1);
+        assertThat(thirdInLine.getPosition()).isEqualTo(2);
+        // Asking again is idempotent
+        assertThat(bookingService.joinWaitlist(request(harvester, start.plusDays(2), start.plusDays(2)), third).getId()).isEqualTo(thirdInLine.getId());
+
+        // The queue is rebuilt from the table, as after a restart
+        waitlistService.flush();
+        assertThat(bookingService.getWaitlist(third)).singleElement()
+                .satisfies(entry -> assertThat(entry.getPosition()).isEqualTo(2));
+
+        // Rejecting the booking promotes the first request; the third still clashes with it
+        bookingService.updateStatus(booked.getBookingId(), BookingStatus.REJECTED, asOwner);
+        assertThat(bookingService.getWaitlist(second)).isEmpty();
+        Booking promoted = bookingService.getBookingsForUser(second, false).get(0);
+        assertThat(promoted.getStatus()).isEqualTo(BookingStatus.PENDING);
+        assertThat(promoted.getStartDate()).isEqualTo(start.plusDays(1));
+        assertThat(bookingService.getWaitlist(third)).singleElement()
+                .satisfies(entry -> assertThat(entry.getPosition()).isEqualTo(1));
+
+        // Cancelling the promoted booking frees the slot for the next in line
+        bookingService.deleteBooking(promoted.getId(), second);
+        assertThat(bookingService.getWaitlist(third)).isEmpty();
+        assertThat(bookingService.getBookingsForUser(third, false)).singleElement()
+                .satisfies(b -> assertThat(b.getEquipment().getId()).isEqualTo(harvester.getId()));
+        assertThat(bookingRepository.existsActiveOverlap(harvester.getId(), harvester.getRegion(), start.plusDays(2), start.plusDays(2))).isTrue();
+        assertThat(bookingRepository.existsActiveOverlap(harvester.getId(), harvester.getRegion(), start, start.plusDays(1))).isFalse();
+    }
+
+    @Test
+    void leavingTheWaitlistRemovesTheRequest() throws Exception {
+        Users owner = user("waitlist-leave-owner@farmtap.in", Role.Owner);
+        Principal booker = user("waitlist-leave-booker@farmtap.in", Role.Farmer)::getEmail;
+        Principal waiter = user("waitlist-leave-waiter@farmtap.in", Role.Farmer)::getEmail;
+        Equipment seeder = equipmentRepository.save(Equipment.builder()
+                .name("Seed Drill").type("Seeder").rentalPricePerDay(new BigDecimal("900.00")).isAvailable(true).owner(owner).build());
+        LocalDate start = LocalDate.now().plusDays(5);
+
+        WaitlistEntryDTO booked = bookingService.joinWaitlist(request(seeder, start, start), booker);
+        WaitlistEntryDTO waiting = bookingService.joinWaitlist(request(seeder, start, start), waiter);
+        bookingService.leaveWaitlist(waiting.getId(), waiter);
+        bookingService.deleteBooking(booked.getBookingId(), booker);
+
+        assertThat(bookingService.getWaitlist(waiter)).isEmpty();
+        assertThat(bookingService.getBookingsForUser(waiter, false)).isEmpty();
+    }
+
+    @Test
+    void requestsPricingWouldRefuseAreNeitherQueuedNorAllowedToBlockTheOwner() throws Exception {
+        Users owner = user("waitlist-long-owner@farmtap.in", Role.Owner);
+        Principal asOwner = owner::getEmail;
+        Principal booker = user("waitlist-long-booker@farmtap.in", Role.Farmer)::getEmail;
+        Users greedy = user("waitlist-long-greedy@farmtap.in", Role.Farmer);
+        Equipment baler = equipmentRepository.save(Equipment.builder()
+                .name("Baler").type("Baler").rentalPricePerDay(new BigDecimal("1100.00")).isAvailable(true).owner(owner).build());
+        LocalDate start = LocalDate.now().plusDays(7);
+        WaitlistEntryDTO booked = bookingService.joinWaitlist(request(baler, start, start.plusDays(1)), booker);
+
+        assertThatThrownBy(() -> bookingService.joinWaitlist(request(baler, start, start.plusYears(5)), greedy::getEmail))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at most");
+
+        // An entry queued before the check existed is dropped when its turn comes, and the rejection still goes through
+        waitlistService.enqueue(baler.getId(), greedy.getId(), start, start.plusYears(5));
+        waitlistService.flush();
+        bookingService.updateStatus(booked.getBookingId(), BookingStatus.REJECTED, asOwner);
+        assertThat(bookingRepository.findById(booked.getBookingId())).get()
+                .extracting(Booking::getStatus).isEqualTo(BookingStatus.REJECTED);
+        assertThat(bookingService.getWaitlist(greedy::getEmail)).isEmpty();
+        assertThat(bookingService.getBookingsForUser(greedy::getEmail, false)).isEmpty();
+    }
+
+    private static BookingRequestDTO request(Equipment equipment, LocalDate start, LocalDate end) {
+        BookingRequestDTO request = new BookingRequestDTO();
+        request.setEquipmentId(equipment.getId());
+        request.setStartDate(start);
+        request.setEndDate(end);
+        return request;
+    }
+
+    private Users user(String email, Role role) {
+        Users user = new Users();
+        user.setName(email);
+        user.setEmail(email);
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+}
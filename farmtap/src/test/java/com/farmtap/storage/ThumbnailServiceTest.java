@@ -0,0 +1,60 @@
+package com.farmtap.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThumbnailServiceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void subsamplesLargeImagesAndSkipsOnesOverThePixelLimit() throws Exception {
+        ImageStore store = new ImageStore(dir.toString());
+        ThumbnailService thumbnails = new ThumbnailService(store);
+        ReflectionTestUtils.setField(thumbnails, "thumbnailSize", 320);
+        ReflectionTestUtils.setField(thumbnails, "maxPixels", 40_000_000L);
+
+        String large = store.store(new ByteArrayInputStream(png(4000, 3000)), Long.MAX_VALUE).key();
+        thumbnails.generate(large);
+        BufferedImage thumb = ImageIO.read(store.find(large, true).orElseThrow().toFile());
+        assertThat(thumb.getWidth()).isEqualTo(320);
+        assertThat(thumb.getHeight()).isEqualTo(240);
+
+        // A few hundred bytes on disk claiming 2.5 gigapixels: never decoded
+        byte[] bomb = withDimensions(png(1, 1), 50_000, 50_000);
+        String key = store.store(new ByteArrayInputStream(bomb), Long.MAX_VALUE).key();
+        thumbnails.generate(key);
+        assertThat(store.find(key, true)).isEmpty();
+        assertThat(Files.size(store.original(key))).isLessThan(1024);
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    // Rewrites the IHDR chunk's width and height (and its CRC), leaving the pixel data alone
+    private static byte[] withDimensions(byte[] png, int width, int height) {
+        ByteBuffer buffer = ByteBuffer.wrap(png);
+        buffer.putInt(16, width);
+        buffer.putInt(20, height);
+        CRC32 crc = new CRC32();
+        crc.update(png, 12, 17); // "IHDR" and its 13 data bytes
+        buffer.putInt(29, (int) crc.getValue());
+        return png;
+    }
+}
@@ -0,0 +1,79 @@
+package com.farmtap.web;
+
+import com.farmtap.model.Equipment;
+import com.farmtap.model.Role;
+import com.farmtap.model.Users;
+import com.farmtap.repository.EquipmentRepository;
+import com.farmtap.repository.UserRepository;
+import com.farmtap.security.CustomUserDetailsService;
+import com.farmtap.security.JwtUtil;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CompactEncodingTest {
+
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired private TestRestTemplate rest;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EquipmentRepository equipmentRepository;
+    @Autowired private CustomUserDetailsService userDetailsService;
+    @Autowired private JwtUtil jwtUtil;
+
+    @Test
+    void equipmentListingIsNegotiated() throws Exception {
+        Users owner = new Users();
+        owner.setName("Encoding Owner");
+        owner.setEmail("encoding@farmtap.in");
+        owner.setPassword("unused");
+        owner.setRole(Role.Owner);
+        userRepository.save(owner);
+        equipmentRepository.save(Equipment.builder()
+                .name("Rotavator").type("Rotavator").rentalPricePerDay(new BigDecimal("900.00"))
+                .isAvailable(true).owner(owner).build());
+        String token = jwtUtil.generateToken(userDetailsService.loadUserByUsername(owner.getEmail()));
+
+        ResponseEntity<byte[]> json = get(token, MediaType.ALL);
+        ResponseEntity<byte[]> cbor = get(token, CBOR);
+        ResponseEntity<byte[]> smile = get(token, SMILE);
+
+        // */* keeps getting JSON; the binary formats only on request
+        assertThat(json.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(cbor.getHeaders().getContentType().isCompatibleWith(CBOR)).isTrue();
+        assertThat(smile.getHeaders().getContentType().isCompatibleWith(SMILE)).isTrue();
+
+        JsonNode expected = decimals(new ObjectMapper()).readTree(json.getBody());
+        assertThat(decimals(new CBORMapper()).readTree(cbor.getBody())).isEqualTo(expected);
+        assertThat(decimals(new SmileMapper()).readTree(smile.getBody())).isEqualTo(expected);
+        assertThat(cbor.getBody().length).isLessThan(json.getBody().length);
+    }
+
+    // Prices are BigDecimal on the wire in the binary formats
+    private static ObjectMapper decimals(ObjectMapper mapper) {
+        return mapper.enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    }
+
+    private ResponseEntity<byte[]> get(String token, MediaType accept) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setAccept(List.of(accept));
+        ResponseEntity<byte[]> response = rest.exchange("/api/equipment", HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response;
+    }
+}